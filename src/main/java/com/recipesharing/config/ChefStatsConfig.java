@@ -0,0 +1,17 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "chef-stats")
+@Getter
+@Setter
+public class ChefStatsConfig {
+    // chef ids per rebuild transaction
+    private int rebuildChunkSize = 500;
+    // chunks recomputed concurrently, each on its own connection
+    private int rebuildParallelism = 4;
+}
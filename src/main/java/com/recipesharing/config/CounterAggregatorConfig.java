@@ -0,0 +1,17 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "counters")
+@Getter
+@Setter
+public class CounterAggregatorConfig {
+    // how long view and favorite deltas are held in memory before one batched update
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
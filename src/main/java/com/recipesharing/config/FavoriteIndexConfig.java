@@ -0,0 +1,17 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.favorite-index")
+@Getter
+@Setter
+public class FavoriteIndexConfig {
+    private long maximumSize = 50_000;
+    private Duration idleTimeout = Duration.ofMinutes(30);
+}
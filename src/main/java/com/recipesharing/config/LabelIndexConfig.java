@@ -0,0 +1,17 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "label-index")
+@Getter
+@Setter
+public class LabelIndexConfig {
+    // largest id set a label filter passes to the query as an IN list; bigger sets are filtered in SQL
+    private int maxQueryIds = 10_000;
+    // recipes read per batch by the startup build
+    private int rebuildBatchSize = 1_000;
+}
@@ -0,0 +1,24 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "leaderboards")
+@Getter
+@Setter
+public class LeaderboardConfig {
+    // how deep the boards can be paged
+    private int maxRank = 1_000;
+    // ranked pages are served from a copy of the top maxRank, refreshed at most this often
+    private Duration snapshotMaxAge = Duration.ofSeconds(1);
+    // Bayesian rating: weight of the global mean, in ratings
+    private double ratingPriorWeight = 10;
+    // full rebuild from recipes, which also refreshes the global mean rating
+    private Duration rebuildInterval = Duration.ofHours(1);
+    private int rebuildBatchSize = 1_000;
+}
@@ -0,0 +1,20 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "paging.approximate-count")
+@Getter
+@Setter
+public class PagingConfig {
+    private long maximumSize = 10_000;
+    // older totals are still served, and recounted in the background
+    private Duration refreshAfter = Duration.ofMinutes(5);
+    // upper bound for a total that is not read, and so not refreshed
+    private Duration ttl = Duration.ofMinutes(30);
+}
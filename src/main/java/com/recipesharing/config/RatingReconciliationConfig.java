@@ -0,0 +1,21 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "ratings.reconciliation")
+@Getter
+@Setter
+public class RatingReconciliationConfig {
+    private boolean enabled = true;
+    // soon after startup, so aggregates of rows that predate rating_sum get filled in
+    private Duration initialDelay = Duration.ofMinutes(1);
+    private Duration interval = Duration.ofHours(1);
+    // recipes checked per aggregate query
+    private int batchSize = 1_000;
+}
@@ -0,0 +1,17 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.recipe-detail")
+@Getter
+@Setter
+public class RecipeCacheConfig {
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,19 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.response-body")
+@Getter
+@Setter
+public class ResponseCacheConfig {
+    private boolean enabled = true;
+    private long maximumWeightBytes = 64L * 1024 * 1024;
+    private Duration ttl = Duration.ofMinutes(1);
+    private boolean gzip = true;
+}
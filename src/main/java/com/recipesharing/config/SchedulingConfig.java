@@ -0,0 +1,13 @@
+package com.recipesharing.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background writers and jobs ({@code @Scheduled}) run on Boot's task scheduler;
+ * its pool size is {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
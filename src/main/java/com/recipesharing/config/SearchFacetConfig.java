@@ -0,0 +1,15 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.facets")
+@Getter
+@Setter
+public class SearchFacetConfig {
+    // buckets returned per facet, largest first; the rest are left out
+    private int maxBuckets = 10;
+}
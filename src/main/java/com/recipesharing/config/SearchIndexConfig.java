@@ -0,0 +1,26 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.index")
+@Getter
+@Setter
+public class SearchIndexConfig {
+    // local directory of the Lucene index, one per instance; blank keeps it in memory (rebuilt at every start)
+    private String directory = "./search-index";
+    // changed recipes are reindexed and become searchable within about this long
+    private Duration refreshInterval = Duration.ofSeconds(1);
+    // durable commit of the index; changes after the last commit are replayed from the queue only while running
+    private Duration commitInterval = Duration.ofSeconds(30);
+    // deepest result a fulltext page may reach (offset + size)
+    private int maxResults = 1_000;
+    // recipes per batch and batches indexed concurrently by a full rebuild
+    private int rebuildBatchSize = 500;
+    private int rebuildParallelism = 4;
+}
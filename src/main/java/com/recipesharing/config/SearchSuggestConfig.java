@@ -0,0 +1,24 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search.suggest")
+@Getter
+@Setter
+public class SearchSuggestConfig {
+    // most suggestions per section (recipes, labels, chefs) a request can ask for
+    private int maxResults = 10;
+    // recipe popularity is 1 + views + favoriteWeight * favorites; labels and chefs sum their recipes'
+    private long favoriteWeight = 10;
+    // changed recipes show up in suggestions within about this long
+    private Duration refreshInterval = Duration.ofSeconds(1);
+    // full rebuild from recipes, which also refreshes popularity (view and favorite counts do not trigger updates)
+    private Duration rebuildInterval = Duration.ofHours(1);
+    private int rebuildBatchSize = 1_000;
+}
@@ -48,6 +48,9 @@ public class SecurityConfig {
                         // public recipes
                         .requestMatchers(HttpMethod.GET, "/api/recipes/**").permitAll()
 
+                        // public typeahead
+                        .requestMatchers(HttpMethod.GET, "/api/search/suggest").permitAll()
+
                         //public recipe images
                         .requestMatchers("/files/recipes/**").permitAll()
 
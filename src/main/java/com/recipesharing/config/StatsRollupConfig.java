@@ -0,0 +1,24 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "stats.rollup")
+@Getter
+@Setter
+public class StatsRollupConfig {
+    // how long deltas are buffered in memory before one batched upsert
+    private Duration flushInterval = Duration.ofSeconds(5);
+    // hourly rows older than this are purged, daily rows are kept
+    private Duration hourlyRetention = Duration.ofDays(14);
+    private Duration purgeInterval = Duration.ofHours(1);
+    private int purgeBatchSize = 1_000;
+    // upper bounds for the query endpoints
+    private int maxDays = 90;
+    private int maxHours = 72;
+}
@@ -0,0 +1,28 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "trending")
+@Getter
+@Setter
+public class TrendingConfig {
+    // an interaction counts half as much after this long
+    private Duration halfLife = Duration.ofHours(6);
+    // score added per unique view / favorite, and per star above or below 3 on a rating
+    private double viewWeight = 1.0;
+    private double favoriteWeight = 5.0;
+    private double ratingWeight = 2.0;
+    // size of the global top list, and of each per-label list when segmenting by label
+    private int capacity = 100;
+    private boolean segmentByLabel = true;
+    private int labelCapacity = 50;
+    // recipes whose decayed score falls below this are forgotten
+    private double minScore = 0.05;
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,25 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "views.compaction")
+@Getter
+@Setter
+public class ViewCompactionConfig {
+    private boolean enabled = true;
+    // views older than this are folded into recipe_view_archive and deleted
+    private Duration horizon = Duration.ofDays(90);
+    private Duration interval = Duration.ofHours(1);
+    private int chunkSize = 1_000;
+    // pause after each chunk: at least minPause, or throttleRatio x the chunk's own duration
+    private Duration minPause = Duration.ofMillis(100);
+    private double throttleRatio = 1.0;
+    // a run stops here and resumes from its checkpoint next time
+    private Duration maxRunTime = Duration.ofMinutes(10);
+}
@@ -0,0 +1,30 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "views.recording")
+@Getter
+@Setter
+public class ViewRecordingConfig {
+    private int queueCapacity = 10_000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+    // how long BLOCK waits for space before giving up on the view
+    private Duration offerTimeout = Duration.ofMillis(5);
+
+    public enum OverflowPolicy {
+        // keep what is queued, lose the incoming view
+        DROP_NEWEST,
+        // make room by discarding the oldest queued view
+        DROP_OLDEST,
+        // hold the request thread up to offerTimeout, then drop
+        BLOCK
+    }
+}
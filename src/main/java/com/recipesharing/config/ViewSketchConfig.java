@@ -0,0 +1,32 @@
+package com.recipesharing.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "views.unique")
+@Getter
+@Setter
+public class ViewSketchConfig {
+    private Mode mode = Mode.EXACT;
+    // 2^precision one-byte registers per recipe, standard error ~ 1.04 / sqrt(2^precision)
+    private int hllPrecision = 11;
+    private int bloomBits = 16_384;
+    private int bloomPartitions = 4;
+    // past this partition fill the filter stops short-circuiting repeat views
+    private double bloomMaxFill = 0.5;
+    // recipes whose sketches are held in memory
+    private long maximumSize = 10_000;
+    private Duration snapshotInterval = Duration.ofSeconds(30);
+
+    public enum Mode {
+        // one recipe_views row per (user, recipe)
+        EXACT,
+        // per-recipe HyperLogLog + Bloom filter, no rows per pair
+        APPROXIMATE
+    }
+}
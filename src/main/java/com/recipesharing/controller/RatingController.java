@@ -1,19 +1,25 @@
 package com.recipesharing.controller;
 
 import com.recipesharing.dto.request.CreateRatingRequest;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateRatingRequest;
+import com.recipesharing.dto.response.CursorPageResponse;
 import com.recipesharing.dto.response.RatingResponse;
+import com.recipesharing.dto.response.RatingSummaryResponse;
+import com.recipesharing.dto.version.Versioned;
 import com.recipesharing.entity.User;
 import com.recipesharing.service.RatingService;
+import com.recipesharing.web.ResourceVersion;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/recipes/{recipeId}/ratings")
@@ -61,10 +67,40 @@ public class RatingController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<RatingResponse>> getRatings(
+    public ResponseEntity<Slice<RatingResponse>> getRatings(
             @PathVariable Long recipeId,
-            Pageable pageable
+            @RequestParam(defaultValue = "exact") String total,
+            Pageable pageable,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(ratingService.getRatingsByRecipe(recipeId, pageable));
+        Slice<RatingResponse> ratings = ratingService.getRatingsByRecipe(recipeId, pageable, TotalMode.from(total));
+        ResourceVersion version = ratingService.getRatingsVersion(recipeId, ratings);
+        if (ResourceVersion.isConditional(webRequest) && version.notModified(webRequest)) {
+            return null;
+        }
+
+        return version.ok(ratings);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<RatingSummaryResponse> getSummary(
+            @PathVariable Long recipeId,
+            WebRequest webRequest
+    ) {
+        Versioned<RatingSummaryResponse> summary = ratingService.getRatingSummary(recipeId);
+        if (summary.version().notModified(webRequest)) {
+            return null;
+        }
+
+        return summary.version().ok(summary.body());
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<RatingResponse>> getRatingsByCursor(
+            @PathVariable Long recipeId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "15") int size
+    ) {
+        return ResponseEntity.ok(ratingService.getRatingsByRecipe(recipeId, cursor, size));
     }
 }
\ No newline at end of file
@@ -1,16 +1,27 @@
 package com.recipesharing.controller;
 
 import com.recipesharing.dto.request.CreateRecipeRequest;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.dto.request.LeaderboardType;
+import com.recipesharing.dto.request.SearchFacet;
+import com.recipesharing.dto.request.SearchMode;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateRecipeRequest;
+import com.recipesharing.dto.response.CursorPageResponse;
+import com.recipesharing.dto.response.FacetedSearchResponse;
+import com.recipesharing.dto.response.LeaderboardResponse;
+import com.recipesharing.dto.response.RecipeBatchResponse;
 import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.dto.response.RecipeResponse;
 import com.recipesharing.entity.RecipeDifficulty;
 import com.recipesharing.entity.User;
+import com.recipesharing.service.RecipeSearchIndexer;
 import com.recipesharing.service.RecipeService;
+import com.recipesharing.web.ResourceVersion;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -18,6 +29,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,9 +39,11 @@ import java.util.List;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeSearchIndexer searchIndexer;
 
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService, RecipeSearchIndexer searchIndexer) {
         this.recipeService = recipeService;
+        this.searchIndexer = searchIndexer;
     }
 
     @PreAuthorize("hasRole('CHEF')")
@@ -42,41 +56,213 @@ public class RecipeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Recipe cards for up to {@value RecipeService#MAX_BATCH_SIZE} ids, e.g. {@code ?ids=3,1,2},
+     * returned in that order; unknown ids come back in {@code missingIds}.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<RecipeBatchResponse> getRecipesByIds(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeService.getRecipesByIds(ids, currentUser));
+    }
+
+    /**
+     * Recipes with the most recent engagement (unique views, favorites, ratings), decayed
+     * over time; {@code label} narrows the ranking to recipes carrying that label.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<RecipeListResponse>> getTrendingRecipes(
+            @RequestParam(required = false) String label,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeService.getTrendingRecipes(label, limit, currentUser));
+    }
+
+    /**
+     * Leaderboards by {@code favorites}, {@code rating} (Bayesian average) or {@code views},
+     * served from memory; the deepest page ends at {@code leaderboards.max-rank}.
+     */
+    @GetMapping("/top")
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "favorites") String by,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeService.getLeaderboard(LeaderboardType.from(by), page, size, currentUser));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RecipeResponse> getRecipeById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal User currentUser,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(recipeService.getRecipeById(id, currentUser));
+        if (ResourceVersion.isConditional(webRequest)
+                && recipeService.getRecipeVersion(id, currentUser).notModified(webRequest)) {
+            recipeService.recordView(id, currentUser);
+            return null;
+        }
+
+        RecipeResponse response = recipeService.getRecipeById(id, currentUser);
+        return recipeService.getRecipeVersion(response).ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<Page<RecipeListResponse>> getAllRecipes(
+    public ResponseEntity<Slice<RecipeListResponse>> getAllRecipes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(defaultValue = "createdAt,desc") String sort,
-            @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @RequestParam(defaultValue = "exact") String total,
+            @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeService.getAllRecipes(pageable, TotalMode.from(total), currentUser));
+    }
+
+    /**
+     * Keyset mode of {@link #getAllRecipes}: newest first, an empty cursor starts from the top.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<RecipeListResponse>> getAllRecipesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            @AuthenticationPrincipal User currentUser
     ) {
-        return ResponseEntity.ok(recipeService.getAllRecipes(pageable));
+        return ResponseEntity.ok(recipeService.getAllRecipes(cursor, size, currentUser));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<RecipeListResponse>> searchRecipes(
+    public ResponseEntity<Slice<RecipeListResponse>> searchRecipes(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) List<String> labels,
+            @RequestParam(defaultValue = "any") String labelsMode,
             @RequestParam(required = false) Long chefId,
             @RequestParam(required = false) RecipeDifficulty difficulty,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(defaultValue = "createdAt,desc") String sort,
-            @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+            @RequestParam(defaultValue = "exact") String total,
+            @RequestParam(defaultValue = "database") String mode,
+            @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(search(
+                SearchMode.from(mode),
+                keyword,
+                labels,
+                LabelFilterMode.from(labelsMode),
+                chefId,
+                difficulty,
+                pageable,
+                TotalMode.from(total),
+                currentUser
+        ));
+    }
+
+    /**
+     * {@link #searchRecipes} plus bucket counts for the requested facets
+     * ({@code facets=labels,difficulty,chef}), so a filter sidebar needs no extra requests.
+     */
+    @GetMapping(value = "/search", params = {"facets", "!cursor"})
+    public ResponseEntity<FacetedSearchResponse<RecipeListResponse>> searchRecipesWithFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<String> labels,
+            @RequestParam(defaultValue = "any") String labelsMode,
+            @RequestParam(required = false) Long chefId,
+            @RequestParam(required = false) RecipeDifficulty difficulty,
+            @RequestParam String facets,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "15") int size,
+            @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "exact") String total,
+            @RequestParam(defaultValue = "database") String mode,
+            @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        SearchMode searchMode = SearchMode.from(mode);
+        LabelFilterMode labelFilterMode = LabelFilterMode.from(labelsMode);
+        Slice<RecipeListResponse> results = search(
+                searchMode,
+                keyword,
+                labels,
+                labelFilterMode,
+                chefId,
+                difficulty,
+                pageable,
+                TotalMode.from(total),
+                currentUser
+        );
+
+        return ResponseEntity.ok(new FacetedSearchResponse<>(
+                results,
+                recipeService.searchFacets(
+                        searchMode, keyword, labels, labelFilterMode, chefId, difficulty, SearchFacet.from(facets)
+                )
+        ));
+    }
+
+    private Slice<RecipeListResponse> search(
+            SearchMode mode,
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            Pageable pageable,
+            TotalMode totalMode,
+            User currentUser
+    ) {
+        return switch (mode) {
+            case FULLTEXT -> recipeService.searchRecipesFullText(
+                    keyword, labels, labelsMode, chefId, difficulty, pageable, totalMode, currentUser
+            );
+            case MATCH -> recipeService.searchRecipesMatch(
+                    keyword, labels, labelsMode, chefId, difficulty, pageable, totalMode, currentUser
+            );
+            case DATABASE -> recipeService.searchRecipes(
+                    keyword, labels, labelsMode, chefId, difficulty, pageable, totalMode, currentUser
+            );
+        };
+    }
+
+    /**
+     * Rebuilds the full-text index from the database; searches keep using the current
+     * index until it is done.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        searchIndexer.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Keyset mode of {@link #searchRecipes}: newest first, an empty cursor starts from the top.
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<CursorPageResponse<RecipeListResponse>> searchRecipesByCursor(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<String> labels,
+            @RequestParam(defaultValue = "any") String labelsMode,
+            @RequestParam(required = false) Long chefId,
+            @RequestParam(required = false) RecipeDifficulty difficulty,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "15") int size,
+            @AuthenticationPrincipal User currentUser
     ) {
         return ResponseEntity.ok(recipeService.searchRecipes(
                 keyword,
                 labels,
+                LabelFilterMode.from(labelsMode),
                 chefId,
                 difficulty,
-                pageable
+                cursor,
+                size,
+                currentUser
         ));
     }
 
@@ -3,13 +3,16 @@ package com.recipesharing.controller;
 import com.recipesharing.dto.request.CreateIngredientRequest;
 import com.recipesharing.dto.request.UpdateIngredientRequest;
 import com.recipesharing.dto.response.IngredientResponse;
+import com.recipesharing.dto.version.Versioned;
 import com.recipesharing.entity.User;
 import com.recipesharing.service.IngredientService;
+import com.recipesharing.web.ResourceVersion;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -25,8 +28,17 @@ public class RecipeIngredientController {
     }
 
     @GetMapping
-    public ResponseEntity<List<IngredientResponse>> getIngredients(@PathVariable Long recipeId) {
-        return ResponseEntity.ok(ingredientService.getIngredientsByRecipeId(recipeId));
+    public ResponseEntity<List<IngredientResponse>> getIngredients(
+            @PathVariable Long recipeId,
+            WebRequest webRequest
+    ) {
+        if (ResourceVersion.isConditional(webRequest)
+                && ingredientService.getIngredientsVersion(recipeId).notModified(webRequest)) {
+            return null;
+        }
+
+        Versioned<List<IngredientResponse>> ingredients = ingredientService.getIngredientsByRecipeId(recipeId);
+        return ingredients.version().ok(ingredients.body());
     }
 
     @PreAuthorize("hasRole('CHEF')")
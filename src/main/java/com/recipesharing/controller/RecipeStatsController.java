@@ -0,0 +1,55 @@
+package com.recipesharing.controller;
+
+import com.recipesharing.dto.response.StatsBucketResponse;
+import com.recipesharing.entity.User;
+import com.recipesharing.service.RecipeStatsService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Tag(name = "Recipe Stats", description = "Views and favorites over time for chefs")
+@SecurityRequirement(name = "bearerAuth")
+public class RecipeStatsController {
+
+    private final RecipeStatsService recipeStatsService;
+
+    public RecipeStatsController(RecipeStatsService recipeStatsService) {
+        this.recipeStatsService = recipeStatsService;
+    }
+
+    @PreAuthorize("hasRole('CHEF')")
+    @GetMapping("/users/me/stats/daily")
+    public ResponseEntity<List<StatsBucketResponse>> myDailyStats(
+            @RequestParam(defaultValue = "30") int days,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeStatsService.getDailyStatsForChef(currentUser, days));
+    }
+
+    @PreAuthorize("hasRole('CHEF')")
+    @GetMapping("/recipes/{recipeId}/stats/daily")
+    public ResponseEntity<List<StatsBucketResponse>> recipeDailyStats(
+            @PathVariable Long recipeId,
+            @RequestParam(defaultValue = "30") int days,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeStatsService.getDailyStats(recipeId, currentUser, days));
+    }
+
+    @PreAuthorize("hasRole('CHEF')")
+    @GetMapping("/recipes/{recipeId}/stats/hourly")
+    public ResponseEntity<List<StatsBucketResponse>> recipeHourlyStats(
+            @PathVariable Long recipeId,
+            @RequestParam(defaultValue = "48") int hours,
+            @AuthenticationPrincipal User currentUser
+    ) {
+        return ResponseEntity.ok(recipeStatsService.getHourlyStats(recipeId, currentUser, hours));
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipesharing.controller;
+
+import com.recipesharing.dto.response.SuggestResponse;
+import com.recipesharing.service.SearchSuggestions;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Typeahead suggestions across recipes, labels and chefs")
+public class SearchController {
+
+    private final SearchSuggestions searchSuggestions;
+
+    public SearchController(SearchSuggestions searchSuggestions) {
+        this.searchSuggestions = searchSuggestions;
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponse> suggest(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(searchSuggestions.suggest(q, limit));
+    }
+}
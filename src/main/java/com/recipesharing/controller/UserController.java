@@ -1,17 +1,22 @@
 package com.recipesharing.controller;
 
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateUserProfileRequest;
+import com.recipesharing.dto.response.ChefStatsResponse;
+import com.recipesharing.dto.response.CursorPageResponse;
 import com.recipesharing.dto.response.PagedResponse;
 import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.dto.response.UserProfileResponse;
 import com.recipesharing.entity.User;
+import com.recipesharing.service.ChefStatsService;
 import com.recipesharing.service.FavoriteService;
 import com.recipesharing.service.UserService;
+import com.recipesharing.web.ResourceVersion;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
@@ -19,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @Tag(name = "User Profile", description = "User & chef profile management")
@@ -29,21 +35,44 @@ public class UserController {
 
     private final UserService userService;
     private final FavoriteService favoriteService;
+    private final ChefStatsService chefStatsService;
 
-    public UserController(UserService userService, FavoriteService favoriteService) {
+    public UserController(UserService userService, FavoriteService favoriteService, ChefStatsService chefStatsService) {
         this.userService = userService;
         this.favoriteService = favoriteService;
+        this.chefStatsService = chefStatsService;
     }
 
     @GetMapping("/{username}")
-    public ResponseEntity<UserProfileResponse> getProfileByUsername(@PathVariable String username) {
-        return ResponseEntity.ok(userService.getProfileByUsername(username));
+    public ResponseEntity<UserProfileResponse> getProfileByUsername(
+            @PathVariable String username,
+            WebRequest webRequest
+    ) {
+        ResourceVersion version = userService.getProfileVersion(username);
+        if (version.notModified(webRequest)) {
+            return null;
+        }
+
+        return version.ok(userService.getProfileByUsername(username));
+    }
+
+    @GetMapping("/{username}/stats")
+    public ResponseEntity<ChefStatsResponse> getChefStats(@PathVariable String username) {
+        return ResponseEntity.ok(chefStatsService.getStats(username));
     }
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/me")
-    public ResponseEntity<UserProfileResponse> getMyProfile(@AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(userService.getMyProfile(currentUser));
+    public ResponseEntity<UserProfileResponse> getMyProfile(
+            @AuthenticationPrincipal User currentUser,
+            WebRequest webRequest
+    ) {
+        ResourceVersion version = userService.getProfileVersion(currentUser);
+        if (version.notModified(webRequest)) {
+            return null;
+        }
+
+        return version.ok(userService.getMyProfile(currentUser));
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -75,25 +104,44 @@ public class UserController {
 
     @GetMapping("/me/favorites")
     @PreAuthorize("isAuthenticated()")
-    public Page<RecipeListResponse> myFavorites(
+    public Slice<RecipeListResponse> myFavorites(
             @AuthenticationPrincipal User currentUser,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "exact") String total,
             @PageableDefault(size = 15, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        return favoriteService.getUserFavorites(currentUser, pageable);
+        return favoriteService.getUserFavorites(currentUser, pageable, TotalMode.from(total));
+    }
+
+    @GetMapping(value = "/me/favorites", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    public CursorPageResponse<RecipeListResponse> myFavoritesByCursor(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "15") int size
+    ) {
+        return favoriteService.getUserFavorites(currentUser, cursor, size);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<Page<UserProfileResponse>> listUsers(
+    public ResponseEntity<Slice<UserProfileResponse>> listUsers(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt,desc") String sort,
+            @RequestParam(defaultValue = "exact") String total,
             Pageable pageable
     ) {
-        return ResponseEntity.ok(userService.listUsers(pageable));
+        return ResponseEntity.ok(userService.listUsers(pageable, TotalMode.from(total)));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildChefStats() {
+        chefStatsService.rebuild();
+        return ResponseEntity.noContent().build();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -5,6 +5,7 @@ import com.recipesharing.dto.request.CreateRecipeRequest;
 import com.recipesharing.dto.request.UpdateIngredientRequest;
 import com.recipesharing.dto.request.UpdateRecipeRequest;
 import com.recipesharing.dto.response.IngredientResponse;
+import com.recipesharing.dto.response.RatingSummaryResponse;
 import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.dto.response.RecipeResponse;
 import com.recipesharing.entity.Ingredient;
@@ -15,6 +16,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper(
         componentModel = "spring",
@@ -31,9 +33,23 @@ public interface RecipeMapper {
     @Mapping(target = "ingredients", expression =
             "java(recipe.getIngredients().stream()" +
                     ".map(i -> toIngredientResponse(i)).toList())")
+    @Mapping(target = "ratingDistribution", expression = "java(ratingDistribution(recipe))")
     RecipeResponse toRecipeResponse(Recipe recipe);
 
+    default Map<Integer, Long> ratingDistribution(Recipe recipe) {
+        return RatingSummaryResponse.distribution(
+                recipe.getOneStarCount(),
+                recipe.getTwoStarCount(),
+                recipe.getThreeStarCount(),
+                recipe.getFourStarCount(),
+                recipe.getFiveStarCount()
+        );
+    }
+
+    RecipeResponse copyRecipeResponse(RecipeResponse response);
+
     @Mapping(source = "chef.username", target = "chefUsername")
+    @Mapping(target = "isFavorite", ignore = true)
     RecipeListResponse toRecipeListResponse(Recipe recipe);
     
     Ingredient toIngredient(CreateIngredientRequest request);
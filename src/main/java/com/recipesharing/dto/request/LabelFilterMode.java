@@ -0,0 +1,27 @@
+package com.recipesharing.dto.request;
+
+import com.recipesharing.exception.BadRequestException;
+
+/**
+ * How the {@code labels} of a recipe search combine, chosen with the {@code labelsMode} request parameter.
+ */
+public enum LabelFilterMode {
+    /** Recipes with at least one of the labels (default). */
+    ANY,
+    /** Recipes with every one of the labels. */
+    ALL,
+    /** Recipes with none of the labels. */
+    NONE;
+
+    public static LabelFilterMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return ANY;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("labelsMode must be one of: any, all, none");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipesharing.dto.request;
+
+import com.recipesharing.exception.BadRequestException;
+
+/**
+ * What a leaderboard ranks by, chosen with the {@code by} request parameter.
+ */
+public enum LeaderboardType {
+    /** Current favorites count. */
+    FAVORITES,
+    /** Bayesian average rating: the average pulled towards the global mean while ratings are few. */
+    RATING,
+    /** Unique view count. */
+    VIEWS;
+
+    public static LeaderboardType from(String value) {
+        if (value == null || value.isBlank()) {
+            return FAVORITES;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("by must be one of: favorites, rating, views");
+        }
+    }
+}
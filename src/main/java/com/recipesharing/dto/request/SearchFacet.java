@@ -0,0 +1,42 @@
+package com.recipesharing.dto.request;
+
+import com.recipesharing.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Bucket counts {@code /api/recipes/search} can return next to the results, chosen with the
+ * {@code facets} request parameter (comma-separated).
+ */
+public enum SearchFacet {
+    /** Recipes per label name. */
+    LABELS,
+    /** Recipes per difficulty. */
+    DIFFICULTY,
+    /** Recipes per chef, keyed by chef id. */
+    CHEF;
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static Set<SearchFacet> from(String value) {
+        Set<SearchFacet> facets = EnumSet.noneOf(SearchFacet.class);
+        if (value == null) {
+            return facets;
+        }
+
+        for (String facet : value.split(",")) {
+            if (facet.isBlank()) {
+                continue;
+            }
+            try {
+                facets.add(valueOf(facet.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("facets must be a comma-separated list of: labels, difficulty, chef");
+            }
+        }
+        return facets;
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipesharing.dto.request;
+
+import com.recipesharing.exception.BadRequestException;
+
+/**
+ * How {@code /api/recipes/search} matches the keyword, chosen with the {@code mode} request parameter.
+ */
+public enum SearchMode {
+    /** Substring match on title and description in the database, sorted as requested (default). */
+    DATABASE,
+    /** Ranked match over the full-text index (title, description, instructions, ingredients, labels). */
+    FULLTEXT,
+    /** MySQL FULLTEXT match on title, description and instructions, most relevant first. */
+    MATCH;
+
+    public static SearchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return DATABASE;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("mode must be one of: database, fulltext, match");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipesharing.dto.request;
+
+import com.recipesharing.exception.BadRequestException;
+
+/**
+ * How a paged endpoint reports totals, chosen with the {@code total} request parameter.
+ */
+public enum TotalMode {
+    /** Page with an exact count query (default). */
+    EXACT,
+    /** Slice with hasNext only, no count query. */
+    NONE,
+    /** Page whose total comes from a periodically refreshed cached count. */
+    APPROXIMATE;
+
+    public static TotalMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("total must be one of: exact, none, approximate");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Totals over all of a chef's recipes; counts still buffered for the next counter flush
+ * are not included.
+ */
+@Getter
+@AllArgsConstructor
+public class ChefStatsResponse {
+    private String username;
+    private long recipeCount;
+    private long totalViews;
+    private long totalFavorites;
+    private long ratingCount;
+    // over every rating of every recipe, null without ratings
+    private BigDecimal averageRating;
+}
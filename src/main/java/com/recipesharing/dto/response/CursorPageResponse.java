@@ -0,0 +1,19 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One window of a keyset-paginated list. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to fetch the following window.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
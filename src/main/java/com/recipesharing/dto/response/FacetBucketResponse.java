@@ -0,0 +1,19 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One facet value and how many recipes have it. {@code value} is what the matching search
+ * filter takes (label name, difficulty, chef id); {@code name} is for display.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketResponse {
+    private String value;
+    private String name;
+    private long count;
+}
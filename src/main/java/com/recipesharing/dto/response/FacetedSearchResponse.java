@@ -0,0 +1,19 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A search result page together with the requested facets, keyed by facet name
+ * ({@code labels}, {@code difficulty}, {@code chef}), largest bucket first.
+ */
+@Getter
+@AllArgsConstructor
+public class FacetedSearchResponse<T> {
+    private Slice<T> results;
+    private Map<String, List<FacetBucketResponse>> facets;
+}
@@ -0,0 +1,20 @@
+package com.recipesharing.dto.response;
+
+import com.recipesharing.dto.request.LeaderboardType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a leaderboard; recipes deleted since the board was read are left out.
+ */
+@Getter
+@AllArgsConstructor
+public class LeaderboardResponse {
+    private LeaderboardType by;
+    private List<RankedRecipeResponse> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,15 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A recipe card with its 1-based position on a leaderboard and the score it is ranked by.
+ */
+@Getter
+@AllArgsConstructor
+public class RankedRecipeResponse {
+    private int rank;
+    private double score;
+    private RecipeListResponse recipe;
+}
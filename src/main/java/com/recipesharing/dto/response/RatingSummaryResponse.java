@@ -0,0 +1,50 @@
+package com.recipesharing.dto.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter @Setter
+@NoArgsConstructor
+public class RatingSummaryResponse {
+    private Long recipeId;
+    private Long ratingCount;
+    private BigDecimal averageRating;
+    private Map<Integer, Long> distribution;
+
+    /**
+     * Projection constructor over the recipe's rating columns, the ratings table is not read.
+     */
+    public RatingSummaryResponse(
+            Long recipeId,
+            Long ratingCount,
+            BigDecimal averageRating,
+            Long oneStarCount,
+            Long twoStarCount,
+            Long threeStarCount,
+            Long fourStarCount,
+            Long fiveStarCount
+    ) {
+        this.recipeId = recipeId;
+        this.ratingCount = ratingCount;
+        this.averageRating = averageRating;
+        this.distribution = distribution(oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount);
+    }
+
+    /**
+     * Star value (1-5) to number of ratings, every star present and in order.
+     */
+    public static Map<Integer, Long> distribution(Long... starCounts) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int star = 1; star <= starCounts.length; star++) {
+            Long count = starCounts[star - 1];
+            distribution.put(star, count == null ? 0L : count);
+        }
+        return Collections.unmodifiableMap(distribution);
+    }
+}
@@ -0,0 +1,16 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Recipe cards in the order the ids were requested; ids with no recipe are listed in {@code missingIds}.
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeBatchResponse {
+    private List<RecipeListResponse> content;
+    private List<Long> missingIds;
+}
@@ -1,14 +1,14 @@
 package com.recipesharing.dto.response;
 
 import com.recipesharing.entity.RecipeDifficulty;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
 @Getter @Setter
-@AllArgsConstructor
+@NoArgsConstructor
 public class RecipeListResponse {
     private Long id;
     private String title;
@@ -20,5 +20,32 @@ public class RecipeListResponse {
     private LocalDateTime createdAt;
     private String thumbnailUrl;
     private String chefUsername;
-}
+    private Boolean isFavorite;
 
+    /**
+     * Projection constructor for the list queries; {@code isFavorite} is per user and filled in afterwards.
+     */
+    public RecipeListResponse(
+            Long id,
+            String title,
+            String description,
+            Integer prepTime,
+            Integer cookTime,
+            Integer servings,
+            RecipeDifficulty difficulty,
+            LocalDateTime createdAt,
+            String thumbnailUrl,
+            String chefUsername
+    ) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.prepTime = prepTime;
+        this.cookTime = cookTime;
+        this.servings = servings;
+        this.difficulty = difficulty;
+        this.createdAt = createdAt;
+        this.thumbnailUrl = thumbnailUrl;
+        this.chefUsername = chefUsername;
+    }
+}
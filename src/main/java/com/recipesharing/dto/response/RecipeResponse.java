@@ -8,6 +8,7 @@ import lombok.Setter;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Getter @Setter
 @AllArgsConstructor
@@ -23,10 +24,12 @@ public class RecipeResponse {
     private Integer servings;
     private RecipeDifficulty difficulty;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private Integer viewCount;
     private Long favoritesCount;
     private Long ratingCount;
     private BigDecimal averageRating;
+    private Map<Integer, Long> ratingDistribution;
     private String imageUrl;
     private String thumbnailUrl;
     private String chefUsername;
@@ -0,0 +1,21 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Activity in one hour or one day, {@code periodStart} being the first instant of it.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsBucketResponse {
+    private LocalDateTime periodStart;
+    private long views;
+    private long favoritesAdded;
+    private long favoritesRemoved;
+}
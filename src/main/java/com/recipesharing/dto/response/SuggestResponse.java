@@ -0,0 +1,17 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Typeahead suggestions per section, most popular first.
+ */
+@Getter
+@AllArgsConstructor
+public class SuggestResponse {
+    private List<SuggestionResponse> recipes;
+    private List<SuggestionResponse> labels;
+    private List<SuggestionResponse> chefs;
+}
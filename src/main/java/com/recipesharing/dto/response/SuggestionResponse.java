@@ -0,0 +1,14 @@
+package com.recipesharing.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One typeahead suggestion: the text to show and, for recipes and chefs, their id.
+ */
+@Getter
+@AllArgsConstructor
+public class SuggestionResponse {
+    private String text;
+    private Long id;
+}
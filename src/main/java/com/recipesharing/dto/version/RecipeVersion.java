@@ -0,0 +1,17 @@
+package com.recipesharing.dto.version;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a recipe representation is versioned by, read without loading the aggregate.
+ */
+public record RecipeVersion(
+        Long id,
+        LocalDateTime updatedAt,
+        Long favoritesCount,
+        Long ratingCount,
+        Long ratingSum,
+        BigDecimal averageRating
+) {
+}
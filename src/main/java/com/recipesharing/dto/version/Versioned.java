@@ -0,0 +1,9 @@
+package com.recipesharing.dto.version;
+
+import com.recipesharing.web.ResourceVersion;
+
+/**
+ * A response body together with the version it was read at.
+ */
+public record Versioned<T>(T body, ResourceVersion version) {
+}
@@ -0,0 +1,37 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-chef totals over all of the chef's recipes, maintained by deltas next to the recipe
+ * counters they sum up; {@code ChefStatsService#rebuild} recomputes them from recipes.
+ */
+@Entity
+@Table(name = "chef_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChefStats {
+
+    @Id
+    @Column(name = "chef_id")
+    private Long chefId;
+
+    @Column(name = "recipe_count", nullable = false)
+    private long recipeCount;
+
+    @Column(name = "total_views", nullable = false)
+    private long totalViews;
+
+    @Column(name = "total_favorites", nullable = false)
+    private long totalFavorites;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
         uniqueConstraints = @UniqueConstraint(
                 name = "unique_favorite",
                 columnNames = {"user_id", "recipe_id"}
-        )
+        ),
+        indexes = @Index(name = "idx_favorites_user_created_at_id", columnList = "user_id, created_at, id")
 )
 @Getter
 @Setter
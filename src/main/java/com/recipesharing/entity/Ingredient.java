@@ -2,12 +2,15 @@ package com.recipesharing.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 
 @Entity
 @Table(name = "ingredients")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ingredients")
 @Getter
 @Setter
 @NoArgsConstructor
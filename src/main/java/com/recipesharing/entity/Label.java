@@ -2,6 +2,8 @@ package com.recipesharing.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "labels")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "labels")
 @Getter
 @Setter
 @NoArgsConstructor
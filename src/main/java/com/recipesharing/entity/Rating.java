@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
         uniqueConstraints = @UniqueConstraint(
                 name = "unique_rating",
                 columnNames = {"user_id", "recipe_id"}
-        )
+        ),
+        indexes = @Index(name = "idx_ratings_recipe_created_at_id", columnList = "recipe_id, created_at, id")
 )
 @Getter
 @Setter
@@ -2,6 +2,8 @@ package com.recipesharing.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,8 +14,26 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Fetch plans: "Recipe.detail" loads the chef and ingredients in one query; labels are a
+ * Set and follow in a second one (joining both collections would duplicate the ingredient bag).
+ * favorites and ratings are never part of a fetch plan, read them through their repositories.
+ * <p>
+ * The ingredients and labels collections live in the second-level cache (the Recipe itself does
+ * not, its counters change too often); see application.conf for the region policies.
+ */
 @Entity
-@Table(name = "recipes")
+@Table(
+        name = "recipes",
+        indexes = @Index(name = "idx_recipes_created_at_id", columnList = "created_at, id")
+)
+@NamedEntityGraph(
+        name = "Recipe.detail",
+        attributeNodes = {
+                @NamedAttributeNode("chef"),
+                @NamedAttributeNode("ingredients")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -78,6 +98,7 @@ public class Recipe {
     // Relationships
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("displayOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-ingredients")
     @Builder.Default
     private List<Ingredient> ingredients = new ArrayList<>();
 
@@ -87,6 +108,7 @@ public class Recipe {
             joinColumns = @JoinColumn(name = "recipe_id"),
             inverseJoinColumns = @JoinColumn(name = "label_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-labels")
     @Builder.Default
     private Set<Label> labels = new HashSet<>();
 
@@ -107,6 +129,32 @@ public class Recipe {
     @Builder.Default
     private Long ratingCount = 0L;
 
+    // sum of all rating values, kept next to rating_count so changes apply as deltas
+    @Column(name = "rating_sum", nullable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // 1-5 star histogram, maintained in the same statement as rating_sum / rating_count
+    @Column(name = "one_star_count", nullable = false)
+    @Builder.Default
+    private Long oneStarCount = 0L;
+
+    @Column(name = "two_star_count", nullable = false)
+    @Builder.Default
+    private Long twoStarCount = 0L;
+
+    @Column(name = "three_star_count", nullable = false)
+    @Builder.Default
+    private Long threeStarCount = 0L;
+
+    @Column(name = "four_star_count", nullable = false)
+    @Builder.Default
+    private Long fourStarCount = 0L;
+
+    @Column(name = "five_star_count", nullable = false)
+    @Builder.Default
+    private Long fiveStarCount = 0L;
+
     @Column(name = "average_rating", precision = 2, scale = 1)
     @Builder.Default
     private BigDecimal averageRating = BigDecimal.ZERO;
@@ -0,0 +1,48 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Views and favorite changes of one recipe in one day, maintained alongside
+ * {@link RecipeStatsHourly} so dashboards read at most one row per recipe per day.
+ */
+@Entity
+@Table(name = "recipe_stats_daily")
+@IdClass(RecipeStatsDaily.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeStatsDaily {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(name = "favorites_added", nullable = false)
+    private long favoritesAdded;
+
+    @Column(name = "favorites_removed", nullable = false)
+    private long favoritesRemoved;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long recipeId;
+        private LocalDate statDate;
+    }
+}
@@ -0,0 +1,51 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Views and favorite changes of one recipe in one clock hour. Written only through
+ * batched upserts by the stats rollup; the entity exists for the schema.
+ */
+@Entity
+@Table(
+        name = "recipe_stats_hourly",
+        indexes = @Index(name = "idx_recipe_stats_hourly_stat_hour", columnList = "stat_hour")
+)
+@IdClass(RecipeStatsHourly.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeStatsHourly {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Id
+    @Column(name = "stat_hour")
+    private LocalDateTime statHour;
+
+    @Column(nullable = false)
+    private long views;
+
+    @Column(name = "favorites_added", nullable = false)
+    private long favoritesAdded;
+
+    @Column(name = "favorites_removed", nullable = false)
+    private long favoritesRemoved;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long recipeId;
+        private LocalDateTime statHour;
+    }
+}
@@ -0,0 +1,30 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a recipe's trending score as of {@code scoredAt}; the in-memory scores are
+ * restored from these rows on startup, decayed by the time since.
+ */
+@Entity
+@Table(name = "recipe_trending_scores")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeTrendingScore {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
 public class RecipeView {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne
@@ -28,5 +28,6 @@ public class RecipeView {
     @OnDelete(action = org.hibernate.annotations.OnDeleteAction.CASCADE)
     private Recipe recipe;
 
+    @Column(name = "viewed_at")
     private LocalDateTime viewedAt;
 }
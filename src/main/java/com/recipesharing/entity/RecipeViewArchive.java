@@ -0,0 +1,33 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-recipe remainder of {@link RecipeView} rows that were compacted away after the
+ * retention horizon: how many there were and the newest view among them.
+ */
+@Entity
+@Table(name = "recipe_view_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeViewArchive {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "compacted_views", nullable = false)
+    private long compactedViews;
+
+    @Column(name = "last_viewed_at")
+    private LocalDateTime lastViewedAt;
+
+    @Column(name = "compacted_at")
+    private LocalDateTime compactedAt;
+}
@@ -0,0 +1,36 @@
+package com.recipesharing.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted viewer sketches of one recipe, used instead of {@link RecipeView} rows when
+ * unique views are tracked approximately: HyperLogLog registers for the unique-viewer
+ * count and a partitioned Bloom filter for "has this user viewed it".
+ */
+@Entity
+@Table(name = "recipe_view_sketches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeViewSketch {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "viewers_hll", nullable = false, columnDefinition = "BLOB")
+    private byte[] viewersHll;
+
+    @Column(name = "viewers_bloom", nullable = false, columnDefinition = "BLOB")
+    private byte[] viewersBloom;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.recipesharing.event;
+
+/**
+ * Published when a user adds or removes a favorite. Listeners run after the
+ * surrounding transaction commits.
+ */
+public record FavoriteChangedEvent(Long userId, Long recipeId, boolean added) {
+
+    public static FavoriteChangedEvent added(Long userId, Long recipeId) {
+        return new FavoriteChangedEvent(userId, recipeId, true);
+    }
+
+    public static FavoriteChangedEvent removed(Long userId, Long recipeId) {
+        return new FavoriteChangedEvent(userId, recipeId, false);
+    }
+}
@@ -0,0 +1,21 @@
+package com.recipesharing.event;
+
+/**
+ * Published when a user adds, changes or removes a rating; {@code oldRating} is null for
+ * a new rating and {@code newRating} for a removed one. Listeners run after the
+ * surrounding transaction commits.
+ */
+public record RatingChangedEvent(Long recipeId, Integer oldRating, Integer newRating) {
+
+    public static RatingChangedEvent added(Long recipeId, int rating) {
+        return new RatingChangedEvent(recipeId, null, rating);
+    }
+
+    public static RatingChangedEvent changed(Long recipeId, int oldRating, int newRating) {
+        return new RatingChangedEvent(recipeId, oldRating, newRating);
+    }
+
+    public static RatingChangedEvent removed(Long recipeId, int rating) {
+        return new RatingChangedEvent(recipeId, rating, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.recipesharing.event;
+
+/**
+ * Published by services whenever a recipe or one of its parts (ingredients, labels,
+ * image, ratings, favorites) is modified. Listeners run after the surrounding
+ * transaction commits.
+ */
+public record RecipeChangedEvent(Long recipeId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static RecipeChangedEvent created(Long recipeId) {
+        return new RecipeChangedEvent(recipeId, ChangeType.CREATED);
+    }
+
+    public static RecipeChangedEvent updated(Long recipeId) {
+        return new RecipeChangedEvent(recipeId, ChangeType.UPDATED);
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId) {
+        return new RecipeChangedEvent(recipeId, ChangeType.DELETED);
+    }
+}
@@ -0,0 +1,11 @@
+package com.recipesharing.event;
+
+import java.util.Set;
+
+/**
+ * Published by {@link com.recipesharing.service.RecipeCounterAggregator} after a flush
+ * committed view or favorite deltas for these recipes. Only response caches listen: a
+ * counter is not a content change, so it does not go out as a {@link RecipeChangedEvent}.
+ */
+public record RecipeCountersFlushedEvent(Set<Long> recipeIds) {
+}
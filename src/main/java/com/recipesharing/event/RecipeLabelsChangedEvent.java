@@ -0,0 +1,19 @@
+package com.recipesharing.event;
+
+import java.util.Set;
+
+/**
+ * Published by {@link com.recipesharing.service.LabelService} with the label names a recipe
+ * gained or lost, next to the {@link RecipeChangedEvent} of the same change. Listeners run
+ * after the surrounding transaction commits.
+ */
+public record RecipeLabelsChangedEvent(Long recipeId, Set<String> added, Set<String> removed) {
+
+    public static RecipeLabelsChangedEvent added(Long recipeId, Set<String> labels) {
+        return new RecipeLabelsChangedEvent(recipeId, labels, Set.of());
+    }
+
+    public static RecipeLabelsChangedEvent removed(Long recipeId, String label) {
+        return new RecipeLabelsChangedEvent(recipeId, Set.of(), Set.of(label));
+    }
+}
@@ -0,0 +1,7 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.ChefStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ChefStatsRepository extends JpaRepository<ChefStats, Long>, ChefStatsRepositoryCustom {
+}
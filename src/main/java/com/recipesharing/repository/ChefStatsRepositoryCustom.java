@@ -0,0 +1,44 @@
+package com.recipesharing.repository;
+
+import java.util.Map;
+
+public interface ChefStatsRepositoryCustom {
+
+    // --------------------
+    // Deltas
+    // --------------------
+    // Each statement resolves recipe ids to their chef through recipes, so deltas for a
+    // recipe that is already gone change nothing, as on the recipe row itself.
+
+    /**
+     * Adds flushed per-recipe view and favorite deltas to their chefs' totals, one
+     * statement for all chefs. Favorite totals never go below zero.
+     */
+    void applyCounterDeltas(Map<Long, Long> viewDeltas, Map<Long, Long> favoriteDeltas);
+
+    void applyRatingChange(Long recipeId, long sumDelta, long countDelta);
+
+    /**
+     * Adds one recipe's totals to its chef, negated with {@code sign = -1}; call before
+     * the recipe row is deleted.
+     */
+    void applyRecipe(Long recipeId, int sign);
+
+    // --------------------
+    // Rebuild
+    // --------------------
+
+    /**
+     * Highest chef id with a recipe or a chef_stats row, 0 if there are none.
+     */
+    long findMaxChefId();
+
+    /**
+     * Recomputes the rows of chefs with {@code fromChefId <= chef_id < toChefId} from their
+     * recipes, which are share-locked meanwhile so counter flushes wait instead of being
+     * overwritten. Chefs in the range without recipes lose their row.
+     *
+     * @return number of chefs in the range that have recipes
+     */
+    int rebuildRange(long fromChefId, long toChefId);
+}
@@ -0,0 +1,147 @@
+package com.recipesharing.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ChefStatsRepositoryCustomImpl implements ChefStatsRepositoryCustom {
+
+    // upsert of per-chef deltas selected into derived table dt (d_recipes, d_views, d_favorites,
+    // d_rating_sum, d_rating_count); INSERT ... SELECT cannot use the "as new" row alias
+    private static final String UPSERT_DELTAS = """
+            insert into chef_stats (chef_id, recipe_count, total_views, total_favorites, rating_sum, rating_count)
+            select * from (%s) dt
+            on duplicate key update
+                recipe_count = chef_stats.recipe_count + d_recipes,
+                total_views = chef_stats.total_views + d_views,
+                total_favorites = greatest(chef_stats.total_favorites + d_favorites, 0),
+                rating_sum = chef_stats.rating_sum + d_rating_sum,
+                rating_count = chef_stats.rating_count + d_rating_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChefStatsRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyCounterDeltas(Map<Long, Long> viewDeltas, Map<Long, Long> favoriteDeltas) {
+        Set<Long> ids = new LinkedHashSet<>(viewDeltas.keySet());
+        ids.addAll(favoriteDeltas.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Object> args = new ArrayList<>(ids.size() * 5);
+        StringBuilder select = new StringBuilder("select chef_id, 0 as d_recipes, ");
+        appendSum(select, args, viewDeltas);
+        select.append(" as d_views, ");
+        appendSum(select, args, favoriteDeltas);
+        select.append(" as d_favorites, 0 as d_rating_sum, 0 as d_rating_count from recipes where id in (");
+        String separator = "";
+        for (Long id : ids) {
+            select.append(separator).append('?');
+            args.add(id);
+            separator = ", ";
+        }
+        select.append(") group by chef_id");
+
+        jdbcTemplate.update(UPSERT_DELTAS.formatted(select), args.toArray());
+    }
+
+    private static void appendSum(StringBuilder sql, List<Object> args, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            sql.append('0');
+            return;
+        }
+        sql.append("sum(case id");
+        deltas.forEach((id, delta) -> {
+            sql.append(" when ? then ?");
+            args.add(id);
+            args.add(delta);
+        });
+        sql.append(" else 0 end)");
+    }
+
+    @Override
+    public void applyRatingChange(Long recipeId, long sumDelta, long countDelta) {
+        jdbcTemplate.update(
+                UPSERT_DELTAS.formatted("""
+                        select chef_id, 0 as d_recipes, 0 as d_views, 0 as d_favorites,
+                               ? as d_rating_sum, ? as d_rating_count
+                        from recipes where id = ?"""),
+                sumDelta, countDelta, recipeId
+        );
+    }
+
+    @Override
+    public void applyRecipe(Long recipeId, int sign) {
+        jdbcTemplate.update(
+                UPSERT_DELTAS.formatted("""
+                        select chef_id, ? as d_recipes,
+                               ? * coalesce(view_count, 0) as d_views,
+                               ? * favorites_count as d_favorites,
+                               ? * rating_sum as d_rating_sum,
+                               ? * rating_count as d_rating_count
+                        from recipes where id = ?"""),
+                sign, sign, sign, sign, sign, recipeId
+        );
+    }
+
+    @Override
+    public long findMaxChefId() {
+        Long max = jdbcTemplate.queryForObject(
+                """
+                        select greatest(
+                            coalesce((select max(chef_id) from recipes), 0),
+                            coalesce((select max(chef_id) from chef_stats), 0)
+                        )""",
+                Long.class
+        );
+        return max == null ? 0 : max;
+    }
+
+    @Override
+    public int rebuildRange(long fromChefId, long toChefId) {
+        List<Long> chefIds = jdbcTemplate.queryForList(
+                "select chef_id from recipes where chef_id >= ? and chef_id < ? for share",
+                Long.class,
+                fromChefId, toChefId
+        );
+
+        jdbcTemplate.update("""
+                insert into chef_stats (chef_id, recipe_count, total_views, total_favorites, rating_sum, rating_count)
+                select * from (
+                    select chef_id, count(*) as n_recipes, coalesce(sum(view_count), 0) as n_views,
+                           sum(favorites_count) as n_favorites, sum(rating_sum) as n_rating_sum,
+                           sum(rating_count) as n_rating_count
+                    from recipes
+                    where chef_id >= ? and chef_id < ?
+                    group by chef_id
+                ) dt
+                on duplicate key update
+                    recipe_count = n_recipes,
+                    total_views = n_views,
+                    total_favorites = n_favorites,
+                    rating_sum = n_rating_sum,
+                    rating_count = n_rating_count
+                """,
+                fromChefId, toChefId
+        );
+
+        jdbcTemplate.update("""
+                delete from chef_stats
+                where chef_id >= ? and chef_id < ?
+                  and not exists (select 1 from recipes r where r.chef_id = chef_stats.chef_id)
+                """,
+                fromChefId, toChefId
+        );
+        return new HashSet<>(chefIds).size();
+    }
+}
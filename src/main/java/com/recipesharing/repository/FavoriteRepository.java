@@ -5,8 +5,12 @@ import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface FavoriteRepository extends JpaRepository<Favorite, Long>
@@ -16,5 +20,33 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long>
     boolean existsByUserAndRecipe(User user, Recipe recipe);
 
     Page<Favorite> findAllByUser(User user, Pageable pageable);
+
+    Slice<Favorite> findSliceByUser(User user, Pageable pageable);
+
+    long countByUser(User user);
+
+    @Query("select f.recipe.id from Favorite f where f.user.id = :userId")
+    List<Long> findRecipeIdsByUserId(Long userId);
+
+    // Keyset windows over (createdAt, id) desc, backed by idx_favorites_user_created_at_id
+
+    @Query("""
+    select f from Favorite f
+    join fetch f.recipe r
+    join fetch r.chef
+    where f.user = :user
+    order by f.createdAt desc, f.id desc
+""")
+    List<Favorite> findLatestByUser(User user, Pageable window);
+
+    @Query("""
+    select f from Favorite f
+    join fetch f.recipe r
+    join fetch r.chef
+    where f.user = :user
+      and (f.createdAt < :createdAt or (f.createdAt = :createdAt and f.id < :id))
+    order by f.createdAt desc, f.id desc
+""")
+    List<Favorite> findByUserBefore(User user, LocalDateTime createdAt, Long id, Pageable window);
 }
 
@@ -0,0 +1,7 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
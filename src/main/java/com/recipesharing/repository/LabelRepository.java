@@ -2,15 +2,26 @@ package com.recipesharing.repository;
 
 import com.recipesharing.entity.Ingredient;
 import com.recipesharing.entity.Label;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 public interface LabelRepository extends JpaRepository<Label, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-labels")
+    })
     Optional<Label> findByName(String normalized);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-labels")
+    })
     List<Label> findAllByNameIn(Set<String> names);
 }
 
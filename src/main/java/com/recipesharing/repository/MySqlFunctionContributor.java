@@ -0,0 +1,29 @@
+package com.recipesharing.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * MySQL functions used from criteria queries that Hibernate does not know about.
+ * Registered through META-INF/services.
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code match_against(title, description, instructions, query)}: InnoDB full-text relevance of
+     * the three columns of ft_recipes_title_description_instructions, zero when they do not match.
+     */
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_AGAINST,
+                "match(?1, ?2, ?3) against (?4 in boolean mode)",
+                functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
@@ -5,8 +5,12 @@ import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface RatingRepository extends JpaRepository<Rating, Long> {
@@ -15,5 +19,28 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     boolean existsByUserAndRecipe(User user, Recipe recipe);
 
     Page<Rating> findAllByRecipeId(Long recipeId, Pageable pageable);
+
+    Slice<Rating> findSliceByRecipeId(Long recipeId, Pageable pageable);
+
+    long countByRecipeId(Long recipeId);
+
+    // Keyset windows over (createdAt, id) desc, backed by idx_ratings_recipe_created_at_id
+
+    @Query("""
+    select rt from Rating rt
+    join fetch rt.user
+    where rt.recipe.id = :recipeId
+    order by rt.createdAt desc, rt.id desc
+""")
+    List<Rating> findLatestByRecipeId(Long recipeId, Pageable window);
+
+    @Query("""
+    select rt from Rating rt
+    join fetch rt.user
+    where rt.recipe.id = :recipeId
+      and (rt.createdAt < :createdAt or (rt.createdAt = :createdAt and rt.id < :id))
+    order by rt.createdAt desc, rt.id desc
+""")
+    List<Rating> findByRecipeIdBefore(Long recipeId, LocalDateTime createdAt, Long id, Pageable window);
 }
 
@@ -1,60 +1,44 @@
 package com.recipesharing.repository;
 
+import com.recipesharing.dto.response.RatingSummaryResponse;
+import com.recipesharing.dto.version.RecipeVersion;
 import com.recipesharing.entity.Recipe;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
-    @Query("""
-    select avg(rating.rating)
-    from Rating rating
-    where rating.recipe.id = :recipeId
-""")
-    Double findAverageRatingById(Long recipeId);
-
-    Long countRatingsById(Long recipeId);
-
-    @Modifying
-    @Query("""
-    update Recipe r
-    set r.viewCount = coalesce(r.viewCount, 0) + 1
-    where r.id = :id
-""")
-    void increaseViewCount(Long id);
-
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>, RecipeRepositoryCustom {
 
-    @Modifying
-    @Query("""
-    update Recipe r
-    set r.favoritesCount = coalesce(r.favoritesCount, 0) + 1
-    where r.id = :id
-""")
-    void increaseFavoritesCount(Long id);
+    /**
+     * Recipe with chef and ingredients for building a RecipeResponse;
+     * labels follow in one extra statement when mapped.
+     */
+    @EntityGraph("Recipe.detail")
+    @Query("select r from Recipe r where r.id = :id")
+    Optional<Recipe> findDetailById(Long id);
 
+    @EntityGraph(attributePaths = "ingredients")
+    @Query("select r from Recipe r where r.id = :id")
+    Optional<Recipe> findWithIngredientsById(Long id);
 
-    @Modifying
     @Query("""
-    update Recipe r
-    set r.favoritesCount =
-        case
-            when r.favoritesCount > 0 then r.favoritesCount - 1
-            else 0
-        end
+    select new com.recipesharing.dto.version.RecipeVersion(
+        r.id, r.updatedAt, r.favoritesCount, r.ratingCount, r.ratingSum, r.averageRating)
+    from Recipe r
     where r.id = :id
 """)
-    void decreaseFavoritesCount(Long id);
+    Optional<RecipeVersion> findVersionById(Long id);
 
-    @Modifying
     @Query("""
-    update Recipe r
-    set r.averageRating = :avg,
-        r.ratingCount = :count
+    select new com.recipesharing.dto.response.RatingSummaryResponse(
+        r.id, r.ratingCount, r.averageRating,
+        r.oneStarCount, r.twoStarCount, r.threeStarCount, r.fourStarCount, r.fiveStarCount)
+    from Recipe r
     where r.id = :id
 """)
-    void updateRatingStats(Long id, Double avg, Long count);
-
+    Optional<RatingSummaryResponse> findRatingSummaryById(Long id);
 }
@@ -0,0 +1,216 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.request.SearchFacet;
+import com.recipesharing.dto.response.RecipeListResponse;
+import com.recipesharing.entity.Recipe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface RecipeRepositoryCustom {
+
+    /**
+     * Recipe cards matching the specification, selected as a constructor projection:
+     * only the RecipeListResponse columns plus the chef username, in a single query
+     * (and a count query when the page needs a total).
+     */
+    Page<RecipeListResponse> findListPage(Specification<Recipe> specification, Pageable pageable);
+
+    /**
+     * Count-free variant of {@link #findListPage}: reads one row past the page to answer hasNext.
+     */
+    Slice<RecipeListResponse> findListSlice(Specification<Recipe> specification, Pageable pageable);
+
+    /**
+     * Relevance-ordered variant of {@link #findListPage} for full-text matches: best
+     * MATCH ... AGAINST score for {@code booleanModeQuery} first, newest id first among ties.
+     * The pageable's sort is ignored.
+     */
+    Page<RecipeListResponse> findListPageByRelevance(
+            Specification<Recipe> specification,
+            String booleanModeQuery,
+            Pageable pageable
+    );
+
+    /**
+     * Count-free variant of {@link #findListPageByRelevance}.
+     */
+    Slice<RecipeListResponse> findListSliceByRelevance(
+            Specification<Recipe> specification,
+            String booleanModeQuery,
+            Pageable pageable
+    );
+
+    long countList(Specification<Recipe> specification);
+
+    /**
+     * Recipe cards for the given ids in one {@code IN} query, in no particular order.
+     */
+    List<RecipeListResponse> findListByIds(Collection<Long> ids);
+
+    /**
+     * Keyset variant of {@link #findListPage}: recipe cards ordered by (createdAt, id) descending,
+     * strictly after the given position (or from the top when it is null), at most {@code limit} rows.
+     */
+    List<RecipeListResponse> findListAfter(
+            Specification<Recipe> specification,
+            LocalDateTime createdBefore,
+            Long idBefore,
+            int limit
+    );
+
+    /**
+     * Label names per recipe id from recipe_labels, one query; recipes without labels
+     * are absent from the map.
+     */
+    Map<Long, Set<String>> findLabelNames(Collection<Long> ids);
+
+    // --------------------
+    // Counters
+    // --------------------
+    // Plain SQL rather than JPQL bulk updates: a bulk update on Recipe evicts every cached
+    // Recipe.labels / Recipe.ingredients collection, which a view bump must not do.
+
+    /**
+     * Adds per-recipe view and favorite deltas in a single {@code UPDATE ... CASE}.
+     * Favorite counts never go below zero.
+     */
+    void applyCounterDeltas(Map<Long, Long> viewDeltas, Map<Long, Long> favoriteDeltas);
+
+    /**
+     * Applies one rating change to rating_sum, rating_count, the star buckets and the
+     * average, in one statement. {@code removedRating} / {@code addedRating} are null
+     * for an add / a delete; both are set for an update.
+     */
+    void applyRatingChange(Long id, Integer removedRating, Integer addedRating);
+
+    /**
+     * Stored and actual rating aggregates of the next {@code limit} recipes after
+     * {@code afterId}, in id order, from one grouped query over their ratings.
+     */
+    List<RatingTotals> findRatingTotals(long afterId, int limit);
+
+    /**
+     * Overwrites drifted rating aggregates with the actual ones, unless a rating change
+     * moved the stored values since they were read.
+     *
+     * @return {@code false} if the row changed concurrently and was left alone
+     */
+    boolean repairRatingTotals(RatingTotals totals);
+
+    /**
+     * @param storedStars  stored 1-5 star bucket counts, index 0 is one star
+     * @param actualStars  the same counted from the ratings table
+     */
+    record RatingTotals(
+            Long recipeId,
+            long storedSum,
+            long storedCount,
+            long[] storedStars,
+            long actualSum,
+            long actualCount,
+            long[] actualStars
+    ) {
+
+        public boolean drifted() {
+            return storedSum != actualSum
+                    || storedCount != actualCount
+                    || !Arrays.equals(storedStars, actualStars);
+        }
+    }
+
+    /**
+     * Counter and rating columns of the next {@code limit} recipes after {@code afterId},
+     * in id order, for rebuilding the in-memory leaderboards.
+     */
+    List<LeaderboardRow> findLeaderboardRows(long afterId, int limit);
+
+    record LeaderboardRow(long recipeId, long views, long favorites, long ratingSum, long ratingCount) {
+    }
+
+    // --------------------
+    // Full-text index
+    // --------------------
+
+    /**
+     * Ids of the next {@code limit} recipes after {@code afterId}, in id order.
+     */
+    List<Long> findIdsAfter(long afterId, int limit);
+
+    /**
+     * What the full-text index holds for each of the given recipes: text columns,
+     * ingredient names and label names, in three queries. Ids without a recipe are absent.
+     */
+    Map<Long, SearchDocument> findSearchDocuments(Collection<Long> ids);
+
+    /**
+     * Ids of recipes whose updated_at is at or after {@code since}; ingredient and label
+     * changes move it too (see {@link #touch}).
+     */
+    List<Long> findIdsUpdatedSince(LocalDateTime since);
+
+    record SearchDocument(
+            long recipeId,
+            long chefId,
+            String title,
+            String description,
+            String instructions,
+            String difficulty,
+            List<String> ingredients,
+            Set<String> labels
+    ) {
+    }
+
+    // --------------------
+    // Suggestions
+    // --------------------
+
+    /**
+     * Title, chef and counters of each of the given recipes, with the recipe's label names,
+     * for the typeahead index; two queries. Ids without a recipe are absent.
+     */
+    Map<Long, SuggestionRow> findSuggestionRows(Collection<Long> ids);
+
+    record SuggestionRow(
+            long recipeId,
+            String title,
+            long chefId,
+            String chefUsername,
+            long views,
+            long favorites,
+            Set<String> labels
+    ) {
+    }
+
+    // --------------------
+    // Facets
+    // --------------------
+
+    /**
+     * Recipes matching the specification per value of {@code facet}, in one grouped query:
+     * the {@code limit} largest buckets, ties by value. Recipes without a difficulty are not
+     * counted for {@link SearchFacet#DIFFICULTY}.
+     */
+    List<FacetCount> findFacetCounts(Specification<Recipe> specification, SearchFacet facet, int limit);
+
+    /**
+     * @param value what the search filter for the facet takes
+     * @param name  display name (the chef's username; the value itself otherwise)
+     */
+    record FacetCount(String value, String name, long count) {
+    }
+
+    /**
+     * Moves updated_at for changes that do not dirty the recipe row itself
+     * (ingredients, labels), so HTTP validators see them.
+     */
+    void touch(Long id);
+}
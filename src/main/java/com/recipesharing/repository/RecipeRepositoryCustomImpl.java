@@ -0,0 +1,545 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.request.SearchFacet;
+import com.recipesharing.dto.response.RecipeListResponse;
+import com.recipesharing.entity.Recipe;
+import com.recipesharing.entity.User;
+import com.recipesharing.repository.specification.RecipeSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+
+    // 1-5 star buckets, index 0 is one star
+    private static final String[] STAR_COLUMNS = {
+            "one_star_count", "two_star_count", "three_star_count", "four_star_count", "five_star_count"
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<RecipeListResponse> findListPage(Specification<Recipe> specification, Pageable pageable) {
+        List<RecipeListResponse> content = findListContent(specification, null, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> countList(specification));
+    }
+
+    @Override
+    public Slice<RecipeListResponse> findListSlice(Specification<Recipe> specification, Pageable pageable) {
+        return toSlice(findListContent(specification, null, pageable, 1), pageable);
+    }
+
+    @Override
+    public Page<RecipeListResponse> findListPageByRelevance(
+            Specification<Recipe> specification,
+            String booleanModeQuery,
+            Pageable pageable
+    ) {
+        List<RecipeListResponse> content = findListContent(specification, booleanModeQuery, pageable, 0);
+        return PageableExecutionUtils.getPage(content, pageable, () -> countList(specification));
+    }
+
+    @Override
+    public Slice<RecipeListResponse> findListSliceByRelevance(
+            Specification<Recipe> specification,
+            String booleanModeQuery,
+            Pageable pageable
+    ) {
+        return toSlice(findListContent(specification, booleanModeQuery, pageable, 1), pageable);
+    }
+
+    // content was read with one extra row
+    private static Slice<RecipeListResponse> toSlice(List<RecipeListResponse> content, Pageable pageable) {
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public List<RecipeListResponse> findListAfter(
+            Specification<Recipe> specification,
+            LocalDateTime createdBefore,
+            Long idBefore,
+            int limit
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeListResponse> query = cb.createQuery(RecipeListResponse.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(listColumns(cb, root));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = toPredicate(specification, root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (createdBefore != null) {
+            // (created_at, id) < (?, ?), written out so it can range-scan idx_recipes_created_at_id
+            predicates.add(cb.or(
+                    cb.lessThan(root.<LocalDateTime>get("createdAt"), createdBefore),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), createdBefore),
+                            cb.lessThan(root.<Long>get("id"), idBefore)
+                    )
+            ));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countList(Specification<Recipe> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        Predicate predicate = toPredicate(specification, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // specifications joining collections switch the query to distinct
+        if (query.isDistinct()) {
+            query.select(cb.countDistinct(root));
+            query.distinct(false);
+        } else {
+            query.select(cb.count(root));
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<RecipeListResponse> findListByIds(Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeListResponse> query = cb.createQuery(RecipeListResponse.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(listColumns(cb, root));
+        query.where(root.get("id").in(ids));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Map<Long, Set<String>> findLabelNames(Collection<Long> ids) {
+        Map<Long, Set<String>> names = new HashMap<>();
+        if (ids.isEmpty()) {
+            return names;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "select rl.recipe_id, l.name from recipe_labels rl join labels l on l.id = rl.label_id where rl.recipe_id in ("
+        );
+        String separator = "";
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(separator).append('?');
+            separator = ", ";
+        }
+        sql.append(')');
+
+        jdbcTemplate.query(
+                sql.toString(),
+                rs -> {
+                    names.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getString(2));
+                },
+                ids.toArray()
+        );
+        return names;
+    }
+
+    @Override
+    public void applyCounterDeltas(Map<Long, Long> viewDeltas, Map<Long, Long> favoriteDeltas) {
+        Set<Long> ids = new LinkedHashSet<>(viewDeltas.keySet());
+        ids.addAll(favoriteDeltas.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder("update recipes set ");
+        List<Object> args = new ArrayList<>(ids.size() * 5);
+        if (!viewDeltas.isEmpty()) {
+            sql.append("view_count = coalesce(view_count, 0) + ");
+            appendCase(sql, args, viewDeltas);
+        }
+        if (!favoriteDeltas.isEmpty()) {
+            sql.append(viewDeltas.isEmpty() ? "" : ", ");
+            sql.append("favorites_count = greatest(coalesce(favorites_count, 0) + ");
+            appendCase(sql, args, favoriteDeltas);
+            sql.append(", 0)");
+        }
+        sql.append(" where id in (");
+        String separator = "";
+        for (Long id : ids) {
+            sql.append(separator).append('?');
+            args.add(id);
+            separator = ", ";
+        }
+        sql.append(')');
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static void appendCase(StringBuilder sql, List<Object> args, Map<Long, Long> deltas) {
+        sql.append("case id");
+        deltas.forEach((id, delta) -> {
+            sql.append(" when ? then ?");
+            args.add(id);
+            args.add(delta);
+        });
+        sql.append(" else 0 end");
+    }
+
+    @Override
+    public void applyRatingChange(Long id, Integer removedRating, Integer addedRating) {
+        long sumDelta = 0;
+        long countDelta = 0;
+        long[] starDeltas = new long[STAR_COLUMNS.length];
+        if (removedRating != null) {
+            sumDelta -= removedRating;
+            countDelta--;
+            starDeltas[removedRating - 1]--;
+        }
+        if (addedRating != null) {
+            sumDelta += addedRating;
+            countDelta++;
+            starDeltas[addedRating - 1]++;
+        }
+
+        // the average goes first: MySQL evaluates single-table assignments left to right
+        StringBuilder sql = new StringBuilder("""
+                update recipes
+                set average_rating = case when rating_count + ? > 0
+                                          then round((rating_sum + ?) / (rating_count + ?), 1)
+                                          else 0 end,
+                    rating_sum = rating_sum + ?,
+                    rating_count = rating_count + ?""");
+        List<Object> args = new ArrayList<>(List.of(countDelta, sumDelta, countDelta, sumDelta, countDelta));
+        for (int star = 0; star < STAR_COLUMNS.length; star++) {
+            if (starDeltas[star] != 0) {
+                sql.append(", ").append(STAR_COLUMNS[star]).append(" = ").append(STAR_COLUMNS[star]).append(" + ?");
+                args.add(starDeltas[star]);
+            }
+        }
+        sql.append(" where id = ?");
+        args.add(id);
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public List<RatingTotals> findRatingTotals(long afterId, int limit) {
+        return jdbcTemplate.query("""
+                select r.id, r.rating_sum, r.rating_count,
+                       r.one_star_count, r.two_star_count, r.three_star_count, r.four_star_count, r.five_star_count,
+                       coalesce(sum(rt.rating), 0), count(rt.id),
+                       coalesce(sum(case when rt.rating = 1 then 1 else 0 end), 0),
+                       coalesce(sum(case when rt.rating = 2 then 1 else 0 end), 0),
+                       coalesce(sum(case when rt.rating = 3 then 1 else 0 end), 0),
+                       coalesce(sum(case when rt.rating = 4 then 1 else 0 end), 0),
+                       coalesce(sum(case when rt.rating = 5 then 1 else 0 end), 0)
+                from (select id, rating_sum, rating_count,
+                             one_star_count, two_star_count, three_star_count, four_star_count, five_star_count
+                      from recipes where id > ? order by id limit ?) r
+                left join ratings rt on rt.recipe_id = r.id
+                group by r.id, r.rating_sum, r.rating_count,
+                         r.one_star_count, r.two_star_count, r.three_star_count, r.four_star_count, r.five_star_count
+                order by r.id
+                """,
+                (rs, rowNum) -> new RatingTotals(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        new long[]{rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getLong(8)},
+                        rs.getLong(9),
+                        rs.getLong(10),
+                        new long[]{rs.getLong(11), rs.getLong(12), rs.getLong(13), rs.getLong(14), rs.getLong(15)}
+                ),
+                afterId, limit
+        );
+    }
+
+    @Override
+    public boolean repairRatingTotals(RatingTotals totals) {
+        BigDecimal average = totals.actualCount() == 0
+                ? BigDecimal.ZERO
+                : BigDecimal.valueOf(totals.actualSum())
+                        .divide(BigDecimal.valueOf(totals.actualCount()), 1, RoundingMode.HALF_UP);
+
+        long[] actual = totals.actualStars();
+        long[] stored = totals.storedStars();
+        return jdbcTemplate.update("""
+                update recipes
+                set rating_sum = ?, rating_count = ?, average_rating = ?,
+                    one_star_count = ?, two_star_count = ?, three_star_count = ?, four_star_count = ?, five_star_count = ?
+                where id = ? and rating_sum = ? and rating_count = ?
+                  and one_star_count = ? and two_star_count = ? and three_star_count = ?
+                  and four_star_count = ? and five_star_count = ?
+                """,
+                totals.actualSum(), totals.actualCount(), average,
+                actual[0], actual[1], actual[2], actual[3], actual[4],
+                totals.recipeId(), totals.storedSum(), totals.storedCount(),
+                stored[0], stored[1], stored[2], stored[3], stored[4]
+        ) > 0;
+    }
+
+    @Override
+    public List<LeaderboardRow> findLeaderboardRows(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "select id, coalesce(view_count, 0), favorites_count, rating_sum, rating_count"
+                        + " from recipes where id > ? order by id limit ?",
+                (rs, rowNum) -> new LeaderboardRow(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getLong(4),
+                        rs.getLong(5)
+                ),
+                afterId, limit
+        );
+    }
+
+    @Override
+    public List<Long> findIdsAfter(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "select id from recipes where id > ? order by id limit ?",
+                Long.class,
+                afterId, limit
+        );
+    }
+
+    @Override
+    public Map<Long, SearchDocument> findSearchDocuments(Collection<Long> ids) {
+        Map<Long, SearchDocument> documents = new HashMap<>();
+        if (ids.isEmpty()) {
+            return documents;
+        }
+        String in = placeholders(ids.size());
+
+        Map<Long, List<String>> ingredients = new HashMap<>();
+        jdbcTemplate.query(
+                "select recipe_id, name from ingredients where recipe_id in (" + in + ") order by recipe_id, display_order",
+                rs -> {
+                    ingredients.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+                },
+                ids.toArray()
+        );
+        Map<Long, Set<String>> labels = findLabelNames(ids);
+
+        jdbcTemplate.query(
+                "select id, chef_id, title, description, instructions, difficulty from recipes where id in (" + in + ")",
+                rs -> {
+                    long id = rs.getLong(1);
+                    documents.put(id, new SearchDocument(
+                            id,
+                            rs.getLong(2),
+                            rs.getString(3),
+                            rs.getString(4),
+                            rs.getString(5),
+                            rs.getString(6),
+                            ingredients.getOrDefault(id, List.of()),
+                            labels.getOrDefault(id, Set.of())
+                    ));
+                },
+                ids.toArray()
+        );
+        return documents;
+    }
+
+    @Override
+    public List<Long> findIdsUpdatedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList("select id from recipes where updated_at >= ?", Long.class, since);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @Override
+    public Map<Long, SuggestionRow> findSuggestionRows(Collection<Long> ids) {
+        Map<Long, SuggestionRow> rows = new HashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        Map<Long, Set<String>> labels = findLabelNames(ids);
+
+        jdbcTemplate.query(
+                """
+                        select r.id, r.title, r.chef_id, u.username, coalesce(r.view_count, 0), r.favorites_count
+                        from recipes r
+                        join users u on u.id = r.chef_id
+                        where r.id in (""" + placeholders(ids.size()) + ")",
+                rs -> {
+                    long id = rs.getLong(1);
+                    rows.put(id, new SuggestionRow(
+                            id,
+                            rs.getString(2),
+                            rs.getLong(3),
+                            rs.getString(4),
+                            rs.getLong(5),
+                            rs.getLong(6),
+                            labels.getOrDefault(id, Set.of())
+                    ));
+                },
+                ids.toArray()
+        );
+        return rows;
+    }
+
+    @Override
+    public List<FacetCount> findFacetCounts(Specification<Recipe> specification, SearchFacet facet, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Recipe> root = query.from(Recipe.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = toPredicate(specification, root, query, cb);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+
+        Expression<?> value;
+        Expression<?> name;
+        switch (facet) {
+            case LABELS -> {
+                Join<Recipe, ?> label = root.join("labels");
+                value = label.get("name");
+                name = value;
+            }
+            case DIFFICULTY -> {
+                value = root.get("difficulty");
+                name = value;
+                predicates.add(cb.isNotNull(value));
+            }
+            case CHEF -> {
+                Join<Recipe, User> chef = root.join("chef");
+                value = chef.get("id");
+                name = chef.get("username");
+            }
+            default -> throw new IllegalArgumentException("Unknown facet " + facet);
+        }
+
+        Expression<Long> count = cb.count(root);
+        query.multiselect(value, name, count)
+                .where(predicates.toArray(Predicate[]::new))
+                .groupBy(value, name)
+                .orderBy(cb.desc(count), cb.asc(value));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> new FacetCount(
+                        String.valueOf(row.get(0)),
+                        String.valueOf(row.get(1)),
+                        row.get(2, Long.class)
+                ))
+                .toList();
+    }
+
+    @Override
+    public void touch(Long id) {
+        jdbcTemplate.update(
+                "update recipes set updated_at = ? where id = ?",
+                LocalDateTime.now(), id
+        );
+    }
+
+    // ordered by relevance to booleanModeQuery when it is set, otherwise by the pageable's sort
+    private List<RecipeListResponse> findListContent(
+            Specification<Recipe> specification,
+            String booleanModeQuery,
+            Pageable pageable,
+            int extraRows
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RecipeListResponse> query = cb.createQuery(RecipeListResponse.class);
+        Root<Recipe> root = query.from(Recipe.class);
+
+        query.select(listColumns(cb, root));
+        Predicate predicate = toPredicate(specification, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (booleanModeQuery != null) {
+            query.orderBy(
+                    cb.desc(RecipeSpecification.relevance(root, cb, booleanModeQuery)),
+                    cb.desc(root.get("id"))
+            );
+        } else {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<RecipeListResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + extraRows);
+        }
+
+        return typedQuery.getResultList();
+    }
+
+    private static CompoundSelection<RecipeListResponse> listColumns(CriteriaBuilder cb, Root<Recipe> root) {
+        Join<Recipe, User> chef = root.join("chef");
+
+        return cb.construct(
+                RecipeListResponse.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("prepTime"),
+                root.get("cookTime"),
+                root.get("servings"),
+                root.get("difficulty"),
+                root.get("createdAt"),
+                root.get("thumbnailUrl"),
+                chef.get("username")
+        );
+    }
+
+    private static Predicate toPredicate(
+            Specification<Recipe> specification,
+            Root<Recipe> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb
+    ) {
+        return specification == null ? null : specification.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,7 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.RecipeStatsDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecipeStatsRepository extends JpaRepository<RecipeStatsDaily, RecipeStatsDaily.Key>, RecipeStatsRepositoryCustom {
+}
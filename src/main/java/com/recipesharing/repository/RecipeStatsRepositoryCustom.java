@@ -0,0 +1,41 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.response.StatsBucketResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rollup tables are written with multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE}
+ * that add to the existing counters, and read without touching recipe_views or favorites.
+ */
+public interface RecipeStatsRepositoryCustom {
+
+    void upsertHourly(Collection<StatsDelta> deltas);
+
+    /**
+     * @param deltas deltas whose {@code periodStart} is the start of their day
+     */
+    void upsertDaily(Collection<StatsDelta> deltas);
+
+    List<StatsBucketResponse> findDailyByRecipe(Long recipeId, LocalDate from);
+
+    List<StatsBucketResponse> findHourlyByRecipe(Long recipeId, LocalDateTime from);
+
+    /**
+     * Daily totals over all recipes of one chef.
+     */
+    List<StatsBucketResponse> findDailyByChef(Long chefId, LocalDate from);
+
+    /**
+     * Deletes at most {@code limit} hourly rows older than {@code cutoff}.
+     */
+    int deleteHourlyBefore(LocalDateTime cutoff, int limit);
+
+    void deleteByRecipeId(Long recipeId);
+
+    record StatsDelta(Long recipeId, LocalDateTime periodStart, long views, long favoritesAdded, long favoritesRemoved) {
+    }
+}
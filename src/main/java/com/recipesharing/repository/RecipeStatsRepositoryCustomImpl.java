@@ -0,0 +1,120 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.response.StatsBucketResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class RecipeStatsRepositoryCustomImpl implements RecipeStatsRepositoryCustom {
+
+    // rows per INSERT statement
+    private static final int UPSERT_CHUNK = 500;
+
+    private static final RowMapper<StatsBucketResponse> BUCKET = (rs, rowNum) -> new StatsBucketResponse(
+            rs.getObject(1, LocalDateTime.class),
+            rs.getLong(2),
+            rs.getLong(3),
+            rs.getLong(4)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeStatsRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertHourly(Collection<StatsDelta> deltas) {
+        upsert("recipe_stats_hourly", "stat_hour", deltas, false);
+    }
+
+    @Override
+    public void upsertDaily(Collection<StatsDelta> deltas) {
+        upsert("recipe_stats_daily", "stat_date", deltas, true);
+    }
+
+    @Override
+    public List<StatsBucketResponse> findDailyByRecipe(Long recipeId, LocalDate from) {
+        return jdbcTemplate.query("""
+                select timestamp(stat_date), views, favorites_added, favorites_removed
+                from recipe_stats_daily
+                where recipe_id = ? and stat_date >= ?
+                order by stat_date
+                """,
+                BUCKET, recipeId, from
+        );
+    }
+
+    @Override
+    public List<StatsBucketResponse> findHourlyByRecipe(Long recipeId, LocalDateTime from) {
+        return jdbcTemplate.query("""
+                select stat_hour, views, favorites_added, favorites_removed
+                from recipe_stats_hourly
+                where recipe_id = ? and stat_hour >= ?
+                order by stat_hour
+                """,
+                BUCKET, recipeId, from
+        );
+    }
+
+    @Override
+    public List<StatsBucketResponse> findDailyByChef(Long chefId, LocalDate from) {
+        return jdbcTemplate.query("""
+                select timestamp(d.stat_date), sum(d.views), sum(d.favorites_added), sum(d.favorites_removed)
+                from recipe_stats_daily d
+                join recipes r on r.id = d.recipe_id
+                where r.chef_id = ? and d.stat_date >= ?
+                group by d.stat_date
+                order by d.stat_date
+                """,
+                BUCKET, chefId, from
+        );
+    }
+
+    @Override
+    public int deleteHourlyBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(
+                "delete from recipe_stats_hourly where stat_hour < ? limit ?",
+                cutoff, limit
+        );
+    }
+
+    @Override
+    public void deleteByRecipeId(Long recipeId) {
+        jdbcTemplate.update("delete from recipe_stats_hourly where recipe_id = ?", recipeId);
+        jdbcTemplate.update("delete from recipe_stats_daily where recipe_id = ?", recipeId);
+    }
+
+    private void upsert(String table, String periodColumn, Collection<StatsDelta> deltas, boolean daily) {
+        List<StatsDelta> rows = new ArrayList<>(deltas);
+        for (int from = 0; from < rows.size(); from += UPSERT_CHUNK) {
+            List<StatsDelta> chunk = rows.subList(from, Math.min(from + UPSERT_CHUNK, rows.size()));
+
+            StringBuilder sql = new StringBuilder("insert into ").append(table)
+                    .append(" (recipe_id, ").append(periodColumn)
+                    .append(", views, favorites_added, favorites_removed) values ");
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            String separator = "";
+            for (StatsDelta delta : chunk) {
+                sql.append(separator).append("(?, ?, ?, ?, ?)");
+                args.add(delta.recipeId());
+                args.add(daily ? delta.periodStart().toLocalDate() : delta.periodStart());
+                args.add(delta.views());
+                args.add(delta.favoritesAdded());
+                args.add(delta.favoritesRemoved());
+                separator = ", ";
+            }
+            sql.append(" as new on duplicate key update")
+                    .append(" views = ").append(table).append(".views + new.views,")
+                    .append(" favorites_added = ").append(table).append(".favorites_added + new.favorites_added,")
+                    .append(" favorites_removed = ").append(table).append(".favorites_removed + new.favorites_removed");
+
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.RecipeTrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecipeTrendingScoreRepository extends JpaRepository<RecipeTrendingScore, Long>, RecipeTrendingScoreRepositoryCustom {
+}
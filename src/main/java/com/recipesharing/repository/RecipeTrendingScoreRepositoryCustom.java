@@ -0,0 +1,13 @@
+package com.recipesharing.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface RecipeTrendingScoreRepositoryCustom {
+
+    /**
+     * Makes {@code scores} the whole snapshot: upserts them with {@code scoredAt} and
+     * deletes every row not written by this call.
+     */
+    void replaceAll(Map<Long, Double> scores, LocalDateTime scoredAt);
+}
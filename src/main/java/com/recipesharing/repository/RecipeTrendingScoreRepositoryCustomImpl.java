@@ -0,0 +1,36 @@
+package com.recipesharing.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class RecipeTrendingScoreRepositoryCustomImpl implements RecipeTrendingScoreRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeTrendingScoreRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void replaceAll(Map<Long, Double> scores, LocalDateTime scoredAt) {
+        // whole seconds, so the column precision cannot make the cleanup below miss rows
+        LocalDateTime stamp = scoredAt.truncatedTo(ChronoUnit.SECONDS);
+
+        List<Object[]> rows = new ArrayList<>(scores.size());
+        scores.forEach((recipeId, score) -> rows.add(new Object[]{recipeId, score, stamp}));
+
+        jdbcTemplate.batchUpdate("""
+                insert into recipe_trending_scores (recipe_id, score, scored_at)
+                values (?, ?, ?) as new
+                on duplicate key update score = new.score, scored_at = new.scored_at
+                """,
+                rows
+        );
+        jdbcTemplate.update("delete from recipe_trending_scores where scored_at <> ?", stamp);
+    }
+}
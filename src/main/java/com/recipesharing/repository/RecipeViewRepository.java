@@ -7,14 +7,19 @@ import com.recipesharing.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface RecipeViewRepository extends JpaRepository<RecipeView, Long> {
+public interface RecipeViewRepository extends JpaRepository<RecipeView, Long>, RecipeViewRepositoryCustom {
     Optional<RecipeView> findByUserAndRecipe(User user, Recipe recipe);
 
     boolean existsByUserAndRecipe(User user, Recipe recipe);
 
     Page<RecipeView> findAllByRecipeId(Long recipeId, Pageable pageable);
+
+    @Query("select v.user.id from RecipeView v where v.recipe.id = :recipeId")
+    List<Long> findUserIdsByRecipeId(Long recipeId);
 }
 
@@ -0,0 +1,41 @@
+package com.recipesharing.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface RecipeViewRepositoryCustom {
+
+    /**
+     * One multi-row {@code INSERT IGNORE} of views of a recipe, each with its own time;
+     * pairs that already exist are skipped by the (user_id, recipe_id) unique key.
+     *
+     * @return the number of rows actually inserted, i.e. the new unique views
+     */
+    int insertIgnore(Long recipeId, Map<Long, LocalDateTime> viewedAtByUser);
+
+    // --------------------
+    // Compaction
+    // --------------------
+
+    /**
+     * The next {@code limit} rows after {@code afterId} in id order, i.e. oldest first.
+     */
+    List<ViewRow> findChunkAfter(long afterId, int limit);
+
+    /**
+     * Adds per-recipe counts of compacted rows to recipe_view_archive.
+     */
+    void foldIntoArchive(Map<Long, Long> viewsByRecipe, Map<Long, LocalDateTime> lastViewedByRecipe, LocalDateTime compactedAt);
+
+    /**
+     * Deletes rows by id; callers pass at most one chunk.
+     */
+    int deleteByIds(Collection<Long> ids);
+
+    void deleteArchiveByRecipeId(Long recipeId);
+
+    record ViewRow(long id, long recipeId, LocalDateTime viewedAt) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.recipesharing.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class RecipeViewRepositoryCustomImpl implements RecipeViewRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeViewRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertIgnore(Long recipeId, Map<Long, LocalDateTime> viewedAtByUser) {
+        if (viewedAtByUser.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("insert ignore into recipe_views (user_id, recipe_id, viewed_at) values ");
+        List<Object> args = new ArrayList<>(viewedAtByUser.size() * 3);
+        String separator = "";
+        for (Map.Entry<Long, LocalDateTime> view : viewedAtByUser.entrySet()) {
+            sql.append(separator).append("(?, ?, ?)");
+            args.add(view.getKey());
+            args.add(recipeId);
+            args.add(view.getValue());
+            separator = ", ";
+        }
+
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public List<ViewRow> findChunkAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "select id, recipe_id, viewed_at from recipe_views where id > ? order by id limit ?",
+                (rs, rowNum) -> new ViewRow(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getObject(3, LocalDateTime.class)
+                ),
+                afterId, limit
+        );
+    }
+
+    @Override
+    public void foldIntoArchive(
+            Map<Long, Long> viewsByRecipe,
+            Map<Long, LocalDateTime> lastViewedByRecipe,
+            LocalDateTime compactedAt
+    ) {
+        if (viewsByRecipe.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "insert into recipe_view_archive (recipe_id, compacted_views, last_viewed_at, compacted_at) values "
+        );
+        List<Object> args = new ArrayList<>(viewsByRecipe.size() * 4);
+        String separator = "";
+        for (Map.Entry<Long, Long> entry : viewsByRecipe.entrySet()) {
+            sql.append(separator).append("(?, ?, ?, ?)");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+            args.add(lastViewedByRecipe.get(entry.getKey()));
+            args.add(compactedAt);
+            separator = ", ";
+        }
+        sql.append(" as new on duplicate key update")
+                .append(" compacted_views = recipe_view_archive.compacted_views + new.compacted_views,")
+                .append(" last_viewed_at = greatest(coalesce(recipe_view_archive.last_viewed_at, new.last_viewed_at),")
+                .append(" coalesce(new.last_viewed_at, recipe_view_archive.last_viewed_at)),")
+                .append(" compacted_at = new.compacted_at");
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder("delete from recipe_views where id in (");
+        String separator = "";
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(separator).append('?');
+            separator = ", ";
+        }
+        sql.append(')');
+
+        return jdbcTemplate.update(sql.toString(), ids.toArray());
+    }
+
+    @Override
+    public void deleteArchiveByRecipeId(Long recipeId) {
+        jdbcTemplate.update("delete from recipe_view_archive where recipe_id = ?", recipeId);
+    }
+}
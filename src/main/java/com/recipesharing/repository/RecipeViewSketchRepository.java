@@ -0,0 +1,7 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.RecipeViewSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecipeViewSketchRepository extends JpaRepository<RecipeViewSketch, Long>, RecipeViewSketchRepositoryCustom {
+}
@@ -0,0 +1,16 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.RecipeViewSketch;
+
+import java.util.List;
+
+public interface RecipeViewSketchRepositoryCustom {
+
+    /**
+     * Upserts the sketches of recipes that still exist. A sketch whose recipe is gone
+     * (views of it were still queued when it was deleted) is skipped, not left behind.
+     */
+    void saveForExistingRecipes(List<RecipeViewSketch> sketches);
+
+    void deleteByRecipeId(Long recipeId);
+}
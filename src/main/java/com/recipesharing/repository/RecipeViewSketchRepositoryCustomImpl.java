@@ -0,0 +1,45 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.RecipeViewSketch;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecipeViewSketchRepositoryCustomImpl implements RecipeViewSketchRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeViewSketchRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void saveForExistingRecipes(List<RecipeViewSketch> sketches) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>(sketches.size());
+        for (RecipeViewSketch sketch : sketches) {
+            rows.add(new Object[]{
+                    sketch.getViewersHll(), sketch.getViewersBloom(), now, sketch.getRecipeId(),
+                    sketch.getViewersHll(), sketch.getViewersBloom(), now
+            });
+        }
+
+        // the select locks the recipe row, so this waits for a concurrent delete and then
+        // writes nothing
+        jdbcTemplate.batchUpdate("""
+                insert into recipe_view_sketches (recipe_id, viewers_hll, viewers_bloom, updated_at)
+                select id, ?, ?, ? from recipes where id = ?
+                on duplicate key update viewers_hll = ?, viewers_bloom = ?, updated_at = ?
+                """,
+                rows
+        );
+    }
+
+    @Override
+    public void deleteByRecipeId(Long recipeId) {
+        jdbcTemplate.update("delete from recipe_view_sketches where recipe_id = ?", recipeId);
+    }
+}
@@ -1,14 +1,29 @@
 package com.recipesharing.repository;
 
 import com.recipesharing.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Runs on every authenticated request (JWT filter); the query result and the User
+     * entity are both served from the second-level cache.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-users")
+    })
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    Slice<User> findAllBy(Pageable pageable);
 }
 
@@ -1,14 +1,31 @@
 package com.recipesharing.repository.specification;
 
+import com.recipesharing.dto.request.LabelFilterMode;
 import com.recipesharing.entity.Label;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.RecipeDifficulty;
+import com.recipesharing.repository.MySqlFunctionContributor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class RecipeSpecification {
+
+    // innodb_ft_min_token_size: shorter words are not in the full-text index and never match
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     public static Specification<Recipe> hasKeyword(String keyword) {
         return (root, query, cb) -> {
 
@@ -25,6 +42,70 @@ public class RecipeSpecification {
         };
     }
 
+    /**
+     * Full-text variant of {@link #hasKeyword}: recipes whose title, description or instructions
+     * match {@code booleanModeQuery} (see {@link #booleanModeQuery}) in the InnoDB FULLTEXT index.
+     */
+    public static Specification<Recipe> matchesKeyword(String booleanModeQuery) {
+        return (root, query, cb) -> {
+
+            if (booleanModeQuery == null) {
+                return cb.conjunction();
+            }
+
+            return cb.greaterThan(relevance(root, cb, booleanModeQuery), 0.0);
+        };
+    }
+
+    /**
+     * MATCH ... AGAINST relevance of a recipe for {@code booleanModeQuery}, for ordering; the
+     * same expression as {@link #matchesKeyword}, so MySQL evaluates it once per row.
+     */
+    public static Expression<Double> relevance(Root<Recipe> root, CriteriaBuilder cb, String booleanModeQuery) {
+        return cb.function(
+                MySqlFunctionContributor.MATCH_AGAINST,
+                Double.class,
+                root.get("title"),
+                root.get("description"),
+                root.get("instructions"),
+                cb.literal(booleanModeQuery)
+        );
+    }
+
+    /**
+     * Boolean-mode query requiring every word of {@code keyword}, each as a prefix
+     * ({@code "tomato soup"} becomes {@code "+tomato* +soup*"}). Operators typed by the user are
+     * dropped with the rest of the punctuation. Null when no word is long enough to be indexed.
+     */
+    public static String booleanModeQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(keyword.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        return words.stream().map(word -> "+" + word + "*").collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Recipes among {@code ids}, e.g. the matches of a full-text index search.
+     */
+    public static Specification<Recipe> hasIds(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Recipe> lacksIds(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.conjunction() : cb.not(root.get("id").in(ids));
+    }
+
     public static Specification<Recipe> hasChef(Long chefId) {
         return (root, query, cb) -> {
 
@@ -47,19 +128,33 @@ public class RecipeSpecification {
         };
     }
 
-    public static Specification<Recipe> hasLabels(List<String> labels) {
+    /**
+     * Recipes with any, all or none of the labels. SQL form of the label filter, for when
+     * {@link com.recipesharing.service.RecipeLabelIndex} cannot answer it.
+     */
+    public static Specification<Recipe> hasLabels(List<String> labels, LabelFilterMode mode) {
         return (root, query, cb) -> {
 
             if (labels == null || labels.isEmpty()) {
                 return cb.conjunction();
             }
 
+            // a subquery rather than a join, so the outer query needs no distinct and can
+            // still be ordered by expressions outside the select list (e.g. relevance)
             assert query != null;
-            query.distinct(true);
-
-            Join<Recipe, Label> labelJoin = root.join("labels");
+            Subquery<Long> labelled = query.subquery(Long.class);
+            Root<Recipe> recipe = labelled.from(Recipe.class);
+            Join<Recipe, Label> labelJoin = recipe.join("labels");
+            labelled.select(recipe.get("id")).where(labelJoin.get("name").in(labels));
+
+            if (mode == LabelFilterMode.ALL) {
+                labelled.groupBy(recipe.get("id"))
+                        .having(cb.equal(cb.countDistinct(labelJoin.get("name")), (long) Set.copyOf(labels).size()));
+            }
 
-            return labelJoin.get("name").in(labels);
+            return mode == LabelFilterMode.NONE
+                    ? cb.not(root.get("id").in(labelled))
+                    : root.get("id").in(labelled);
         };
     }
 
@@ -0,0 +1,140 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ChefStatsConfig;
+import com.recipesharing.dto.response.ChefStatsResponse;
+import com.recipesharing.entity.ChefStats;
+import com.recipesharing.entity.User;
+import com.recipesharing.exception.ResourceNotFoundException;
+import com.recipesharing.repository.ChefStatsRepository;
+import com.recipesharing.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chef dashboard totals from the {@code chef_stats} read model, one primary-key lookup
+ * per request. The table is kept current by deltas (see {@link RecipeStatisticsService}
+ * and {@link RecipeCounterAggregator}); {@link #rebuild} recomputes it from recipes.
+ */
+@Service
+public class ChefStatsService {
+
+    private final Logger logger = LoggerFactory.getLogger(ChefStatsService.class);
+
+    private final ChefStatsConfig config;
+    private final ChefStatsRepository chefStatsRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+
+    public ChefStatsService(
+            ChefStatsConfig config,
+            ChefStatsRepository chefStatsRepository,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.chefStatsRepository = chefStatsRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildTimer = meterRegistry.timer("chef-stats.rebuild");
+    }
+
+    // =====================================================
+    // READ
+    // =====================================================
+
+    @Transactional(readOnly = true)
+    public ChefStatsResponse getStats(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+
+        ChefStats stats = chefStatsRepository.findById(user.getId())
+                .orElseGet(() -> ChefStats.builder().chefId(user.getId()).build());
+
+        BigDecimal averageRating = stats.getRatingCount() == 0
+                ? null
+                : BigDecimal.valueOf(stats.getRatingSum())
+                        .divide(BigDecimal.valueOf(stats.getRatingCount()), 1, RoundingMode.HALF_UP);
+
+        return new ChefStatsResponse(
+                user.getUsername(),
+                stats.getRecipeCount(),
+                stats.getTotalViews(),
+                stats.getTotalFavorites(),
+                stats.getRatingCount(),
+                averageRating
+        );
+    }
+
+    // =====================================================
+    // REBUILD
+    // =====================================================
+
+    /**
+     * Fills an empty table (first start with chef_stats) from the recipes already there.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (chefStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes every chef's totals from recipes. Chef ids are cut into ranges of
+     * {@code rebuild-chunk-size}, recomputed {@code rebuild-parallelism} at a time, each in
+     * its own transaction that share-locks the range's recipes, so deltas for those recipes
+     * wait for the chunk instead of being overwritten by it.
+     *
+     * @return number of chunks
+     */
+    public synchronized int rebuild() {
+        long maxChefId = chefStatsRepository.findMaxChefId();
+        int chunkSize = config.getRebuildChunkSize();
+
+        return rebuildTimer.record(() -> {
+            ExecutorService executor = Executors.newFixedThreadPool(config.getRebuildParallelism());
+            try {
+                List<Future<Integer>> chunks = new ArrayList<>();
+                for (long from = 1; from <= maxChefId; from += chunkSize) {
+                    long start = from;
+                    chunks.add(executor.submit(() -> transactionTemplate.execute(
+                            status -> chefStatsRepository.rebuildRange(start, start + chunkSize)
+                    )));
+                }
+
+                long chefs = 0;
+                for (Future<Integer> chunk : chunks) {
+                    Integer rebuilt = chunk.get();
+                    chefs += rebuilt == null ? 0 : rebuilt;
+                }
+                logger.info("Rebuilt chef stats for {} chefs in {} chunks", chefs, chunks.size());
+                return chunks.size();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Chef stats rebuild interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Chef stats rebuild failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.recipesharing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipesharing.config.FavoriteIndexConfig;
+import com.recipesharing.dto.response.RecipeListResponse;
+import com.recipesharing.entity.User;
+import com.recipesharing.event.FavoriteChangedEvent;
+import com.recipesharing.repository.FavoriteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+
+/**
+ * Favorite recipe ids per user as a sorted {@code long[]}, loaded on first use and
+ * dropped after the configured idle time. Arrays are never mutated in place: a change
+ * swaps in a new copy, so readers need no locking. Only users already in the index
+ * are updated, everyone else is loaded fresh from the database on their next read.
+ */
+@Service
+public class FavoriteIndex {
+
+    private final Cache<Long, long[]> cache;
+    private final FavoriteRepository favoriteRepository;
+
+    public FavoriteIndex(
+            FavoriteIndexConfig config,
+            FavoriteRepository favoriteRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.favoriteRepository = favoriteRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterAccess(config.getIdleTimeout())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "favoriteIndex");
+    }
+
+    public boolean isFavorite(Long userId, Long recipeId) {
+        return Arrays.binarySearch(favoritesOf(userId), recipeId) >= 0;
+    }
+
+    /**
+     * Fills {@code isFavorite} on each card; anonymous users get {@code false} everywhere.
+     */
+    public void markFavorites(User user, Iterable<RecipeListResponse> cards) {
+        long[] favorites = user == null ? new long[0] : favoritesOf(user.getId());
+        for (RecipeListResponse card : cards) {
+            card.setIsFavorite(Arrays.binarySearch(favorites, card.getId()) >= 0);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        cache.asMap().computeIfPresent(event.userId(), (userId, favorites) -> event.added()
+                ? with(favorites, event.recipeId())
+                : without(favorites, event.recipeId()));
+    }
+
+    private long[] favoritesOf(Long userId) {
+        return cache.get(userId, id -> favoriteRepository.findRecipeIdsByUserId(id)
+                .stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray());
+    }
+
+    private static long[] with(long[] favorites, long recipeId) {
+        int index = Arrays.binarySearch(favorites, recipeId);
+        if (index >= 0) {
+            return favorites;
+        }
+        int insertAt = -index - 1;
+        long[] copy = new long[favorites.length + 1];
+        System.arraycopy(favorites, 0, copy, 0, insertAt);
+        copy[insertAt] = recipeId;
+        System.arraycopy(favorites, insertAt, copy, insertAt + 1, favorites.length - insertAt);
+        return copy;
+    }
+
+    private static long[] without(long[] favorites, long recipeId) {
+        int index = Arrays.binarySearch(favorites, recipeId);
+        if (index < 0) {
+            return favorites;
+        }
+        long[] copy = new long[favorites.length - 1];
+        System.arraycopy(favorites, 0, copy, 0, index);
+        System.arraycopy(favorites, index + 1, copy, index, favorites.length - index - 1);
+        return copy;
+    }
+}
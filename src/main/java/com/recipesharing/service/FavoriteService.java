@@ -1,19 +1,28 @@
 package com.recipesharing.service;
 
 import com.recipesharing.dto.mapper.RecipeMapper;
+import com.recipesharing.dto.request.TotalMode;
+import com.recipesharing.dto.response.CursorPageResponse;
 import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.entity.Favorite;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
+import com.recipesharing.event.FavoriteChangedEvent;
+import com.recipesharing.event.RecipeChangedEvent;
 import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.FavoriteRepository;
 import com.recipesharing.repository.RecipeRepository;
-import org.springframework.data.domain.Page;
+import com.recipesharing.util.CursorUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 public class FavoriteService {
 
@@ -21,17 +30,26 @@ public class FavoriteService {
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
     private final RecipeStatisticsService recipeStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorUtils cursorUtils;
+    private final PagingService pagingService;
 
     public FavoriteService(
             FavoriteRepository favoriteRepository,
             RecipeRepository recipeRepository,
             RecipeMapper recipeMapper,
-            RecipeStatisticsService recipeStatisticsService
+            RecipeStatisticsService recipeStatisticsService,
+            ApplicationEventPublisher eventPublisher,
+            CursorUtils cursorUtils,
+            PagingService pagingService
     ) {
         this.favoriteRepository = favoriteRepository;
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
         this.recipeStatisticsService = recipeStatisticsService;
+        this.eventPublisher = eventPublisher;
+        this.cursorUtils = cursorUtils;
+        this.pagingService = pagingService;
     }
 
     // ============================
@@ -57,6 +75,8 @@ public class FavoriteService {
         favoriteRepository.save(favorite);
 
         recipeStatisticsService.increaseFavorites(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(FavoriteChangedEvent.added(user.getId(), recipeId));
     }
 
     // ============================
@@ -79,6 +99,8 @@ public class FavoriteService {
         favoriteRepository.delete(favorite);
 
         recipeStatisticsService.decreaseFavorites(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(FavoriteChangedEvent.removed(user.getId(), recipeId));
     }
 
     // ============================
@@ -86,13 +108,42 @@ public class FavoriteService {
     // ============================
 
     @Transactional(readOnly = true)
-    public Page<RecipeListResponse> getUserFavorites(User user, Pageable pageable) {
+    public Slice<RecipeListResponse> getUserFavorites(User user, Pageable pageable, TotalMode totalMode) {
+
+        Slice<Favorite> favoritesPage = pagingService.page(
+                totalMode,
+                "favorites|user:" + user.getId(),
+                () -> favoriteRepository.findAllByUser(user, pageable),
+                () -> favoriteRepository.findSliceByUser(user, pageable),
+                () -> favoriteRepository.countByUser(user)
+        );
 
-        Page<Favorite> favoritesPage =
-                favoriteRepository.findAllByUser(user, pageable);
+        return favoritesPage.map(this::toFavoriteCard);
+    }
 
-        return favoritesPage.map(
-                favorite -> recipeMapper.toRecipeListResponse(favorite.getRecipe())
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RecipeListResponse> getUserFavorites(User user, String cursor, int size) {
+
+        CursorUtils.Cursor after = cursorUtils.decode(cursor);
+        int limit = cursorUtils.validateSize(size);
+        PageRequest window = PageRequest.ofSize(limit + 1);
+
+        List<Favorite> rows = after == null
+                ? favoriteRepository.findLatestByUser(user, window)
+                : favoriteRepository.findByUserBefore(user, after.createdAt(), after.id(), window);
+
+        return cursorUtils.page(
+                rows,
+                limit,
+                this::toFavoriteCard,
+                Favorite::getCreatedAt,
+                Favorite::getId
         );
     }
+
+    private RecipeListResponse toFavoriteCard(Favorite favorite) {
+        RecipeListResponse card = recipeMapper.toRecipeListResponse(favorite.getRecipe());
+        card.setIsFavorite(true);
+        return card;
+    }
 }
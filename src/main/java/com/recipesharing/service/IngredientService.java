@@ -4,16 +4,22 @@ import com.recipesharing.dto.mapper.RecipeMapper;
 import com.recipesharing.dto.request.CreateIngredientRequest;
 import com.recipesharing.dto.request.UpdateIngredientRequest;
 import com.recipesharing.dto.response.IngredientResponse;
+import com.recipesharing.dto.version.RecipeVersion;
+import com.recipesharing.dto.version.Versioned;
 import com.recipesharing.entity.Ingredient;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
+import com.recipesharing.event.RecipeChangedEvent;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.IngredientRepository;
 import com.recipesharing.repository.RecipeRepository;
 import com.recipesharing.util.ValidationUti;
+import com.recipesharing.web.ResourceVersion;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -22,26 +28,48 @@ public class IngredientService {
     private final IngredientRepository ingredientRepository;
     private final RecipeMapper recipeMapper;
     private final ValidationUti validationUti;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IngredientService(RecipeRepository recipeRepository, IngredientRepository ingredientRepository, RecipeMapper recipeMapper, ValidationUti validationUti) {
+    public IngredientService(RecipeRepository recipeRepository, IngredientRepository ingredientRepository, RecipeMapper recipeMapper, ValidationUti validationUti, ApplicationEventPublisher eventPublisher) {
         this.recipeRepository = recipeRepository;
         this.ingredientRepository = ingredientRepository;
         this.recipeMapper = recipeMapper;
         this.validationUti = validationUti;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public List<IngredientResponse> getIngredientsByRecipeId(Long recipeId) {
+    public Versioned<List<IngredientResponse>> getIngredientsByRecipeId(Long recipeId) {
 
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findWithIngredientsById(recipeId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Recipe not found with id: " + recipeId)
                 );
 
-        return recipe.getIngredients()
+        List<IngredientResponse> ingredients = recipe.getIngredients()
                 .stream()
                 .map(recipeMapper::toIngredientResponse)
                 .toList();
+
+        return new Versioned<>(ingredients, ingredientsVersion(recipeId, recipe.getUpdatedAt()));
+    }
+
+    /**
+     * Version of the ingredient list without loading it: every ingredient write touches the recipe.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getIngredientsVersion(Long recipeId) {
+
+        RecipeVersion version = recipeRepository.findVersionById(recipeId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Recipe not found with id: " + recipeId)
+                );
+
+        return ingredientsVersion(recipeId, version.updatedAt());
+    }
+
+    private static ResourceVersion ingredientsVersion(Long recipeId, LocalDateTime updatedAt) {
+        return ResourceVersion.of(updatedAt, "ingredients", recipeId, updatedAt);
     }
 
     @Transactional
@@ -62,6 +90,8 @@ public class IngredientService {
         ingredient.setRecipe(recipe);
 
         ingredientRepository.save(ingredient);
+        recipeRepository.touch(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
 
         return recipeMapper.toIngredientResponse(ingredient);
     }
@@ -92,6 +122,8 @@ public class IngredientService {
         recipeMapper.updateIngredientFromRequest(request, ingredient);
 
         ingredientRepository.save(ingredient);
+        recipeRepository.touch(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
 
         return recipeMapper.toIngredientResponse(ingredient);
     }
@@ -120,6 +152,8 @@ public class IngredientService {
                 );
 
         ingredientRepository.delete(ingredient);
+        recipeRepository.touch(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
     }
 }
 
@@ -7,12 +7,15 @@ import com.recipesharing.dto.response.RecipeResponse;
 import com.recipesharing.entity.Label;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeLabelsChangedEvent;
 import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.LabelRepository;
 import com.recipesharing.repository.RecipeRepository;
 import com.recipesharing.util.LabelUtils;
 import com.recipesharing.util.ValidationUti;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,13 +34,15 @@ public class LabelService {
     private final RecipeMapper recipeMapper;
     private final ValidationUti validationUti;
     private final LabelUtils labelUtils;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LabelService(LabelRepository labelRepository, RecipeRepository recipeRepository, RecipeMapper recipeMapper, ValidationUti validationUti, LabelUtils labelUtils) {
+    public LabelService(LabelRepository labelRepository, RecipeRepository recipeRepository, RecipeMapper recipeMapper, ValidationUti validationUti, LabelUtils labelUtils, ApplicationEventPublisher eventPublisher) {
         this.labelRepository = labelRepository;
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
         this.validationUti = validationUti;
         this.labelUtils = labelUtils;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -48,7 +53,7 @@ public class LabelService {
     ) {
         List<String> labelNames = labelsListRequest.getLabels();
 
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findDetailById(recipeId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Recipe not found with id: " + recipeId)
                 );
@@ -90,6 +95,9 @@ public class LabelService {
         recipe.addLabels(allLabels);
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        recipeRepository.touch(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(RecipeLabelsChangedEvent.added(recipeId, normalizedNames));
 
         return recipeMapper.toRecipeResponse(savedRecipe);
     }
@@ -102,13 +110,17 @@ public class LabelService {
 
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Label not found with id: " + labelId));
-        recipe.removeLabel(label);
 
         if (!recipe.getLabels().contains(label)){
             throw new BadRequestException("Label is not associated with the recipe");
         }
 
+        recipe.removeLabel(label);
+
         recipeRepository.save(recipe);
+        recipeRepository.touch(recipeId);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(RecipeLabelsChangedEvent.removed(recipeId, label.getName()));
     }
 }
 
@@ -0,0 +1,83 @@
+package com.recipesharing.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.recipesharing.config.PagingConfig;
+import com.recipesharing.dto.request.TotalMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Picks between an exact Page, a count-free Slice and a Page with an approximate total.
+ * Approximate totals are cached per filter signature. Once a total is older than
+ * {@code refresh-after}, reads keep getting it while it is recounted in the background;
+ * a total nobody asked for within {@code ttl} of its last count is dropped instead.
+ */
+@Service
+public class PagingService {
+
+    private final LoadingCache<CountKey, Long> approximateCounts;
+
+    public PagingService(PagingConfig config, MeterRegistry meterRegistry) {
+        this.approximateCounts = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build(key -> key.count().getAsLong());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, approximateCounts, "approximateCounts");
+    }
+
+    public <T> Slice<T> page(
+            TotalMode mode,
+            String signature,
+            Supplier<Page<T>> exactPage,
+            Supplier<Slice<T>> slice,
+            LongSupplier count
+    ) {
+        return switch (mode) {
+            case EXACT -> exactPage.get();
+            case NONE -> slice.get();
+            case APPROXIMATE -> withApproximateTotal(slice.get(), signature, count);
+        };
+    }
+
+    private <T> Slice<T> withApproximateTotal(Slice<T> slice, String signature, LongSupplier count) {
+        long total = approximateCounts.get(new CountKey(signature, count));
+
+        // never report fewer rows than this slice proves exist
+        Pageable pageable = slice.getPageable();
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0)
+                + slice.getNumberOfElements()
+                + (slice.hasNext() ? 1 : 0);
+
+        return new PageImpl<>(slice.getContent(), pageable, Math.max(total, seen));
+    }
+
+    /**
+     * Identified by the signature alone. The cache keeps the key it first stored, so
+     * background refreshes count with that caller's supplier; equal signatures describe
+     * the same filter, so any of them counts the same rows.
+     */
+    private record CountKey(String signature, LongSupplier count) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CountKey key && signature.equals(key.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return signature.hashCode();
+        }
+    }
+}
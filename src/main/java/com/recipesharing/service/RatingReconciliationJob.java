@@ -0,0 +1,91 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.RatingReconciliationConfig;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.RatingTotals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Periodically checks the incremental rating aggregates on {@code recipes} against the
+ * {@code ratings} table, walking recipes in id order one batch at a time. Drifted rows
+ * are overwritten with the actual totals, compare-and-set against the values that were
+ * read, so a rating change racing with the check is never undone.
+ */
+@Service
+public class RatingReconciliationJob {
+
+    private final Logger logger = LoggerFactory.getLogger(RatingReconciliationJob.class);
+
+    private final RatingReconciliationConfig config;
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter checked;
+    private final Counter repaired;
+
+    public RatingReconciliationJob(
+            RatingReconciliationConfig config,
+            RecipeRepository recipeRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+        this.checked = meterRegistry.counter("ratings.reconciliation.checked");
+        this.repaired = meterRegistry.counter("ratings.reconciliation.repaired");
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ratings.reconciliation.interval:1h}",
+            initialDelayString = "${ratings.reconciliation.initial-delay:1m}"
+    )
+    public void reconcileScheduled() {
+        if (config.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * @return number of recipes whose aggregates were repaired
+     */
+    public synchronized int reconcile() {
+        int repairedRecipes = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<RatingTotals> batch = recipeRepository.findRatingTotals(afterId, config.getBatchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            for (RatingTotals totals : batch) {
+                if (totals.drifted() && recipeRepository.repairRatingTotals(totals)) {
+                    logger.warn(
+                            "Repaired rating aggregates of recipe {}: sum {} -> {}, count {} -> {}",
+                            totals.recipeId(),
+                            totals.storedSum(), totals.actualSum(),
+                            totals.storedCount(), totals.actualCount()
+                    );
+                    eventPublisher.publishEvent(RecipeChangedEvent.updated(totals.recipeId()));
+                    repairedRecipes++;
+                }
+            }
+
+            checked.increment(batch.size());
+            afterId = batch.get(batch.size() - 1).recipeId();
+        }
+
+        repaired.increment(repairedRecipes);
+        return repairedRecipes;
+    }
+}
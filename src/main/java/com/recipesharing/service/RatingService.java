@@ -2,32 +2,52 @@ package com.recipesharing.service;
 
 import com.recipesharing.dto.mapper.RatingMapper;
 import com.recipesharing.dto.request.CreateRatingRequest;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateRatingRequest;
+import com.recipesharing.dto.response.CursorPageResponse;
 import com.recipesharing.dto.response.RatingResponse;
+import com.recipesharing.dto.response.RatingSummaryResponse;
+import com.recipesharing.dto.version.Versioned;
 import com.recipesharing.entity.Rating;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
+import com.recipesharing.event.RatingChangedEvent;
+import com.recipesharing.event.RecipeChangedEvent;
 import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.RatingRepository;
 import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.util.CursorUtils;
+import com.recipesharing.web.ResourceVersion;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class RatingService {
     private final RatingRepository ratingRepository;
     private final RecipeStatisticsService recipeStatisticsService;
     private final RecipeRepository recipeRepository;
     private final RatingMapper ratingMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorUtils cursorUtils;
+    private final PagingService pagingService;
 
-    public RatingService(RatingRepository ratingRepository, RecipeStatisticsService recipeStatisticsService, RecipeRepository recipeRepository, RatingMapper ratingMapper) {
+    public RatingService(RatingRepository ratingRepository, RecipeStatisticsService recipeStatisticsService, RecipeRepository recipeRepository, RatingMapper ratingMapper, ApplicationEventPublisher eventPublisher, CursorUtils cursorUtils, PagingService pagingService) {
         this.ratingRepository = ratingRepository;
         this.recipeStatisticsService = recipeStatisticsService;
         this.recipeRepository = recipeRepository;
         this.ratingMapper = ratingMapper;
+        this.eventPublisher = eventPublisher;
+        this.cursorUtils = cursorUtils;
+        this.pagingService = pagingService;
     }
 
     @Transactional
@@ -47,10 +67,13 @@ public class RatingService {
 
         Rating rating = ratingMapper.toRating(request);
         rating.setUser(user);
+        rating.setRecipe(recipe);
 
         Rating saved = ratingRepository.save(rating);
 
-        recipeStatisticsService.updateRatingStats(recipeId);
+        recipeStatisticsService.ratingAdded(recipeId, rating.getRating());
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(RatingChangedEvent.added(recipeId, rating.getRating()));
 
         return ratingMapper.toRatingResponse(saved);
     }
@@ -69,9 +92,12 @@ public class RatingService {
                 () -> new ResourceNotFoundException("Rating not found for user and recipe")
         );
 
+        int oldRating = rating.getRating();
         ratingMapper.updateRatingFromRequest(request, rating);
 
-        recipeStatisticsService.updateRatingStats(recipeId);
+        recipeStatisticsService.ratingChanged(recipeId, oldRating, rating.getRating());
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(RatingChangedEvent.changed(recipeId, oldRating, rating.getRating()));
 
         return ratingMapper.toRatingResponse(ratingRepository.save(rating));
     }
@@ -91,15 +117,87 @@ public class RatingService {
 
         ratingRepository.delete(rating);
 
-        recipeStatisticsService.updateRatingStats(recipeId);
+        recipeStatisticsService.ratingRemoved(recipeId, rating.getRating());
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
+        eventPublisher.publishEvent(RatingChangedEvent.removed(recipeId, rating.getRating()));
+    }
+
+    /**
+     * Count, average and 1-5 star distribution from the recipe row alone; the version is
+     * taken from the same values, so a single primary-key read serves both.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<RatingSummaryResponse> getRatingSummary(Long recipeId) {
+        RatingSummaryResponse summary = recipeRepository.findRatingSummaryById(recipeId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Recipe not found with id: " + recipeId)
+                );
+
+        ResourceVersion version = ResourceVersion.of(
+                null,
+                "rating-summary",
+                recipeId,
+                summary.getRatingCount(),
+                summary.getDistribution().values()
+        );
+        return new Versioned<>(summary, version);
+    }
+
+    /**
+     * Version of one page of a recipe's ratings, over everything the page shows. A list
+     * version cannot be looked up without an aggregate over all of the recipe's ratings,
+     * so it is taken from the loaded page and a 304 only saves sending it.
+     */
+    public ResourceVersion getRatingsVersion(Long recipeId, Slice<RatingResponse> ratings) {
+        List<Object> parts = new ArrayList<>();
+        parts.add("ratings");
+        parts.add(recipeId);
+        parts.add(ratings.getNumber());
+        parts.add(ratings.getSize());
+        parts.add(ratings.hasNext());
+        if (ratings instanceof Page<RatingResponse> page) {
+            parts.add(page.getTotalElements());
+        }
+        for (RatingResponse rating : ratings) {
+            parts.add(rating.getId());
+            parts.add(rating.getRating());
+            parts.add(rating.getReview());
+            parts.add(rating.getUsername());
+            parts.add(rating.getCreatedAt());
+        }
+        return ResourceVersion.of(null, parts.toArray());
     }
 
     @Transactional(readOnly = true)
-    public Page<RatingResponse> getRatingsByRecipe(
+    public Slice<RatingResponse> getRatingsByRecipe(
             Long recipeId,
-            Pageable pageable
+            Pageable pageable,
+            TotalMode totalMode
     ) {
-        Page<Rating> ratings = ratingRepository.findAllByRecipeId(recipeId, pageable);
+        Slice<Rating> ratings = pagingService.page(
+                totalMode,
+                "ratings|recipe:" + recipeId,
+                () -> ratingRepository.findAllByRecipeId(recipeId, pageable),
+                () -> ratingRepository.findSliceByRecipeId(recipeId, pageable),
+                () -> ratingRepository.countByRecipeId(recipeId)
+        );
         return ratings.map(ratingMapper::toRatingResponse);
     }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RatingResponse> getRatingsByRecipe(
+            Long recipeId,
+            String cursor,
+            int size
+    ) {
+        CursorUtils.Cursor after = cursorUtils.decode(cursor);
+        int limit = cursorUtils.validateSize(size);
+        PageRequest window = PageRequest.ofSize(limit + 1);
+
+        List<Rating> rows = after == null
+                ? ratingRepository.findLatestByRecipeId(recipeId, window)
+                : ratingRepository.findByRecipeIdBefore(recipeId, after.createdAt(), after.id(), window);
+
+        return cursorUtils.page(rows, limit, ratingMapper::toRatingResponse, Rating::getCreatedAt, Rating::getId);
+    }
 }
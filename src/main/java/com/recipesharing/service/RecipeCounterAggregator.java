@@ -0,0 +1,194 @@
+package com.recipesharing.service;
+
+import com.recipesharing.event.RecipeCountersFlushedEvent;
+import com.recipesharing.repository.ChefStatsRepository;
+import com.recipesharing.repository.RecipeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for the view and favorite counters on {@code recipes}. Request
+ * threads only add to per-recipe {@link LongAdder}s; a scheduled flush turns everything
+ * pending into one {@code UPDATE ... CASE} statement, so a hot recipe no longer serialises
+ * its writers on a row lock. Reads add {@link #pendingViews} / {@link #pendingFavorites}
+ * to the persisted values. Whatever is pending at shutdown is flushed before the
+ * datasource goes away; a crash loses at most one flush interval of counts.
+ * <p>
+ * The same deltas are added to the chefs' totals in {@code chef_stats}, in the flush's
+ * transaction, so the two never drift apart.
+ * <p>
+ * Counts are briefly low while a flush is in flight (subtracted here, not yet committed).
+ */
+@Service
+public class RecipeCounterAggregator {
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeCounterAggregator.class);
+
+    private final ConcurrentHashMap<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+    private final RecipeRepository recipeRepository;
+    private final ChefStatsRepository chefStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer flushTimer;
+
+    public RecipeCounterAggregator(
+            RecipeRepository recipeRepository,
+            ChefStatsRepository chefStatsRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.recipeRepository = recipeRepository;
+        this.chefStatsRepository = chefStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushTimer = meterRegistry.timer("counters.flush");
+        meterRegistry.gauge("counters.pending.recipes", pending, Map::size);
+    }
+
+    // =====================================================
+    // WRITES (request threads)
+    // =====================================================
+
+    public void addViews(Long recipeId, long delta) {
+        add(recipeId, delta, 0);
+    }
+
+    public void addFavorites(Long recipeId, long delta) {
+        add(recipeId, 0, delta);
+    }
+
+    private void add(Long recipeId, long views, long favorites) {
+        while (true) {
+            PendingCounts counts = pending.computeIfAbsent(recipeId, id -> new PendingCounts());
+            counts.add(views, favorites);
+            if (!counts.retired) {
+                return;
+            }
+            // lost the race against retireIfIdle: take the delta back and use the fresh entry
+            counts.add(-views, -favorites);
+        }
+    }
+
+    // =====================================================
+    // READS
+    // =====================================================
+
+    public long pendingViews(Long recipeId) {
+        PendingCounts counts = pending.get(recipeId);
+        return counts == null ? 0 : counts.views.sum();
+    }
+
+    public long pendingFavorites(Long recipeId) {
+        PendingCounts counts = pending.get(recipeId);
+        return counts == null ? 0 : counts.favorites.sum();
+    }
+
+    // =====================================================
+    // FLUSH
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${counters.flush-interval:1s}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        logger.info("Flushed pending recipe counters on shutdown");
+    }
+
+    public synchronized void flush() {
+        Map<Long, Long> views = new HashMap<>();
+        Map<Long, Long> favorites = new HashMap<>();
+        List<Long> idle = new ArrayList<>();
+
+        pending.forEach((recipeId, counts) -> {
+            // subtract exactly what was read, increments racing with the flush stay pending
+            long v = counts.views.sum();
+            long f = counts.favorites.sum();
+            if (v == 0 && f == 0) {
+                idle.add(recipeId);
+                return;
+            }
+            counts.add(-v, -f);
+            if (v != 0) {
+                views.put(recipeId, v);
+            }
+            if (f != 0) {
+                favorites.put(recipeId, f);
+            }
+        });
+        idle.forEach(this::retireIfIdle);
+
+        if (views.isEmpty() && favorites.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                recipeRepository.applyCounterDeltas(views, favorites);
+                chefStatsRepository.applyCounterDeltas(views, favorites);
+            }));
+        } catch (RuntimeException e) {
+            views.forEach(this::addViews);
+            favorites.forEach(this::addFavorites);
+            logger.warn("Could not flush pending recipe counters, keeping them for the next attempt", e);
+            return;
+        }
+
+        // cached details carry the counts they were loaded with, and reads only add what is
+        // still pending; drop them now that these deltas moved into the rows
+        Set<Long> flushed = new HashSet<>(views.keySet());
+        flushed.addAll(favorites.keySet());
+        eventPublisher.publishEvent(new RecipeCountersFlushedEvent(Set.copyOf(flushed)));
+    }
+
+    /**
+     * Drops an entry that had nothing to flush. The entry is marked retired before it is
+     * checked, so a writer that added to it concurrently either shows up in the check
+     * (entry kept) or sees the mark and retries on a new entry.
+     */
+    private void retireIfIdle(Long recipeId) {
+        pending.computeIfPresent(recipeId, (id, counts) -> {
+            counts.retired = true;
+            if (counts.views.sum() == 0 && counts.favorites.sum() == 0) {
+                return null;
+            }
+            counts.retired = false;
+            return counts;
+        });
+    }
+
+    private static final class PendingCounts {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder favorites = new LongAdder();
+        private volatile boolean retired;
+
+        private void add(long viewDelta, long favoriteDelta) {
+            if (viewDelta != 0) {
+                views.add(viewDelta);
+            }
+            if (favoriteDelta != 0) {
+                favorites.add(favoriteDelta);
+            }
+        }
+    }
+}
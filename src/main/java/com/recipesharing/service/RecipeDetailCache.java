@@ -0,0 +1,84 @@
+package com.recipesharing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipesharing.config.RecipeCacheConfig;
+import com.recipesharing.dto.response.RecipeResponse;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeCountersFlushedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded in-process cache of the recipe-level part of {@link RecipeResponse}.
+ * Entries are shared between users, so callers must copy them before filling
+ * per-user fields such as {@code isFavorite}.
+ * <p>
+ * A miss that read the row before a concurrent update committed must not store it after
+ * that update's eviction ran. Evictions bump a per-recipe generation (striped, so it stays
+ * bounded) and {@link #put} only stores when the generation is still the one taken
+ * before the read.
+ */
+@Service
+public class RecipeDetailCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, RecipeResponse> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public RecipeDetailCache(RecipeCacheConfig config, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recipeDetail");
+    }
+
+    public RecipeResponse get(Long recipeId) {
+        return cache.getIfPresent(recipeId);
+    }
+
+    /**
+     * Take before reading the recipe and hand to {@link #put} with what was read.
+     */
+    public long generation(Long recipeId) {
+        return generations.get(stripe(recipeId));
+    }
+
+    /**
+     * Stores {@code response} unless the recipe was evicted since {@code generation} was
+     * taken; checked under the entry's lock, so a concurrent eviction either sees the
+     * entry and removes it or makes this put a no-op.
+     */
+    public void put(Long recipeId, long generation, RecipeResponse response) {
+        cache.asMap().compute(recipeId, (id, current) ->
+                generations.get(stripe(id)) == generation ? response : current);
+    }
+
+    public void evict(Long recipeId) {
+        generations.incrementAndGet(stripe(recipeId));
+        cache.invalidate(recipeId);
+    }
+
+    private static int stripe(Long recipeId) {
+        return Math.floorMod(recipeId.hashCode(), GENERATION_STRIPES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        evict(event.recipeId());
+    }
+
+    @EventListener
+    public void onCountersFlushed(RecipeCountersFlushedEvent event) {
+        event.recipeIds().forEach(this::evict);
+    }
+}
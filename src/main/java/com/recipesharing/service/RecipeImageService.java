@@ -5,10 +5,12 @@ import com.recipesharing.dto.mapper.RecipeMapper;
 import com.recipesharing.dto.response.RecipeResponse;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
+import com.recipesharing.event.RecipeChangedEvent;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.RecipeRepository;
 import com.recipesharing.util.ImageUtil;
 import com.recipesharing.util.ValidationUti;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,18 +23,20 @@ public class RecipeImageService {
     private final LocalFileStorageService fileStorageService;
     private final ImageUtil imageUtil;
     private final ValidationUti validationUti;
-    public RecipeImageService(RecipeRepository recipeRepository, RecipeMapper recipeMapper, ImageProcessingService imageProcessingService, LocalFileStorageService fileStorageService, ImageUtil imageUtil, ValidationUti validationUti) {
+    private final ApplicationEventPublisher eventPublisher;
+    public RecipeImageService(RecipeRepository recipeRepository, RecipeMapper recipeMapper, ImageProcessingService imageProcessingService, LocalFileStorageService fileStorageService, ImageUtil imageUtil, ValidationUti validationUti, ApplicationEventPublisher eventPublisher) {
         this.recipeRepository = recipeRepository;
         this.recipeMapper = recipeMapper;
         this.imageProcessingService = imageProcessingService;
         this.fileStorageService = fileStorageService;
         this.imageUtil = imageUtil;
         this.validationUti = validationUti;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public RecipeResponse uploadRecipeImage(Long recipeId, MultipartFile imageFile, User currentUser) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Recipe recipe = recipeRepository.findDetailById(recipeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Recipe not found with id: " + recipeId));
         validationUti.validateRecipeOwnership(recipe, currentUser);
 
@@ -50,6 +54,7 @@ public class RecipeImageService {
         recipe.setImageUrl(mainUrl);
         recipe.setThumbnailUrl(thumbUrl);
         Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
 
         return recipeMapper.toRecipeResponse(saved);
     }
@@ -64,6 +69,7 @@ public class RecipeImageService {
         recipe.setImageUrl(null);
         recipe.setThumbnailUrl(null);
         recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(recipeId));
 
         imageUtil.cleanupRecipeImageFiles(recipe);
     }
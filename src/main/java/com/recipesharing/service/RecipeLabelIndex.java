@@ -0,0 +1,262 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.LabelIndexConfig;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeLabelsChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recipe ids per label name as compressed (Roaring) bitmaps, so label filters resolve in
+ * memory: any-of is a union, all-of an intersection of the labels' bitmaps, and none-of
+ * excludes their union. The resulting ids go to the paged query as an {@code IN} list,
+ * which spares it the recipe_labels join and its distinct.
+ * <p>
+ * Built from recipe_labels at startup; afterwards it follows the label changes
+ * {@link LabelService} publishes and recipe deletions, once they commit. Until the first
+ * build is done {@link #select} answers null and callers filter in SQL.
+ */
+@Service
+public class RecipeLabelIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeLabelIndex.class);
+
+    private final LabelIndexConfig config;
+    private final RecipeRepository recipeRepository;
+    private final Timer rebuildTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock
+    private Map<String, Roaring64Bitmap> recipesByLabel = new HashMap<>();
+    private boolean built;
+
+    // recipes changed while a rebuild was reading; re-read once it is swapped in
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public RecipeLabelIndex(LabelIndexConfig config, RecipeRepository recipeRepository, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.recipeRepository = recipeRepository;
+        this.rebuildTimer = meterRegistry.timer("label-index.rebuild");
+        meterRegistry.gauge("label-index.labels", this, RecipeLabelIndex::labelCount);
+    }
+
+    // =====================================================
+    // EVENTS
+    // =====================================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLabelsChanged(RecipeLabelsChangedEvent event) {
+        long recipeId = event.recipeId();
+        if (rebuilding) {
+            changedDuringRebuild.add(recipeId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            event.added().forEach(label ->
+                    recipesByLabel.computeIfAbsent(label, l -> new Roaring64Bitmap()).addLong(recipeId));
+            event.removed().forEach(label -> removeFrom(label, recipeId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() != RecipeChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.recipeId());
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeEverywhere(event.recipeId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // callers hold the write lock
+    private void removeFrom(String label, long recipeId) {
+        Roaring64Bitmap recipes = recipesByLabel.get(label);
+        if (recipes != null) {
+            recipes.removeLong(recipeId);
+            if (recipes.isEmpty()) {
+                recipesByLabel.remove(label);
+            }
+        }
+    }
+
+    private void removeEverywhere(long recipeId) {
+        Iterator<Roaring64Bitmap> bitmaps = recipesByLabel.values().iterator();
+        while (bitmaps.hasNext()) {
+            Roaring64Bitmap recipes = bitmaps.next();
+            recipes.removeLong(recipeId);
+            if (recipes.isEmpty()) {
+                bitmaps.remove();
+            }
+        }
+    }
+
+    // =====================================================
+    // QUERIES
+    // =====================================================
+
+    /**
+     * Ids selected by {@code labels} under {@code mode}: the matching recipes for
+     * {@link LabelFilterMode#ANY} and {@link LabelFilterMode#ALL}, the recipes to leave out
+     * for {@link LabelFilterMode#NONE}. Null when the index is not built yet or the set has
+     * more than {@code label-index.max-query-ids} ids; the caller then filters in SQL.
+     */
+    public Selection select(Collection<String> labels, LabelFilterMode mode) {
+        lock.readLock().lock();
+        try {
+            if (!built) {
+                return null;
+            }
+
+            Roaring64Bitmap selected = mode == LabelFilterMode.ALL ? intersection(labels) : union(labels);
+            if (selected.getLongCardinality() > config.getMaxQueryIds()) {
+                return null;
+            }
+            return new Selection(selected.toArray(), mode == LabelFilterMode.NONE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param excluded the ids are the recipes to leave out rather than the ones to keep
+     */
+    public record Selection(long[] ids, boolean excluded) {
+    }
+
+    private Roaring64Bitmap union(Collection<String> labels) {
+        Roaring64Bitmap union = new Roaring64Bitmap();
+        for (String label : labels) {
+            Roaring64Bitmap recipes = recipesByLabel.get(label);
+            if (recipes != null) {
+                union.or(recipes);
+            }
+        }
+        return union;
+    }
+
+    private Roaring64Bitmap intersection(Collection<String> labels) {
+        List<Roaring64Bitmap> bitmaps = new ArrayList<>(labels.size());
+        for (String label : labels) {
+            Roaring64Bitmap recipes = recipesByLabel.get(label);
+            if (recipes == null) {
+                return new Roaring64Bitmap();
+            }
+            bitmaps.add(recipes);
+        }
+
+        // smallest first, so every step works on the shortest possible result
+        bitmaps.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+        Roaring64Bitmap intersection = new Roaring64Bitmap();
+        if (!bitmaps.isEmpty()) {
+            intersection.or(bitmaps.get(0));
+            bitmaps.subList(1, bitmaps.size()).forEach(intersection::and);
+        }
+        return intersection;
+    }
+
+    public int labelCount() {
+        lock.readLock().lock();
+        try {
+            return recipesByLabel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =====================================================
+    // REBUILD
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Builds fresh bitmaps from recipe_labels in id-ordered batches of recipes and swaps
+     * them in; recipes whose labels changed meanwhile are re-read afterwards.
+     */
+    public synchronized void rebuild() {
+        rebuildTimer.record(() -> {
+            rebuilding = true;
+            try {
+                Map<String, Roaring64Bitmap> rebuilt = new HashMap<>();
+                long afterId = 0;
+                List<Long> ids;
+                do {
+                    ids = recipeRepository.findIdsAfter(afterId, config.getRebuildBatchSize());
+                    if (!ids.isEmpty()) {
+                        recipeRepository.findLabelNames(ids).forEach((recipeId, labels) -> labels.forEach(label ->
+                                rebuilt.computeIfAbsent(label, l -> new Roaring64Bitmap()).addLong(recipeId)));
+                        afterId = ids.get(ids.size() - 1);
+                    }
+                } while (ids.size() == config.getRebuildBatchSize());
+
+                lock.writeLock().lock();
+                try {
+                    recipesByLabel = rebuilt;
+                    built = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                rebuilding = false;
+            }
+
+            reloadChangedDuringRebuild();
+            logger.info("Built the label index with {} labels", labelCount());
+        });
+    }
+
+    private void reloadChangedDuringRebuild() {
+        List<Long> changed = new ArrayList<>(changedDuringRebuild);
+        if (changed.isEmpty()) {
+            return;
+        }
+        changedDuringRebuild.removeAll(changed);
+
+        Map<Long, Set<String>> labels = recipeRepository.findLabelNames(changed);
+        lock.writeLock().lock();
+        try {
+            for (Long recipeId : changed) {
+                removeEverywhere(recipeId);
+                labels.getOrDefault(recipeId, Set.of()).forEach(label ->
+                        recipesByLabel.computeIfAbsent(label, l -> new Roaring64Bitmap()).addLong(recipeId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
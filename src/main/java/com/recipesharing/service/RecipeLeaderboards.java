@@ -0,0 +1,283 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.LeaderboardConfig;
+import com.recipesharing.dto.request.LeaderboardType;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.LeaderboardRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Most favorited, most viewed and top-rated recipes, kept in memory so that ranking by a
+ * counter never sorts the recipes table. Each board is an ordered set keyed by
+ * (score, id) plus the current entry per recipe, moved on every counter change
+ * {@link RecipeStatisticsService} reports once it has committed.
+ * <p>
+ * The rating board ranks by a Bayesian average, {@code (C * m + sum) / (C + count)} with
+ * {@code m} the mean over all ratings and {@code C = leaderboards.rating-prior-weight}, so
+ * a single five-star rating does not outrank hundreds of good ones.
+ * <p>
+ * Pages are cut from an array copy of the top {@code max-rank} entries, refreshed at most
+ * every {@code snapshot-max-age} after a change. The boards are built from the recipes
+ * table at startup and rebuilt every {@code rebuild-interval}, which refreshes {@code m}
+ * and corrects whatever a change racing with the previous rebuild got wrong.
+ */
+@Service
+public class RecipeLeaderboards {
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeLeaderboards.class);
+
+    private final LeaderboardConfig config;
+    private final RecipeRepository recipeRepository;
+    private final Timer rebuildTimer;
+
+    private volatile Boards boards;
+
+    public RecipeLeaderboards(
+            LeaderboardConfig config,
+            RecipeRepository recipeRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.recipeRepository = recipeRepository;
+        this.boards = new Boards(0);
+        this.rebuildTimer = meterRegistry.timer("leaderboards.rebuild");
+    }
+
+    // =====================================================
+    // UPDATES (after commit)
+    // =====================================================
+
+    public void viewsAdded(Long recipeId, long views) {
+        boards.board(LeaderboardType.VIEWS).add(recipeId, views);
+    }
+
+    public void favoritesAdded(Long recipeId, long favorites) {
+        boards.board(LeaderboardType.FAVORITES).add(recipeId, favorites);
+    }
+
+    /**
+     * {@code removedRating} / {@code addedRating} as in
+     * {@link com.recipesharing.repository.RecipeRepositoryCustom#applyRatingChange}.
+     */
+    public void ratingChanged(Long recipeId, Integer removedRating, Integer addedRating) {
+        long sumDelta = (addedRating == null ? 0 : addedRating) - (removedRating == null ? 0 : removedRating);
+        long countDelta = (addedRating == null ? 0 : 1) - (removedRating == null ? 0 : 1);
+        boards.rating(recipeId, sumDelta, countDelta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            boards.remove(event.recipeId());
+        }
+    }
+
+    // =====================================================
+    // READ
+    // =====================================================
+
+    public int maxRank() {
+        return config.getMaxRank();
+    }
+
+    /**
+     * Ranks {@code [offset, offset + limit)} of a board, best first; copying the page is
+     * the only per-request work.
+     */
+    public Ranking page(LeaderboardType type, int offset, int limit) {
+        Snapshot snapshot = boards.board(type).snapshot();
+        int from = Math.min(offset, snapshot.ids().length);
+        int to = Math.min(from + limit, snapshot.ids().length);
+
+        long[] ids = new long[to - from];
+        double[] scores = new double[to - from];
+        System.arraycopy(snapshot.ids(), from, ids, 0, ids.length);
+        System.arraycopy(snapshot.scores(), from, scores, 0, scores.length);
+        return new Ranking(ids, scores, to < snapshot.ids().length);
+    }
+
+    public record Ranking(long[] ids, double[] scores, boolean hasNext) {
+    }
+
+    // =====================================================
+    // REBUILD
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${leaderboards.rebuild-interval:1h}",
+            initialDelayString = "${leaderboards.rebuild-interval:1h}"
+    )
+    public void rebuildScheduled() {
+        rebuild();
+    }
+
+    /**
+     * Builds fresh boards from the recipes table in id-ordered batches and swaps them in.
+     */
+    public synchronized void rebuild() {
+        rebuildTimer.record(() -> {
+            List<LeaderboardRow> rows = new ArrayList<>();
+            long afterId = 0;
+            long ratingSum = 0;
+            long ratingCount = 0;
+            List<LeaderboardRow> batch;
+            do {
+                batch = recipeRepository.findLeaderboardRows(afterId, config.getRebuildBatchSize());
+                for (LeaderboardRow row : batch) {
+                    rows.add(row);
+                    ratingSum += row.ratingSum();
+                    ratingCount += row.ratingCount();
+                    afterId = row.recipeId();
+                }
+            } while (batch.size() == config.getRebuildBatchSize());
+
+            Boards rebuilt = new Boards(ratingCount == 0 ? 0 : (double) ratingSum / ratingCount);
+            for (LeaderboardRow row : rows) {
+                rebuilt.board(LeaderboardType.VIEWS).add(row.recipeId(), row.views());
+                rebuilt.board(LeaderboardType.FAVORITES).add(row.recipeId(), row.favorites());
+                rebuilt.rating(row.recipeId(), row.ratingSum(), row.ratingCount());
+            }
+            boards = rebuilt;
+
+            logger.info("Rebuilt leaderboards from {} recipes", rows.size());
+        });
+    }
+
+    // =====================================================
+    // BOARDS
+    // =====================================================
+
+    private final class Boards {
+
+        private final double meanRating;
+        private final Map<LeaderboardType, Board> byType = new EnumMap<>(LeaderboardType.class);
+        // rating sum and count per recipe, guarded by the rating board
+        private final Map<Long, long[]> ratingTotals = new HashMap<>();
+
+        private Boards(double meanRating) {
+            this.meanRating = meanRating;
+            for (LeaderboardType type : LeaderboardType.values()) {
+                byType.put(type, new Board());
+            }
+        }
+
+        Board board(LeaderboardType type) {
+            return byType.get(type);
+        }
+
+        void rating(Long recipeId, long sumDelta, long countDelta) {
+            Board board = board(LeaderboardType.RATING);
+            synchronized (board) {
+                long[] totals = ratingTotals.computeIfAbsent(recipeId, id -> new long[2]);
+                totals[0] += sumDelta;
+                totals[1] += countDelta;
+                if (totals[1] <= 0) {
+                    ratingTotals.remove(recipeId);
+                    board.remove(recipeId);
+                    return;
+                }
+                double prior = config.getRatingPriorWeight();
+                board.set(recipeId, (prior * meanRating + totals[0]) / (prior + totals[1]));
+            }
+        }
+
+        void remove(Long recipeId) {
+            byType.values().forEach(board -> board.remove(recipeId));
+            Board ratingBoard = board(LeaderboardType.RATING);
+            synchronized (ratingBoard) {
+                ratingTotals.remove(recipeId);
+            }
+        }
+    }
+
+    private record Entry(double score, long recipeId) {
+    }
+
+    private record Snapshot(long[] ids, double[] scores, long takenAt) {
+    }
+
+    // highest score first, newer recipe first on ties
+    private static final Comparator<Entry> RANK = Comparator
+            .comparingDouble(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::recipeId).reversed());
+
+    private final class Board {
+
+        private final TreeSet<Entry> ranking = new TreeSet<>(RANK);
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private boolean dirty;
+        private volatile Snapshot snapshot = new Snapshot(new long[0], new double[0], 0);
+
+        synchronized void add(Long recipeId, double delta) {
+            Entry current = entries.get(recipeId);
+            set(recipeId, Math.max(0, (current == null ? 0 : current.score()) + delta));
+        }
+
+        synchronized void set(Long recipeId, double score) {
+            Entry previous = entries.put(recipeId, new Entry(score, recipeId));
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+            ranking.add(entries.get(recipeId));
+            dirty = true;
+        }
+
+        synchronized void remove(Long recipeId) {
+            Entry previous = entries.remove(recipeId);
+            if (previous != null) {
+                ranking.remove(previous);
+                dirty = true;
+            }
+        }
+
+        Snapshot snapshot() {
+            Snapshot current = snapshot;
+            if (current.takenAt() + config.getSnapshotMaxAge().toMillis() > System.currentTimeMillis()) {
+                return current;
+            }
+            synchronized (this) {
+                snapshot = dirty
+                        ? copyTop()
+                        : new Snapshot(snapshot.ids(), snapshot.scores(), System.currentTimeMillis());
+                dirty = false;
+                return snapshot;
+            }
+        }
+
+        private Snapshot copyTop() {
+            int size = Math.min(ranking.size(), config.getMaxRank());
+            long[] ids = new long[size];
+            double[] scores = new double[size];
+            Iterator<Entry> it = ranking.iterator();
+            for (int i = 0; i < size; i++) {
+                Entry entry = it.next();
+                ids[i] = entry.recipeId();
+                scores[i] = entry.score();
+            }
+            return new Snapshot(ids, scores, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.SearchIndexConfig;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.entity.RecipeDifficulty;
+import com.recipesharing.repository.RecipeRepositoryCustom.SearchDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lucene index over recipe title, description, instructions, ingredient names and labels,
+ * on local disk, ranked with BM25. Chef, difficulty and label names are also indexed as
+ * exact terms so the search filters apply inside the index and paging stays correct.
+ * <p>
+ * Writes go to one {@link IndexWriter}; searches use near-real-time readers from a
+ * {@link SearcherManager} and only see writes after {@link #refresh}. {@link RecipeSearchIndexer}
+ * does both in the background. Commits record how far the index is known to be current,
+ * for catching up after a restart.
+ * <p>
+ * Documents carry the generation of the index they were written in. A rebuild starts a
+ * new generation, rewrites every recipe and then drops what is left of older ones, so
+ * searches never see a half-empty index and a failed rebuild leaves a usable one.
+ */
+@Service
+public class RecipeSearchIndex {
+
+    private static final String ID = "id";
+    private static final String CHEF = "chef";
+    private static final String DIFFICULTY = "difficulty";
+    private static final String LABEL = "label";
+    private static final String GENERATION = "generation";
+    private static final String INDEXED_THROUGH = "indexed-through";
+
+    // per-field boosts of the keyword query
+    private static final Map<String, Float> WEIGHTS = Map.of(
+            "title", 3f,
+            "labels", 2f,
+            "ingredients", 1.5f,
+            "description", 1f,
+            "instructions", 0.5f
+    );
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeSearchIndex.class);
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile long generation;
+
+    public RecipeSearchIndex(SearchIndexConfig config, MeterRegistry meterRegistry) {
+        try {
+            this.directory = config.getDirectory() == null || config.getDirectory().isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Path.of(config.getDirectory()));
+            IndexWriterConfig writerConfig = new IndexWriterConfig(analyzer)
+                    .setSimilarity(new BM25Similarity())
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            this.writer = new IndexWriter(directory, writerConfig);
+            this.searcherManager = new SearcherManager(writer, null);
+            String committedGeneration = commitData().get(GENERATION);
+            this.generation = committedGeneration == null ? 0 : Long.parseLong(committedGeneration);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the search index in " + config.getDirectory(), e);
+        }
+
+        meterRegistry.gauge("search.index.documents", this, RecipeSearchIndex::size);
+    }
+
+    // =====================================================
+    // WRITES
+    // =====================================================
+
+    /**
+     * Adds or replaces the documents of these recipes.
+     */
+    public void index(Collection<SearchDocument> documents) {
+        String currentGeneration = Long.toString(generation);
+        try {
+            for (SearchDocument document : documents) {
+                writer.updateDocument(
+                        new Term(ID, Long.toString(document.recipeId())),
+                        toDocument(document, currentGeneration)
+                );
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Collection<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return;
+        }
+        Term[] terms = recipeIds.stream().map(id -> new Term(ID, Long.toString(id))).toArray(Term[]::new);
+        try {
+            writer.deleteDocuments(terms);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts a rebuild: documents written from here on belong to a new generation.
+     */
+    public void beginRebuild() {
+        generation++;
+    }
+
+    /**
+     * Ends a rebuild that rewrote every recipe: deletes the documents of older generations,
+     * i.e. recipes that no longer exist.
+     */
+    public void finishRebuild() {
+        Query stale = new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(GENERATION, Long.toString(generation))), BooleanClause.Occur.MUST_NOT)
+                .build();
+        try {
+            writer.deleteDocuments(stale);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes everything written so far visible to searches.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Durably commits the index, noting that every recipe change up to
+     * {@code indexedThrough} is in it.
+     */
+    public void commit(LocalDateTime indexedThrough) {
+        try {
+            writer.setLiveCommitData(Map.of(
+                    INDEXED_THROUGH, indexedThrough.toString(),
+                    GENERATION, Long.toString(generation)
+            ).entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * What the last commit noted in {@link #commit}; null for a new index.
+     */
+    public LocalDateTime indexedThrough() {
+        String indexedThrough = commitData().get(INDEXED_THROUGH);
+        return indexedThrough == null ? null : LocalDateTime.parse(indexedThrough);
+    }
+
+    private Map<String, String> commitData() {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> entries = writer.getLiveCommitData();
+        if (entries != null) {
+            entries.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        return data;
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    private static Document toDocument(SearchDocument recipe, String generation) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(recipe.recipeId()), Field.Store.YES));
+        document.add(new StringField(GENERATION, generation, Field.Store.NO));
+        document.add(new StringField(CHEF, Long.toString(recipe.chefId()), Field.Store.NO));
+        if (recipe.difficulty() != null) {
+            document.add(new StringField(DIFFICULTY, recipe.difficulty(), Field.Store.NO));
+        }
+
+        addText(document, "title", recipe.title());
+        addText(document, "description", recipe.description());
+        addText(document, "instructions", recipe.instructions());
+        recipe.ingredients().forEach(name -> addText(document, "ingredients", name));
+        for (String label : recipe.labels()) {
+            addText(document, "labels", label);
+            document.add(new StringField(LABEL, label, Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    // =====================================================
+    // SEARCH
+    // =====================================================
+
+    /**
+     * Recipe ids for {@code keyword}, best match first, restricted by the same filters as
+     * the database search ({@code labels} combined as {@code labelsMode} says). The keyword
+     * accepts simple query syntax: {@code "quoted phrases"}, {@code -excluded} words and
+     * {@code prefix*}; every other word must match in some field.
+     *
+     * @param exactTotal count every match; otherwise the total may be a lower bound
+     */
+    public Hits search(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            int offset,
+            int limit,
+            boolean exactTotal
+    ) {
+        Query query = toQuery(keyword, labels, labelsMode, chefId, difficulty);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, offset + limit + 1);
+                ScoreDoc[] scoreDocs = top.scoreDocs;
+
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(limit);
+                for (int i = offset; i < Math.min(offset + limit, scoreDocs.length); i++) {
+                    ids.add(Long.parseLong(storedFields.document(scoreDocs[i].doc, Set.of(ID)).get(ID)));
+                }
+
+                boolean exact = top.totalHits.relation == TotalHits.Relation.EQUAL_TO;
+                long total = exactTotal && !exact ? searcher.count(query) : top.totalHits.value;
+                return new Hits(ids, total, exactTotal || exact, scoreDocs.length > offset + limit);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param total       matches overall, a lower bound unless {@code totalExact}
+     * @param hasNext     there are matches past this page
+     */
+    public record Hits(List<Long> ids, long total, boolean totalExact, boolean hasNext) {
+    }
+
+    private Query toQuery(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty
+    ) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, new HashMap<>(WEIGHTS));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(keyword), BooleanClause.Occur.MUST);
+        if (chefId != null) {
+            query.add(new TermQuery(new Term(CHEF, chefId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (difficulty != null) {
+            query.add(new TermQuery(new Term(DIFFICULTY, difficulty.name())), BooleanClause.Occur.FILTER);
+        }
+        if (labels != null && !labels.isEmpty()) {
+            switch (labelsMode) {
+                case ALL -> labels.forEach(label ->
+                        query.add(new TermQuery(new Term(LABEL, label)), BooleanClause.Occur.FILTER));
+                case NONE -> labels.forEach(label ->
+                        query.add(new TermQuery(new Term(LABEL, label)), BooleanClause.Occur.MUST_NOT));
+                default -> {
+                    BooleanQuery.Builder anyLabel = new BooleanQuery.Builder().setMinimumNumberShouldMatch(1);
+                    labels.forEach(label ->
+                            anyLabel.add(new TermQuery(new Term(LABEL, label)), BooleanClause.Occur.SHOULD));
+                    query.add(anyLabel.build(), BooleanClause.Occur.FILTER);
+                }
+            }
+        }
+        return query.build();
+    }
+
+    // =====================================================
+    // SHUTDOWN
+    // =====================================================
+
+    @PreDestroy
+    public void close() {
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            logger.warn("Could not close the search index cleanly", e);
+        } finally {
+            analyzer.close();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.SearchIndexConfig;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.SearchDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps {@link RecipeSearchIndex} in step with the database. Every committed recipe change
+ * (the recipe itself, its ingredients or its labels; see {@link RecipeChangedEvent}) queues
+ * the recipe id; a background pass re-reads the queued recipes in a few queries, replaces
+ * their documents (or deletes them when the recipe is gone) and refreshes the searcher.
+ * <p>
+ * At startup an empty index is rebuilt; otherwise recipes updated since the last commit
+ * (minus a safety margin) are reindexed, which covers changes that were queued but not
+ * yet committed when the previous instance stopped. Recipes deleted meanwhile can linger
+ * in the index until the next {@link #rebuild}; search results skip ids without a recipe.
+ */
+@Service
+public class RecipeSearchIndexer {
+
+    // changes committed this long before a pass started may still have been queued after it
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+    private static final int LOAD_CHUNK = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeSearchIndexer.class);
+
+    private final SearchIndexConfig config;
+    private final RecipeSearchIndex index;
+    private final RecipeRepository recipeRepository;
+    private final Counter updates;
+    private final Timer rebuildTimer;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    // start of the last pass that left nothing behind; guarded by this
+    private LocalDateTime currentThrough;
+
+    public RecipeSearchIndexer(
+            SearchIndexConfig config,
+            RecipeSearchIndex index,
+            RecipeRepository recipeRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.index = index;
+        this.recipeRepository = recipeRepository;
+        this.updates = meterRegistry.counter("search.index.updates");
+        this.rebuildTimer = meterRegistry.timer("search.index.rebuild");
+        meterRegistry.gauge("search.index.pending", pending, Set::size);
+    }
+
+    // =====================================================
+    // EVENTS
+    // =====================================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        pending.add(event.recipeId());
+    }
+
+    // =====================================================
+    // NEAR-REAL-TIME UPDATES
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval:1s}")
+    public void indexPendingScheduled() {
+        try {
+            indexPending();
+        } catch (RuntimeException e) {
+            logger.warn("Could not update the search index, retrying with the next pass", e);
+        }
+    }
+
+    /**
+     * Reindexes every queued recipe and makes the result searchable.
+     */
+    public synchronized void indexPending() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (pending.isEmpty()) {
+            currentThrough = startedAt;
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                reindex(ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())));
+            }
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            throw e;
+        }
+        index.refresh();
+        updates.increment(ids.size());
+        currentThrough = startedAt;
+    }
+
+    private void reindex(List<Long> ids) {
+        Map<Long, SearchDocument> documents = recipeRepository.findSearchDocuments(ids);
+        index.index(documents.values());
+
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(documents.keySet());
+        index.delete(missing);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${search.index.commit-interval:30s}",
+            initialDelayString = "${search.index.commit-interval:30s}"
+    )
+    public void commitScheduled() {
+        try {
+            commit();
+        } catch (RuntimeException e) {
+            logger.warn("Could not commit the search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void commitOnShutdown() {
+        indexPendingScheduled();
+        commit();
+    }
+
+    private synchronized void commit() {
+        if (currentThrough != null) {
+            index.commit(currentThrough.minus(CATCH_UP_MARGIN));
+        }
+    }
+
+    // =====================================================
+    // STARTUP & REBUILD
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDateTime indexedThrough = index.indexedThrough();
+        if (index.size() == 0 || indexedThrough == null) {
+            rebuild();
+            return;
+        }
+
+        List<Long> changed = recipeRepository.findIdsUpdatedSince(indexedThrough);
+        pending.addAll(changed);
+        indexPending();
+        logger.info("Search index caught up with {} recipes changed since {}", changed.size(), indexedThrough);
+    }
+
+    /**
+     * Reindexes every recipe from scratch: recipe ids are read in batches of
+     * {@code rebuild-batch-size} and batches are loaded and indexed
+     * {@code rebuild-parallelism} at a time. Searches keep seeing the previous index until
+     * the rebuild is complete; changes made meanwhile are applied right after it. Recipes
+     * deleted while no instance was running are dropped here.
+     *
+     * @return number of recipes indexed
+     */
+    public synchronized long rebuild() {
+        return rebuildTimer.record(() -> {
+            LocalDateTime startedAt = LocalDateTime.now();
+            ExecutorService executor = Executors.newFixedThreadPool(config.getRebuildParallelism());
+            try {
+                index.beginRebuild();
+
+                List<Future<Integer>> batches = new ArrayList<>();
+                long afterId = 0;
+                List<Long> ids;
+                do {
+                    ids = recipeRepository.findIdsAfter(afterId, config.getRebuildBatchSize());
+                    if (!ids.isEmpty()) {
+                        List<Long> batch = ids;
+                        batches.add(executor.submit(() -> {
+                            Map<Long, SearchDocument> documents = recipeRepository.findSearchDocuments(batch);
+                            index.index(documents.values());
+                            return documents.size();
+                        }));
+                        afterId = ids.get(ids.size() - 1);
+                    }
+                } while (ids.size() == config.getRebuildBatchSize());
+
+                long indexed = 0;
+                for (Future<Integer> batch : batches) {
+                    indexed += batch.get();
+                }
+
+                index.finishRebuild();
+                index.refresh();
+                currentThrough = startedAt;
+                index.commit(startedAt.minus(CATCH_UP_MARGIN));
+                logger.info("Rebuilt the search index with {} recipes", indexed);
+                return indexed;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Search index rebuild interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Search index rebuild failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+}
@@ -1,47 +1,110 @@
 package com.recipesharing.service;
 
+import com.recipesharing.config.SearchFacetConfig;
+import com.recipesharing.config.SearchIndexConfig;
 import com.recipesharing.dto.mapper.RecipeMapper;
 import com.recipesharing.dto.request.CreateRecipeRequest;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.dto.request.LeaderboardType;
+import com.recipesharing.dto.request.SearchFacet;
+import com.recipesharing.dto.request.SearchMode;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateRecipeRequest;
+import com.recipesharing.dto.response.CursorPageResponse;
+import com.recipesharing.dto.response.FacetBucketResponse;
+import com.recipesharing.dto.response.LeaderboardResponse;
+import com.recipesharing.dto.response.RankedRecipeResponse;
+import com.recipesharing.dto.response.RecipeBatchResponse;
 import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.dto.response.RecipeResponse;
+import com.recipesharing.dto.version.RecipeVersion;
 import com.recipesharing.entity.*;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
-import com.recipesharing.exception.UnauthorizedException;
-import com.recipesharing.repository.FavoriteRepository;
 import com.recipesharing.repository.RecipeRepository;
-import com.recipesharing.repository.RecipeViewRepository;
 import com.recipesharing.repository.specification.RecipeSpecification;
+import com.recipesharing.util.CursorUtils;
+import com.recipesharing.util.LabelUtils;
 import com.recipesharing.util.ValidationUti;
-import org.springframework.data.domain.Page;
+import com.recipesharing.web.ResourceVersion;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RecipeService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final RecipeRepository recipeRepository;
-    private final RecipeViewRepository recipeViewRepository;
-    private final FavoriteRepository favoriteRepository;
+    private final FavoriteIndex favoriteIndex;
     private final RecipeMapper recipeMapper;
     private final ValidationUti validationUti;
+    private final ViewRecorder viewRecorder;
+    private final RecipeCounterAggregator counterAggregator;
     private final RecipeStatisticsService recipeStatisticsService;
+    private final RecipeTrendingScores trendingScores;
+    private final RecipeLeaderboards leaderboards;
+    private final RecipeSearchIndex searchIndex;
+    private final SearchIndexConfig searchIndexConfig;
+    private final SearchFacetConfig searchFacetConfig;
+    private final RecipeLabelIndex labelIndex;
+    private final LabelUtils labelUtils;
+    private final RecipeDetailCache recipeDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CursorUtils cursorUtils;
+    private final PagingService pagingService;
 
     public RecipeService(
-            RecipeRepository recipeRepository, RecipeViewRepository recipeViewRepository, FavoriteRepository favoriteRepository,
+            RecipeRepository recipeRepository, FavoriteIndex favoriteIndex,
             RecipeMapper recipeMapper,
-            ValidationUti validationUti, RecipeStatisticsService recipeStatisticsService
+            ValidationUti validationUti, ViewRecorder viewRecorder,
+            RecipeCounterAggregator counterAggregator, RecipeStatisticsService recipeStatisticsService,
+            RecipeTrendingScores trendingScores, RecipeLeaderboards leaderboards, LabelUtils labelUtils,
+            RecipeSearchIndex searchIndex, SearchIndexConfig searchIndexConfig,
+            SearchFacetConfig searchFacetConfig, RecipeLabelIndex labelIndex,
+            RecipeDetailCache recipeDetailCache, ApplicationEventPublisher eventPublisher,
+            CursorUtils cursorUtils, PagingService pagingService
     ) {
         this.recipeRepository = recipeRepository;
-        this.recipeViewRepository = recipeViewRepository;
-        this.favoriteRepository = favoriteRepository;
+        this.favoriteIndex = favoriteIndex;
         this.recipeMapper = recipeMapper;
         this.validationUti = validationUti;
+        this.viewRecorder = viewRecorder;
+        this.counterAggregator = counterAggregator;
         this.recipeStatisticsService = recipeStatisticsService;
+        this.trendingScores = trendingScores;
+        this.leaderboards = leaderboards;
+        this.searchIndex = searchIndex;
+        this.searchIndexConfig = searchIndexConfig;
+        this.searchFacetConfig = searchFacetConfig;
+        this.labelIndex = labelIndex;
+        this.labelUtils = labelUtils;
+        this.recipeDetailCache = recipeDetailCache;
+        this.eventPublisher = eventPublisher;
+        this.cursorUtils = cursorUtils;
+        this.pagingService = pagingService;
     }
 
     // =====================================================
@@ -54,6 +117,8 @@ public class RecipeService {
         recipe.setChef(currentUser);
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        recipeStatisticsService.recipeCreated(savedRecipe.getId());
+        eventPublisher.publishEvent(RecipeChangedEvent.created(savedRecipe.getId()));
         return recipeMapper.toRecipeResponse(savedRecipe);
     }
 
@@ -61,35 +126,244 @@ public class RecipeService {
     // READ
     // =====================================================
 
-    @Transactional()
+    @Transactional(readOnly = true)
     public RecipeResponse getRecipeById(Long id, User currentUser) {
-        Recipe recipe = recipeRepository.findById(id)
+        RecipeResponse cached = recipeDetailCache.get(id);
+        if (cached == null) {
+            long generation = recipeDetailCache.generation(id);
+            Recipe recipe = recipeRepository.findDetailById(id)
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Recipe not found with id: " + id)
+                    );
+            cached = recipeMapper.toRecipeResponse(recipe);
+            recipeDetailCache.put(id, generation, cached);
+        }
+
+        // cached entries are shared, per-user fields go on a copy
+        RecipeResponse response = recipeMapper.copyRecipeResponse(cached);
+        addPendingCounts(response);
+
+        // anonymous readers get the public view without view tracking
+        if (currentUser == null) {
+            response.setIsFavorite(false);
+            return response;
+        }
+
+        recordView(id, currentUser);
+
+        response.setIsFavorite(favoriteIndex.isFavorite(currentUser.getId(), id));
+
+        return response;
+    }
+
+    /**
+     * Recipe cards for a list of ids (favorites strips, recommendations, recently viewed),
+     * in the requested order and without the per-recipe view tracking of {@link #getRecipeById}.
+     */
+    @Transactional(readOnly = true)
+    public RecipeBatchResponse getRecipesByIds(List<Long> ids, User currentUser) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        if (requestedIds.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+
+        List<RecipeListResponse> content = findCardsInOrder(requestedIds);
+        Set<Long> foundIds = content.stream().map(RecipeListResponse::getId).collect(Collectors.toSet());
+        List<Long> missingIds = requestedIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .toList();
+
+        favoriteIndex.markFavorites(currentUser, content);
+
+        return new RecipeBatchResponse(content, missingIds);
+    }
+
+    /**
+     * Highest trending scores first, optionally among the recipes carrying one label.
+     * The ranking comes from memory, the cards from one {@code IN} query.
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeListResponse> getTrendingRecipes(String label, int limit, User currentUser) {
+        String normalized = label == null ? null : labelUtils.normalizeLabelName(label);
+        int capacity = trendingScores.capacity(normalized);
+        if (limit < 1 || limit > capacity) {
+            throw new BadRequestException("limit must be between 1 and " + capacity);
+        }
+
+        List<RecipeListResponse> content = findCardsInOrder(trendingScores.top(normalized, limit));
+
+        favoriteIndex.markFavorites(currentUser, content);
+        return content;
+    }
+
+    /**
+     * A page of the in-memory leaderboard for {@code type}; only the page's cards are read
+     * from the database. Boards can be paged down to {@code leaderboards.max-rank}.
+     */
+    @Transactional(readOnly = true)
+    public LeaderboardResponse getLeaderboard(LeaderboardType type, int page, int size, User currentUser) {
+        if (size < 1 || size > CursorUtils.MAX_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + CursorUtils.MAX_SIZE);
+        }
+        if (page < 0 || (long) page * size >= leaderboards.maxRank()) {
+            throw new BadRequestException("Leaderboards only go " + leaderboards.maxRank() + " recipes deep");
+        }
+
+        int offset = page * size;
+        RecipeLeaderboards.Ranking ranking = leaderboards.page(type, offset, size);
+
+        List<Long> ids = new ArrayList<>(ranking.ids().length);
+        for (long id : ranking.ids()) {
+            ids.add(id);
+        }
+        Map<Long, RecipeListResponse> cards = findCardsInOrder(ids)
+                .stream()
+                .collect(Collectors.toMap(RecipeListResponse::getId, Function.identity()));
+        favoriteIndex.markFavorites(currentUser, cards.values());
+
+        List<RankedRecipeResponse> content = new ArrayList<>(cards.size());
+        for (int i = 0; i < ranking.ids().length; i++) {
+            RecipeListResponse card = cards.get(ranking.ids()[i]);
+            if (card != null) {
+                content.add(new RankedRecipeResponse(offset + i + 1, ranking.scores()[i], card));
+            }
+        }
+        return new LeaderboardResponse(type, content, page, size, ranking.hasNext());
+    }
+
+    // cards in the order of ids; ids without a recipe are skipped
+    private List<RecipeListResponse> findCardsInOrder(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, RecipeListResponse> found = recipeRepository.findListByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(RecipeListResponse::getId, Function.identity()));
+
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Counts a read of the recipe by a signed-in user, also when it was answered with 304
+     * Not Modified. Anonymous reads are not tracked.
+     */
+    public void recordView(Long id, User currentUser) {
+        if (currentUser == null) {
+            return;
+        }
+        // written in the background, deduplicated against recipe_views there
+        viewRecorder.record(currentUser.getId(), id);
+    }
+
+    /**
+     * Version of what {@link #getRecipeById} would return for this user, from the
+     * recipe row's version columns and one favorite lookup. View counts are left out.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getRecipeVersion(Long id, User currentUser) {
+        RecipeVersion version = recipeRepository.findVersionById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Recipe not found with id: " + id)
                 );
 
-        if (currentUser == null) {
-            throw new UnauthorizedException("You are not allowed to access this resource");
+        boolean isFavorite = currentUser != null
+                && favoriteIndex.isFavorite(currentUser.getId(), id);
+
+        return recipeVersion(
+                version.id(),
+                version.updatedAt(),
+                withPendingFavorites(version.favoritesCount(), counterAggregator.pendingFavorites(id)),
+                version.ratingCount(),
+                version.ratingSum(),
+                version.averageRating(),
+                isFavorite
+        );
+    }
+
+    public ResourceVersion getRecipeVersion(RecipeResponse response) {
+        return recipeVersion(
+                response.getId(),
+                response.getUpdatedAt(),
+                response.getFavoritesCount(),
+                response.getRatingCount(),
+                ratingSum(response.getRatingDistribution()),
+                response.getAverageRating(),
+                Boolean.TRUE.equals(response.getIsFavorite())
+        );
+    }
+
+    // counter deltas not yet flushed to the recipe row
+    private void addPendingCounts(RecipeResponse response) {
+        long pendingViews = counterAggregator.pendingViews(response.getId());
+        if (pendingViews != 0) {
+            response.setViewCount(Math.toIntExact(plus(response.getViewCount(), pendingViews)));
+        }
+        response.setFavoritesCount(withPendingFavorites(
+                response.getFavoritesCount(),
+                counterAggregator.pendingFavorites(response.getId())
+        ));
+    }
+
+    // the flush clamps favorite counts at zero, so do reads
+    private static Long withPendingFavorites(Long persisted, long pending) {
+        return pending == 0 ? persisted : Long.valueOf(Math.max(0, plus(persisted, pending)));
+    }
+
+    private static long plus(Number persisted, long pending) {
+        return (persisted == null ? 0 : persisted.longValue()) + pending;
+    }
+
+    private static ResourceVersion recipeVersion(
+            Long id,
+            LocalDateTime updatedAt,
+            Long favoritesCount,
+            Long ratingCount,
+            Long ratingSum,
+            BigDecimal averageRating,
+            boolean isFavorite
+    ) {
+        // 4.0 and 4 are the same rating, whichever way it was read
+        String rating = averageRating == null ? null : averageRating.stripTrailingZeros().toPlainString();
+        return ResourceVersion.of(updatedAt, "recipe", id, updatedAt, favoritesCount, ratingCount, ratingSum, rating, isFavorite);
+    }
+
+    // rating_sum as the response carries it; covers star moves the rounded average hides
+    private static Long ratingSum(Map<Integer, Long> distribution) {
+        if (distribution == null) {
+            return null;
         }
-        if (!recipeViewRepository.existsByUserAndRecipe(currentUser, recipe)) {
-            RecipeView recipeView = new RecipeView();
-            recipeView.setUser(currentUser);
-            recipeView.setRecipe(recipe);
-            recipeViewRepository.save(recipeView);
-            recipeStatisticsService.incrementViews(id);
+        long sum = 0;
+        for (Map.Entry<Integer, Long> bucket : distribution.entrySet()) {
+            sum += bucket.getKey() * bucket.getValue();
         }
+        return sum;
+    }
 
-        RecipeResponse response = recipeMapper.toRecipeResponse(recipe);
-        boolean isFavorite = favoriteRepository.existsByUserAndRecipe(currentUser, recipe);
-        response.setIsFavorite(isFavorite);
+    @Transactional(readOnly = true)
+    public Slice<RecipeListResponse> getAllRecipes(Pageable pageable, TotalMode totalMode, User currentUser) {
+        Slice<RecipeListResponse> recipes = pagingService.page(
+                totalMode,
+                "recipes",
+                () -> recipeRepository.findListPage(null, pageable),
+                () -> recipeRepository.findListSlice(null, pageable),
+                () -> recipeRepository.countList(null)
+        );
 
-        return response;
+        favoriteIndex.markFavorites(currentUser, recipes);
+        return recipes;
     }
 
     @Transactional(readOnly = true)
-    public Page<RecipeListResponse> getAllRecipes(Pageable pageable) {
-        return recipeRepository.findAll(pageable)
-                .map(recipeMapper::toRecipeListResponse);
+    public CursorPageResponse<RecipeListResponse> getAllRecipes(String cursor, int size, User currentUser) {
+        return findRecipeWindow(null, cursor, size, currentUser);
     }
 
     // =====================================================
@@ -98,7 +372,7 @@ public class RecipeService {
 
     @Transactional
     public RecipeResponse updateRecipe(UpdateRecipeRequest request, User currentUser) {
-        Recipe recipe = recipeRepository.findById(request.getId())
+        Recipe recipe = recipeRepository.findDetailById(request.getId())
                 .orElseThrow(() ->
                         new ResourceNotFoundException(
                                 "Recipe not found with id: " + request.getId()
@@ -110,6 +384,7 @@ public class RecipeService {
         recipeMapper.updateRecipeFromRequest(request, recipe);
 
         Recipe updatedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(request.getId()));
         return recipeMapper.toRecipeResponse(updatedRecipe);
     }
 
@@ -126,7 +401,9 @@ public class RecipeService {
 
         validationUti.validateRecipeOwnership(recipe, currentUser);
 
+        recipeStatisticsService.recipeDeleted(id);
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(id));
     }
 
     // =====================================================
@@ -134,22 +411,275 @@ public class RecipeService {
     // =====================================================
 
     @Transactional(readOnly = true)
-    public Page<RecipeListResponse> searchRecipes(
+    public Slice<RecipeListResponse> searchRecipes(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            Pageable pageable,
+            TotalMode totalMode,
+            User currentUser
+    ) {
+
+        Specification<Recipe> specification = searchSpecification(keyword, labels, labelsMode, chefId, difficulty);
+
+        Slice<RecipeListResponse> recipes = pagingService.page(
+                totalMode,
+                searchSignature(keyword, labels, labelsMode, chefId, difficulty),
+                () -> recipeRepository.findListPage(specification, pageable),
+                () -> recipeRepository.findListSlice(specification, pageable),
+                () -> recipeRepository.countList(specification)
+        );
+
+        favoriteIndex.markFavorites(currentUser, recipes);
+        return recipes;
+    }
+
+    /**
+     * {@link SearchMode#FULLTEXT} variant of {@link #searchRecipes}: BM25-ranked ids from
+     * the full-text index, best match first (the requested sort does not apply), hydrated
+     * in one query. Without a keyword there is nothing to rank and the database search
+     * answers instead. Results reach {@code search.index.max-results} deep.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeListResponse> searchRecipesFullText(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            Pageable pageable,
+            TotalMode totalMode,
+            User currentUser
+    ) {
+        if (keyword == null || keyword.isBlank()) {
+            return searchRecipes(keyword, labels, labelsMode, chefId, difficulty, pageable, totalMode, currentUser);
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > searchIndexConfig.getMaxResults()) {
+            throw new BadRequestException("Full-text results only go " + searchIndexConfig.getMaxResults() + " deep");
+        }
+
+        RecipeSearchIndex.Hits hits = searchIndex.search(
+                keyword,
+                labels,
+                labelsMode,
+                chefId,
+                difficulty,
+                (int) pageable.getOffset(),
+                pageable.getPageSize(),
+                totalMode == TotalMode.EXACT
+        );
+        List<RecipeListResponse> content = findCardsInOrder(hits.ids());
+        favoriteIndex.markFavorites(currentUser, content);
+
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (totalMode == TotalMode.NONE) {
+            return new SliceImpl<>(content, page, hits.hasNext());
+        }
+        return new PageImpl<>(content, page, hits.total());
+    }
+
+    /**
+     * {@link SearchMode#MATCH} variant of {@link #searchRecipes}: every keyword word must match
+     * title, description or instructions through the InnoDB FULLTEXT index (as a prefix), most
+     * relevant first (the requested sort does not apply). Keywords with no indexable word fall
+     * back to the database search.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecipeListResponse> searchRecipesMatch(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            Pageable pageable,
+            TotalMode totalMode,
+            User currentUser
+    ) {
+        String booleanModeQuery = RecipeSpecification.booleanModeQuery(keyword);
+        if (booleanModeQuery == null) {
+            return searchRecipes(keyword, labels, labelsMode, chefId, difficulty, pageable, totalMode, currentUser);
+        }
+
+        Specification<Recipe> specification =
+                matchSpecification(booleanModeQuery, labels, labelsMode, chefId, difficulty);
+
+        Slice<RecipeListResponse> recipes = pagingService.page(
+                totalMode,
+                "match:" + searchSignature(booleanModeQuery, labels, labelsMode, chefId, difficulty),
+                () -> recipeRepository.findListPageByRelevance(specification, booleanModeQuery, pageable),
+                () -> recipeRepository.findListSliceByRelevance(specification, booleanModeQuery, pageable),
+                () -> recipeRepository.countList(specification)
+        );
+
+        favoriteIndex.markFavorites(currentUser, recipes);
+        return recipes;
+    }
+
+    /**
+     * Bucket counts for the search filters over the matches of a search in {@code mode}: one
+     * grouped query per facet, the {@code search.facets.max-buckets} largest buckets each. A facet
+     * leaves out its own filter, so its buckets show what each value would yield instead of (for
+     * labels: besides) the selected ones. Fulltext facets count the matches a fulltext page can
+     * reach ({@code search.index.max-results}).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FacetBucketResponse>> searchFacets(
+            SearchMode mode,
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty,
+            Set<SearchFacet> facets
+    ) {
+        Map<String, List<FacetBucketResponse>> result = new LinkedHashMap<>();
+        for (SearchFacet facet : facets) {
+            Specification<Recipe> specification = facetSpecification(
+                    mode,
+                    keyword,
+                    facet == SearchFacet.LABELS ? null : labels,
+                    labelsMode,
+                    facet == SearchFacet.CHEF ? null : chefId,
+                    facet == SearchFacet.DIFFICULTY ? null : difficulty
+            );
+
+            List<FacetBucketResponse> buckets = recipeRepository
+                    .findFacetCounts(specification, facet, searchFacetConfig.getMaxBuckets())
+                    .stream()
+                    .map(count -> new FacetBucketResponse(count.value(), count.name(), count.count()))
+                    .toList();
+            result.put(facet.key(), buckets);
+        }
+        return result;
+    }
+
+    // the recipes a search in this mode matches, whatever the order
+    private Specification<Recipe> facetSpecification(
+            SearchMode mode,
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty
+    ) {
+        if (mode == SearchMode.FULLTEXT && keyword != null && !keyword.isBlank()) {
+            RecipeSearchIndex.Hits hits = searchIndex.search(
+                    keyword, labels, labelsMode, chefId, difficulty, 0, searchIndexConfig.getMaxResults(), false
+            );
+            return RecipeSpecification.hasIds(hits.ids());
+        }
+        if (mode == SearchMode.MATCH) {
+            String booleanModeQuery = RecipeSpecification.booleanModeQuery(keyword);
+            if (booleanModeQuery != null) {
+                return matchSpecification(booleanModeQuery, labels, labelsMode, chefId, difficulty);
+            }
+        }
+        return searchSpecification(keyword, labels, labelsMode, chefId, difficulty);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RecipeListResponse> searchRecipes(
             String keyword,
             List<String> labels,
+            LabelFilterMode labelsMode,
             Long chefId,
             RecipeDifficulty difficulty,
-            Pageable pageable
+            String cursor,
+            int size,
+            User currentUser
     ) {
+        Specification<Recipe> specification = searchSpecification(keyword, labels, labelsMode, chefId, difficulty);
+
+        return findRecipeWindow(specification, cursor, size, currentUser);
+    }
 
-        Specification<Recipe> specification = Specification.allOf(
+    private Specification<Recipe> searchSpecification(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty
+    ) {
+        return Specification.allOf(
                 RecipeSpecification.hasKeyword(keyword),
-                RecipeSpecification.hasLabels(labels),
+                labelSpecification(labels, labelsMode),
+                RecipeSpecification.hasChef(chefId),
+                RecipeSpecification.hasDifficulty(difficulty)
+        );
+    }
+
+    private Specification<Recipe> matchSpecification(
+            String booleanModeQuery,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty
+    ) {
+        return Specification.allOf(
+                RecipeSpecification.matchesKeyword(booleanModeQuery),
+                labelSpecification(labels, labelsMode),
                 RecipeSpecification.hasChef(chefId),
                 RecipeSpecification.hasDifficulty(difficulty)
         );
+    }
+
+    // from the label bitmaps when they can answer, as a subquery otherwise
+    private Specification<Recipe> labelSpecification(List<String> labels, LabelFilterMode labelsMode) {
+        List<String> names = labels == null ? List.of() : labels.stream()
+                .filter(label -> label != null && !label.isBlank())
+                .map(labelUtils::normalizeLabelName)
+                .distinct()
+                .toList();
+        if (names.isEmpty()) {
+            return RecipeSpecification.hasLabels(names, labelsMode);
+        }
+
+        RecipeLabelIndex.Selection selection = labelIndex.select(names, labelsMode);
+        if (selection == null) {
+            return RecipeSpecification.hasLabels(names, labelsMode);
+        }
+
+        List<Long> ids = Arrays.stream(selection.ids()).boxed().toList();
+        return selection.excluded() ? RecipeSpecification.lacksIds(ids) : RecipeSpecification.hasIds(ids);
+    }
+
+    // identifies the filtered set for approximate totals; paging and sort do not change the count
+    private static String searchSignature(
+            String keyword,
+            List<String> labels,
+            LabelFilterMode labelsMode,
+            Long chefId,
+            RecipeDifficulty difficulty
+    ) {
+        return "recipes"
+                + "|" + (keyword == null ? "" : keyword.trim().toLowerCase())
+                + "|" + (labels == null ? "" : labels.stream().sorted().toList()) + labelsMode
+                + "|" + (chefId == null ? "" : chefId)
+                + "|" + (difficulty == null ? "" : difficulty);
+    }
+
+    private CursorPageResponse<RecipeListResponse> findRecipeWindow(
+            Specification<Recipe> specification,
+            String cursor,
+            int size,
+            User currentUser
+    ) {
+        CursorUtils.Cursor after = cursorUtils.decode(cursor);
+        int limit = cursorUtils.validateSize(size);
+
+        List<RecipeListResponse> rows = recipeRepository.findListAfter(
+                specification,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                limit + 1
+        );
+
+        CursorPageResponse<RecipeListResponse> window =
+                cursorUtils.page(rows, limit, row -> row, RecipeListResponse::getCreatedAt, RecipeListResponse::getId);
 
-        return recipeRepository.findAll(specification, pageable)
-                .map(recipeMapper::toRecipeListResponse);
+        favoriteIndex.markFavorites(currentUser, window.getContent());
+        return window;
     }
 }
\ No newline at end of file
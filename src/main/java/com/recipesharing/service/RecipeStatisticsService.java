@@ -4,59 +4,161 @@ import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.RecipeView;
 import com.recipesharing.entity.User;
 import com.recipesharing.exception.ResourceNotFoundException;
+import com.recipesharing.repository.ChefStatsRepository;
 import com.recipesharing.repository.RecipeRepository;
 import com.recipesharing.repository.RecipeViewRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 
 @Service
 public class RecipeStatisticsService {
 
     private final RecipeRepository recipeRepository;
+    private final ChefStatsRepository chefStatsRepository;
+    private final RecipeCounterAggregator counterAggregator;
+    private final RecipeStatsRollup statsRollup;
+    private final RecipeTrendingScores trendingScores;
+    private final RecipeLeaderboards leaderboards;
+    private final RecipeViewerSketches viewerSketches;
+    private final ViewCompactionJob viewCompactionJob;
 
-    public RecipeStatisticsService(RecipeRepository recipeRepository) {
+    public RecipeStatisticsService(
+            RecipeRepository recipeRepository,
+            ChefStatsRepository chefStatsRepository,
+            RecipeCounterAggregator counterAggregator,
+            RecipeStatsRollup statsRollup,
+            RecipeTrendingScores trendingScores,
+            RecipeLeaderboards leaderboards,
+            RecipeViewerSketches viewerSketches,
+            ViewCompactionJob viewCompactionJob
+    ) {
         this.recipeRepository = recipeRepository;
+        this.chefStatsRepository = chefStatsRepository;
+        this.counterAggregator = counterAggregator;
+        this.statsRollup = statsRollup;
+        this.trendingScores = trendingScores;
+        this.leaderboards = leaderboards;
+        this.viewerSketches = viewerSketches;
+        this.viewCompactionJob = viewCompactionJob;
     }
 
     // --------------------
-    // Views
+    // Recipes
     // --------------------
 
+    // chef_stats follows the recipe in the caller's transaction; view and favorite deltas
+    // reach it with the counter flush (see RecipeCounterAggregator).
+
+    /**
+     * Call once the new recipe row has been inserted.
+     */
+    @Transactional
+    public void recipeCreated(Long recipeId) {
+        chefStatsRepository.applyRecipe(recipeId, 1);
+    }
+
+    /**
+     * Call before the recipe row is deleted: takes its persisted totals off its chef and
+     * deletes what is stored about it outside its own tables, all in that transaction.
+     */
     @Transactional
-    public void incrementViews(Long recipeId) {
-        recipeRepository.increaseViewCount(recipeId);
+    public void recipeDeleted(Long recipeId) {
+        chefStatsRepository.applyRecipe(recipeId, -1);
+        statsRollup.recipeDeleted(recipeId);
+        viewerSketches.recipeDeleted(recipeId);
+        viewCompactionJob.recipeDeleted(recipeId);
+    }
+
+    // --------------------
+    // Views
+    // --------------------
+
+    // Counter deltas are buffered by RecipeCounterAggregator and only handed over once the
+    // caller's transaction commits, so a rolled-back favorite never reaches the count.
+
+    /**
+     * Unique views that {@link ViewRecorder} has written (or counted into the sketches).
+     */
+    public void viewsRecorded(Long recipeId, long views, LocalDateTime viewedAt) {
+        afterCommit(() -> {
+            counterAggregator.addViews(recipeId, views);
+            statsRollup.recordViews(recipeId, views, viewedAt);
+            trendingScores.recordViews(recipeId, views);
+            leaderboards.viewsAdded(recipeId, views);
+        });
     }
 
     // --------------------
     // Favorites
     // --------------------
 
-    @Transactional
     public void increaseFavorites(Long recipeId) {
-        recipeRepository.increaseFavoritesCount(recipeId);
+        afterCommit(() -> {
+            counterAggregator.addFavorites(recipeId, 1);
+            statsRollup.recordFavorite(recipeId, true, LocalDateTime.now());
+            leaderboards.favoritesAdded(recipeId, 1);
+        });
     }
 
-    @Transactional
     public void decreaseFavorites(Long recipeId) {
-        recipeRepository.decreaseFavoritesCount(recipeId);
+        afterCommit(() -> {
+            counterAggregator.addFavorites(recipeId, -1);
+            statsRollup.recordFavorite(recipeId, false, LocalDateTime.now());
+            leaderboards.favoritesAdded(recipeId, -1);
+        });
     }
 
     // --------------------
     // Ratings
     // --------------------
 
+    // Deltas against rating_sum / rating_count / star buckets and the chef's totals, in the
+    // caller's transaction; RatingReconciliationJob checks them against the ratings table.
+    // The leaderboards follow after commit.
+
+    @Transactional
+    public void ratingAdded(Long recipeId, int rating) {
+        applyRatingChange(recipeId, null, rating);
+    }
+
     @Transactional
-    public void updateRatingStats(Long recipeId) {
-        Double avg = recipeRepository.findAverageRatingById(recipeId);
-        Long count = recipeRepository.countRatingsById(recipeId);
+    public void ratingChanged(Long recipeId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            applyRatingChange(recipeId, oldRating, newRating);
+        }
+    }
+
+    @Transactional
+    public void ratingRemoved(Long recipeId, int rating) {
+        applyRatingChange(recipeId, rating, null);
+    }
 
-        recipeRepository.updateRatingStats(
+    private void applyRatingChange(Long recipeId, Integer removedRating, Integer addedRating) {
+        recipeRepository.applyRatingChange(recipeId, removedRating, addedRating);
+        chefStatsRepository.applyRatingChange(
                 recipeId,
-                avg != null ? avg : 0.0,
-                count != null ? count : 0
+                (addedRating == null ? 0 : addedRating) - (removedRating == null ? 0 : removedRating),
+                (addedRating == null ? 0 : 1) - (removedRating == null ? 0 : 1)
         );
+        afterCommit(() -> leaderboards.ratingChanged(recipeId, removedRating, addedRating));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
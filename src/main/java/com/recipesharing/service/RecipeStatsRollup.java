@@ -0,0 +1,185 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.StatsRollupConfig;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeStatsRepository;
+import com.recipesharing.repository.RecipeStatsRepositoryCustom.StatsDelta;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hourly and daily activity rollups per recipe, fed from the view writer and the
+ * favorite path. Deltas are summed in memory per (recipe, hour) and flushed
+ * periodically as batched upserts into recipe_stats_hourly and recipe_stats_daily, in
+ * one transaction. Hourly rows are purged after the retention period; daily rows stay.
+ */
+@Service
+public class RecipeStatsRollup {
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeStatsRollup.class);
+
+    private static final int VIEWS = 0;
+    private static final int FAVORITES_ADDED = 1;
+    private static final int FAVORITES_REMOVED = 2;
+
+    // writers and the flush only touch entries through compute / remove, which lock the bin
+    private final ConcurrentHashMap<HourKey, long[]> pending = new ConcurrentHashMap<>();
+    private final StatsRollupConfig config;
+    private final RecipeStatsRepository statsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer flushTimer;
+
+    public RecipeStatsRollup(
+            StatsRollupConfig config,
+            RecipeStatsRepository statsRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.statsRepository = statsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushTimer = meterRegistry.timer("stats.rollup.flush");
+        meterRegistry.gauge("stats.rollup.pending", pending, Map::size);
+    }
+
+    // =====================================================
+    // WRITES
+    // =====================================================
+
+    public void recordViews(Long recipeId, long views, LocalDateTime at) {
+        add(recipeId, at, VIEWS, views);
+    }
+
+    public void recordFavorite(Long recipeId, boolean added, LocalDateTime at) {
+        add(recipeId, at, added ? FAVORITES_ADDED : FAVORITES_REMOVED, 1);
+    }
+
+    private void add(Long recipeId, LocalDateTime at, int column, long amount) {
+        if (amount == 0) {
+            return;
+        }
+        HourKey key = new HourKey(recipeId, at.truncatedTo(ChronoUnit.HOURS));
+        pending.compute(key, (k, counts) -> {
+            long[] updated = counts == null ? new long[3] : counts;
+            updated[column] += amount;
+            return updated;
+        });
+    }
+
+    /**
+     * Deletes the recipe's hourly and daily rows in the caller's transaction, the one
+     * deleting the recipe (see {@link RecipeStatisticsService#recipeDeleted}). Its pending
+     * deltas are dropped once that commits.
+     */
+    public void recipeDeleted(Long recipeId) {
+        statsRepository.deleteByRecipeId(recipeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            pending.keySet().removeIf(key -> key.recipeId().equals(event.recipeId()));
+        }
+    }
+
+    // =====================================================
+    // FLUSH
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${stats.rollup.flush-interval:5s}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int buckets = pending.size();
+        flush();
+        logger.info("Flushed {} pending stats buckets on shutdown", buckets);
+    }
+
+    public synchronized void flush() {
+        List<StatsDelta> hourly = new ArrayList<>();
+        for (HourKey key : List.copyOf(pending.keySet())) {
+            long[] counts = pending.remove(key);
+            if (counts != null) {
+                hourly.add(new StatsDelta(
+                        key.recipeId(), key.hour(), counts[VIEWS], counts[FAVORITES_ADDED], counts[FAVORITES_REMOVED]
+                ));
+            }
+        }
+        if (hourly.isEmpty()) {
+            return;
+        }
+
+        List<StatsDelta> daily = toDaily(hourly);
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                statsRepository.upsertHourly(hourly);
+                statsRepository.upsertDaily(daily);
+            }));
+        } catch (RuntimeException e) {
+            for (StatsDelta delta : hourly) {
+                add(delta.recipeId(), delta.periodStart(), VIEWS, delta.views());
+                add(delta.recipeId(), delta.periodStart(), FAVORITES_ADDED, delta.favoritesAdded());
+                add(delta.recipeId(), delta.periodStart(), FAVORITES_REMOVED, delta.favoritesRemoved());
+            }
+            logger.warn("Could not flush {} stats buckets, keeping them for the next attempt", hourly.size(), e);
+        }
+    }
+
+    private static List<StatsDelta> toDaily(List<StatsDelta> hourly) {
+        Map<HourKey, long[]> days = new LinkedHashMap<>();
+        for (StatsDelta delta : hourly) {
+            HourKey day = new HourKey(delta.recipeId(), delta.periodStart().truncatedTo(ChronoUnit.DAYS));
+            long[] counts = days.computeIfAbsent(day, k -> new long[3]);
+            counts[VIEWS] += delta.views();
+            counts[FAVORITES_ADDED] += delta.favoritesAdded();
+            counts[FAVORITES_REMOVED] += delta.favoritesRemoved();
+        }
+
+        List<StatsDelta> daily = new ArrayList<>(days.size());
+        days.forEach((day, counts) -> daily.add(new StatsDelta(
+                day.recipeId(), day.hour(), counts[VIEWS], counts[FAVORITES_ADDED], counts[FAVORITES_REMOVED]
+        )));
+        return daily;
+    }
+
+    // =====================================================
+    // RETENTION
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${stats.rollup.purge-interval:1h}")
+    public void purgeHourly() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getHourlyRetention()).truncatedTo(ChronoUnit.HOURS);
+        int deleted;
+        int total = 0;
+        do {
+            // bounded deletes keep each statement's locks short
+            deleted = statsRepository.deleteHourlyBefore(cutoff, config.getPurgeBatchSize());
+            total += deleted;
+        } while (deleted == config.getPurgeBatchSize());
+
+        if (total > 0) {
+            logger.info("Purged {} hourly stats rows before {}", total, cutoff);
+        }
+    }
+
+    private record HourKey(Long recipeId, LocalDateTime hour) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.StatsRollupConfig;
+import com.recipesharing.dto.response.StatsBucketResponse;
+import com.recipesharing.entity.Recipe;
+import com.recipesharing.entity.User;
+import com.recipesharing.exception.BadRequestException;
+import com.recipesharing.exception.ResourceNotFoundException;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeStatsRepository;
+import com.recipesharing.util.ValidationUti;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Chef dashboards over the rollup tables. Every series is dense: periods without
+ * activity are returned as zero buckets, oldest first, ending with the current period.
+ */
+@Service
+public class RecipeStatsService {
+
+    private final RecipeStatsRepository statsRepository;
+    private final RecipeRepository recipeRepository;
+    private final ValidationUti validationUti;
+    private final StatsRollupConfig config;
+
+    public RecipeStatsService(
+            RecipeStatsRepository statsRepository,
+            RecipeRepository recipeRepository,
+            ValidationUti validationUti,
+            StatsRollupConfig config
+    ) {
+        this.statsRepository = statsRepository;
+        this.recipeRepository = recipeRepository;
+        this.validationUti = validationUti;
+        this.config = config;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatsBucketResponse> getDailyStatsForChef(User chef, int days) {
+        LocalDate from = firstDay(days);
+        return dense(
+                statsRepository.findDailyByChef(chef.getId(), from),
+                from.atStartOfDay(), days, ChronoUnit.DAYS
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatsBucketResponse> getDailyStats(Long recipeId, User currentUser, int days) {
+        validateOwner(recipeId, currentUser);
+        LocalDate from = firstDay(days);
+        return dense(
+                statsRepository.findDailyByRecipe(recipeId, from),
+                from.atStartOfDay(), days, ChronoUnit.DAYS
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatsBucketResponse> getHourlyStats(Long recipeId, User currentUser, int hours) {
+        if (hours < 1 || hours > config.getMaxHours()) {
+            throw new BadRequestException("hours must be between 1 and " + config.getMaxHours());
+        }
+        validateOwner(recipeId, currentUser);
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+        return dense(
+                statsRepository.findHourlyByRecipe(recipeId, from),
+                from, hours, ChronoUnit.HOURS
+        );
+    }
+
+    private LocalDate firstDay(int days) {
+        if (days < 1 || days > config.getMaxDays()) {
+            throw new BadRequestException("days must be between 1 and " + config.getMaxDays());
+        }
+        return LocalDate.now().minusDays(days - 1L);
+    }
+
+    private void validateOwner(Long recipeId, User currentUser) {
+        Recipe recipe = recipeRepository.findById(recipeId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Recipe not found with id: " + recipeId)
+                );
+        validationUti.validateRecipeOwnership(recipe, currentUser);
+    }
+
+    private static List<StatsBucketResponse> dense(
+            List<StatsBucketResponse> rows,
+            LocalDateTime from,
+            int periods,
+            TemporalUnit unit
+    ) {
+        Map<LocalDateTime, StatsBucketResponse> byStart = rows.stream()
+                .collect(Collectors.toMap(StatsBucketResponse::getPeriodStart, Function.identity()));
+
+        List<StatsBucketResponse> series = new ArrayList<>(periods);
+        for (int i = 0; i < periods; i++) {
+            LocalDateTime start = from.plus(i, unit);
+            StatsBucketResponse bucket = byStart.get(start);
+            series.add(bucket != null ? bucket : new StatsBucketResponse(start, 0, 0, 0));
+        }
+        return series;
+    }
+}
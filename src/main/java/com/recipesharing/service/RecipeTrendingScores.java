@@ -0,0 +1,332 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.TrendingConfig;
+import com.recipesharing.entity.RecipeTrendingScore;
+import com.recipesharing.event.FavoriteChangedEvent;
+import com.recipesharing.event.RatingChangedEvent;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeTrendingScoreRepository;
+import com.recipesharing.util.TopKHeap;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exponentially decayed engagement score per recipe, kept in memory: unique views,
+ * favorites and ratings add to it, and it halves every {@code trending.half-life}.
+ * <p>
+ * Scores are stored forward-decayed, i.e. relative to a landmark time: an interaction at
+ * {@code t} adds {@code weight * e^(lambda * (t - landmark))} instead of decaying every
+ * other score. Time passing therefore never reorders recipes, and a {@link TopKHeap} of
+ * the best {@code capacity} recipes (plus one per label) stays valid between events. The
+ * landmark is moved forward, and every score rescaled, before the exponent gets large.
+ * <p>
+ * Each snapshot rescales to "now", forgets recipes below {@code min-score}, rebuilds the
+ * heaps from the full table (unfavorites and low ratings lower scores, which a heap alone
+ * does not track exactly) and replaces {@code recipe_trending_scores}. Startup restores
+ * from that table, decayed by the time since it was written.
+ */
+@Service
+public class RecipeTrendingScores {
+
+    // rescale before e^(lambda * age) gets anywhere near the double range
+    private static final double MAX_EXPONENT = 30;
+    private static final int LOAD_CHUNK = 1_000;
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeTrendingScores.class);
+
+    private final TrendingConfig config;
+    private final RecipeRepository recipeRepository;
+    private final RecipeTrendingScoreRepository scoreRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // decay rate per millisecond
+    private final double lambda;
+
+    // guarded by this
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TopKHeap top;
+    private final Map<String, TopKHeap> topByLabel = new HashMap<>();
+    private long landmark = System.currentTimeMillis();
+
+    // labels of scored recipes; reloaded for recipes changed since the last snapshot
+    private final Map<Long, Set<String>> labelsByRecipe = new ConcurrentHashMap<>();
+    private final Set<Long> staleLabels = ConcurrentHashMap.newKeySet();
+
+    public RecipeTrendingScores(
+            TrendingConfig config,
+            RecipeRepository recipeRepository,
+            RecipeTrendingScoreRepository scoreRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.recipeRepository = recipeRepository;
+        this.scoreRepository = scoreRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lambda = Math.log(2) / config.getHalfLife().toMillis();
+        this.top = new TopKHeap(config.getCapacity());
+
+        meterRegistry.gauge("trending.recipes", this, RecipeTrendingScores::size);
+    }
+
+    // =====================================================
+    // EVENTS
+    // =====================================================
+
+    /**
+     * Unique views, as counted by {@link ViewRecorder}.
+     */
+    public void recordViews(Long recipeId, long views) {
+        add(recipeId, views * config.getViewWeight());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        add(event.recipeId(), event.added() ? config.getFavoriteWeight() : -config.getFavoriteWeight());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(RatingChangedEvent event) {
+        double weight = 0;
+        if (event.newRating() != null) {
+            weight += (event.newRating() - 3) * config.getRatingWeight();
+        }
+        if (event.oldRating() != null) {
+            weight -= (event.oldRating() - 3) * config.getRatingWeight();
+        }
+        if (weight != 0) {
+            add(event.recipeId(), weight);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            remove(event.recipeId());
+        } else if (event.type() == RecipeChangedEvent.ChangeType.UPDATED && labelsByRecipe.containsKey(event.recipeId())) {
+            // labels may have changed; picked up at the next snapshot
+            staleLabels.add(event.recipeId());
+        }
+    }
+
+    // =====================================================
+    // READ
+    // =====================================================
+
+    /**
+     * Ids of the highest-scored recipes, best first; with a label, among the recipes
+     * carrying it. Empty for labels nobody has engaged with.
+     */
+    public synchronized List<Long> top(String label, int limit) {
+        TopKHeap heap = label == null ? top : topByLabel.get(label);
+        if (heap == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, heap.size()));
+        for (long id : heap.top(limit)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Current (decayed) score of a recipe, 0 if it is not tracked.
+     */
+    public synchronized double score(Long recipeId) {
+        Double score = scores.get(recipeId);
+        return score == null ? 0 : score * Math.exp(-lambda * (System.currentTimeMillis() - landmark));
+    }
+
+    /**
+     * Longest list {@link #top} can return for this label (or overall, for null).
+     */
+    public int capacity(String label) {
+        return label == null ? config.getCapacity() : config.getLabelCapacity();
+    }
+
+    private synchronized int size() {
+        return scores.size();
+    }
+
+    // =====================================================
+    // SCORING
+    // =====================================================
+
+    private void add(Long recipeId, double weight) {
+        Set<String> labels = labelsOf(recipeId);
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            rescaleIfNeeded(now);
+
+            double boost = weight * Math.exp(lambda * (now - landmark));
+            double score = Math.max(0, scores.getOrDefault(recipeId, 0.0) + boost);
+            scores.put(recipeId, score);
+            offer(recipeId, score, labels);
+        }
+    }
+
+    private synchronized void remove(Long recipeId) {
+        scores.remove(recipeId);
+        top.remove(recipeId);
+        Set<String> labels = labelsByRecipe.remove(recipeId);
+        if (labels != null) {
+            for (String label : labels) {
+                TopKHeap heap = topByLabel.get(label);
+                if (heap != null) {
+                    heap.remove(recipeId);
+                }
+            }
+        }
+        staleLabels.remove(recipeId);
+    }
+
+    private void offer(long recipeId, double score, Set<String> labels) {
+        top.offer(recipeId, score);
+        for (String label : labels) {
+            topByLabel.computeIfAbsent(label, l -> new TopKHeap(config.getLabelCapacity())).offer(recipeId, score);
+        }
+    }
+
+    private Set<String> labelsOf(Long recipeId) {
+        if (!config.isSegmentByLabel()) {
+            return Set.of();
+        }
+        Set<String> labels = labelsByRecipe.get(recipeId);
+        if (labels == null) {
+            // first interaction with this recipe: one lookup outside the lock
+            labels = recipeRepository.findLabelNames(List.of(recipeId)).getOrDefault(recipeId, Set.of());
+            labelsByRecipe.put(recipeId, labels);
+        }
+        return labels;
+    }
+
+    // guarded by this
+    private void rescaleIfNeeded(long now) {
+        if (lambda * (now - landmark) > MAX_EXPONENT) {
+            rescale(now);
+        }
+    }
+
+    // guarded by this
+    private void rescale(long now) {
+        double factor = Math.exp(-lambda * (now - landmark));
+        scores.replaceAll((id, score) -> score * factor);
+        top.scale(factor);
+        topByLabel.values().forEach(heap -> heap.scale(factor));
+        landmark = now;
+    }
+
+    // guarded by this
+    private void rebuild() {
+        top.clear();
+        topByLabel.clear();
+        scores.forEach((id, score) -> offer(id, score, labelsByRecipe.getOrDefault(id, Set.of())));
+    }
+
+    // =====================================================
+    // SNAPSHOT
+    // =====================================================
+
+    @Scheduled(
+            fixedDelayString = "${trending.snapshot-interval:5m}",
+            initialDelayString = "${trending.snapshot-interval:5m}"
+    )
+    public void snapshotScheduled() {
+        snapshot();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    public void snapshot() {
+        reloadStaleLabels();
+
+        LocalDateTime scoredAt = LocalDateTime.now();
+        Map<Long, Double> current;
+        synchronized (this) {
+            // landmark = now: stored scores are current scores from here on
+            rescale(System.currentTimeMillis());
+            scores.values().removeIf(score -> score < config.getMinScore());
+            labelsByRecipe.keySet().retainAll(scores.keySet());
+            rebuild();
+            current = new HashMap<>(scores);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> scoreRepository.replaceAll(current, scoredAt));
+        } catch (RuntimeException e) {
+            // the in-memory scores are authoritative, the next snapshot retries
+            logger.warn("Could not snapshot {} trending scores", current.size(), e);
+        }
+    }
+
+    private void reloadStaleLabels() {
+        if (staleLabels.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(staleLabels);
+        staleLabels.removeAll(ids);
+
+        Map<Long, Set<String>> labels = recipeRepository.findLabelNames(ids);
+        for (Long id : ids) {
+            labelsByRecipe.computeIfPresent(id, (k, old) -> labels.getOrDefault(id, Set.of()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<RecipeTrendingScore> rows = scoreRepository.findAll();
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Double> restored = new HashMap<>(rows.size() * 2);
+        for (RecipeTrendingScore row : rows) {
+            long age = Math.max(0, Duration.between(row.getScoredAt(), now).toMillis());
+            double score = row.getScore() * Math.exp(-lambda * age);
+            if (score >= config.getMinScore()) {
+                restored.put(row.getRecipeId(), score);
+            }
+        }
+
+        if (config.isSegmentByLabel()) {
+            List<Long> ids = new ArrayList<>(restored.keySet());
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size()));
+                Map<Long, Set<String>> labels = recipeRepository.findLabelNames(chunk);
+                chunk.forEach(id -> labelsByRecipe.putIfAbsent(id, labels.getOrDefault(id, Set.of())));
+            }
+        }
+
+        synchronized (this) {
+            rescale(System.currentTimeMillis());
+            // events may have arrived since startup, add rather than overwrite
+            restored.forEach((id, score) -> scores.merge(id, score, Double::sum));
+            rebuild();
+        }
+        logger.info("Restored {} trending scores", restored.size());
+    }
+}
@@ -0,0 +1,239 @@
+package com.recipesharing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.recipesharing.config.ViewSketchConfig;
+import com.recipesharing.config.ViewSketchConfig.Mode;
+import com.recipesharing.entity.RecipeViewSketch;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeViewRepository;
+import com.recipesharing.repository.RecipeViewSketchRepository;
+import com.recipesharing.util.HyperLogLog;
+import com.recipesharing.util.PartitionedBloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate unique-viewer tracking ({@code views.unique.mode=APPROXIMATE}). Each recipe
+ * has a HyperLogLog sketch that drives its view count and a partitioned Bloom filter that
+ * lets the read path skip repeat views before they are queued. Sketches live in a bounded
+ * cache, are loaded from {@code recipe_view_sketches} on first use (seeded from
+ * {@code recipe_views} when a recipe has none yet) and written back periodically, on
+ * eviction and on shutdown.
+ * <p>
+ * Only the background view writer mutates sketches; request threads read the Bloom
+ * filter without locking.
+ */
+@Service
+public class RecipeViewerSketches {
+
+    private final Logger logger = LoggerFactory.getLogger(RecipeViewerSketches.class);
+
+    private final ViewSketchConfig config;
+    private final RecipeViewSketchRepository sketchRepository;
+    private final RecipeViewRepository recipeViewRepository;
+    private final Cache<Long, Sketch> cache;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public RecipeViewerSketches(
+            ViewSketchConfig config,
+            RecipeViewSketchRepository sketchRepository,
+            RecipeViewRepository recipeViewRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.sketchRepository = sketchRepository;
+        this.recipeViewRepository = recipeViewRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .evictionListener((Long recipeId, Sketch sketch, RemovalCause cause) -> {
+                    if (recipeId != null && sketch != null && dirty.remove(recipeId)) {
+                        save(List.of(sketch.snapshot(recipeId)));
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recipeViewerSketches");
+    }
+
+    public boolean isEnabled() {
+        return config.getMode() == Mode.APPROXIMATE;
+    }
+
+    // =====================================================
+    // READ PATH
+    // =====================================================
+
+    /**
+     * {@code true} if the user has probably viewed the recipe already. Only answers from
+     * sketches that are already in memory and not too full, anything else is "no" and
+     * left to the writer.
+     */
+    public boolean hasProbablyViewed(Long userId, Long recipeId) {
+        Sketch sketch = cache.getIfPresent(recipeId);
+        return sketch != null && sketch.filtering && sketch.bloom.mightContain(userId);
+    }
+
+    // =====================================================
+    // WRITER
+    // =====================================================
+
+    /**
+     * Adds viewers to the recipe's sketches.
+     *
+     * @return how much the unique-viewer estimate grew
+     */
+    public long addViewers(Long recipeId, Collection<Long> userIds) {
+        Sketch sketch = cache.get(recipeId, this::load);
+        long added;
+        synchronized (sketch) {
+            long before = sketch.hll.estimate();
+            boolean changed = false;
+            for (Long userId : userIds) {
+                changed |= sketch.hll.add(userId);
+                changed |= sketch.bloom.put(userId);
+            }
+            if (!changed) {
+                return 0;
+            }
+            added = Math.max(0, sketch.hll.estimate() - before);
+            sketch.filtering = sketch.bloom.maxFill() <= config.getBloomMaxFill();
+        }
+        dirty.add(recipeId);
+        return added;
+    }
+
+    /**
+     * Deletes the stored sketch in the caller's transaction, the one deleting the recipe
+     * (see {@link RecipeStatisticsService#recipeDeleted}). The cached copy is dropped once
+     * that commits.
+     */
+    public void recipeDeleted(Long recipeId) {
+        sketchRepository.deleteByRecipeId(recipeId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.ChangeType.DELETED) {
+            cache.invalidate(event.recipeId());
+            dirty.remove(event.recipeId());
+        }
+    }
+
+    // =====================================================
+    // PERSISTENCE
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${views.unique.snapshot-interval:30s}")
+    public void snapshotScheduled() {
+        snapshot();
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        int pending = dirty.size();
+        snapshot();
+        logger.info("Saved viewer sketches of {} recipes on shutdown", pending);
+    }
+
+    public synchronized void snapshot() {
+        List<RecipeViewSketch> changed = new ArrayList<>();
+        for (Long recipeId : List.copyOf(dirty)) {
+            dirty.remove(recipeId);
+            Sketch sketch = cache.getIfPresent(recipeId);
+            if (sketch != null) {
+                changed.add(sketch.snapshot(recipeId));
+            }
+        }
+        save(changed);
+    }
+
+    private void save(List<RecipeViewSketch> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        try {
+            sketchRepository.saveForExistingRecipes(sketches);
+        } catch (RuntimeException e) {
+            // re-marked so the next snapshot retries whatever is still cached
+            sketches.forEach(sketch -> dirty.add(sketch.getRecipeId()));
+            logger.warn("Could not save viewer sketches of {} recipes", sketches.size(), e);
+        }
+    }
+
+    private Sketch load(Long recipeId) {
+        Sketch sketch = sketchRepository.findById(recipeId)
+                .flatMap(this::restore)
+                .orElse(null);
+        if (sketch != null) {
+            return sketch;
+        }
+
+        // first sketch of this recipe: carry over the viewers recorded exactly so far
+        sketch = new Sketch(
+                new HyperLogLog(config.getHllPrecision()),
+                new PartitionedBloomFilter(config.getBloomBits(), config.getBloomPartitions())
+        );
+        for (Long userId : recipeViewRepository.findUserIdsByRecipeId(recipeId)) {
+            sketch.hll.add(userId);
+            sketch.bloom.put(userId);
+        }
+        sketch.filtering = sketch.bloom.maxFill() <= config.getBloomMaxFill();
+        dirty.add(recipeId);
+        return sketch;
+    }
+
+    private Optional<Sketch> restore(RecipeViewSketch stored) {
+        try {
+            HyperLogLog hll = HyperLogLog.fromBytes(stored.getViewersHll());
+            PartitionedBloomFilter bloom = PartitionedBloomFilter.fromBytes(stored.getViewersBloom());
+            if (hll.precision() != config.getHllPrecision()
+                    || bloom.bits() != config.getBloomBits()
+                    || bloom.partitions() != config.getBloomPartitions()) {
+                // sketch settings changed: rebuild from recipe_views rather than mix shapes
+                return Optional.empty();
+            }
+            Sketch sketch = new Sketch(hll, bloom);
+            sketch.filtering = bloom.maxFill() <= config.getBloomMaxFill();
+            return Optional.of(sketch);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Discarding unreadable viewer sketch of recipe {}", stored.getRecipeId(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static final class Sketch {
+        private final HyperLogLog hll;
+        private final PartitionedBloomFilter bloom;
+        // whether the read path may trust the filter, false once it is too full
+        private volatile boolean filtering;
+
+        private Sketch(HyperLogLog hll, PartitionedBloomFilter bloom) {
+            this.hll = hll;
+            this.bloom = bloom;
+        }
+
+        private synchronized RecipeViewSketch snapshot(Long recipeId) {
+            return RecipeViewSketch.builder()
+                    .recipeId(recipeId)
+                    .viewersHll(hll.toBytes())
+                    .viewersBloom(bloom.toBytes())
+                    .build();
+        }
+    }
+}
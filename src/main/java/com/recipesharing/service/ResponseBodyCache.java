@@ -0,0 +1,106 @@
+package com.recipesharing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipesharing.config.ResponseCacheConfig;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeCountersFlushedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of public recipe reads, keyed by generation and canonical request.
+ * Every recipe write bumps the generation, so older entries become unreachable and
+ * age out through the size bound / TTL instead of being invalidated one by one.
+ */
+@Service
+public class ResponseBodyCache {
+
+    private final Cache<String, CachedBody> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final boolean gzip;
+
+    public ResponseBodyCache(ResponseCacheConfig config, MeterRegistry meterRegistry) {
+        this.gzip = config.isGzip();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximumWeightBytes())
+                .weigher((String key, CachedBody body) -> body.weight())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responseBody");
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public CachedBody get(String requestKey) {
+        return cache.getIfPresent(key(generation.get(), requestKey));
+    }
+
+    /**
+     * Stores a body rendered while {@code renderedAt} was current. If a write happened
+     * in the meantime the entry lands in a stale generation and is never served.
+     */
+    public void put(
+            long renderedAt,
+            String requestKey,
+            String contentType,
+            Map<String, String> headers,
+            byte[] body
+    ) {
+        byte[] gzipped = gzip ? gzip(body) : null;
+        cache.put(key(renderedAt, requestKey), new CachedBody(contentType, headers, body, gzipped));
+    }
+
+    public void bumpGeneration() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        bumpGeneration();
+    }
+
+    // one bump per flush, so a body is reused for at most a flush interval while counters change
+    @EventListener
+    public void onCountersFlushed(RecipeCountersFlushedEvent event) {
+        bumpGeneration();
+    }
+
+    private static String key(long generation, String requestKey) {
+        return generation + ":" + requestKey;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param headers validators and cache headers of the original response, replayed on a hit
+     */
+    public record CachedBody(String contentType, Map<String, String> headers, byte[] body, byte[] gzipBody) {
+
+        int weight() {
+            return body.length + (gzipBody != null ? gzipBody.length : 0);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.SearchSuggestConfig;
+import com.recipesharing.dto.response.SuggestResponse;
+import com.recipesharing.dto.response.SuggestionResponse;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.exception.BadRequestException;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.SuggestionRow;
+import com.recipesharing.util.RadixTrie;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead over recipe titles, label names and chef usernames, answered from three
+ * in-memory {@link RadixTrie}s without touching the database. Keys are normalized (lower
+ * case, accents and punctuation dropped); a title is also keyed from each of its words,
+ * so "soup" finds "Tomato soup". Suggestions rank by popularity: a recipe weighs
+ * 1 + views + {@code favorite-weight} x favorites, a label or chef the sum of its recipes.
+ * <p>
+ * Built at startup and rebuilt every {@code rebuild-interval}; in between, committed
+ * recipe changes are queued and applied by a background pass, like
+ * {@link RecipeSearchIndexer}. View and favorite counts do not publish changes, so they
+ * reach the weights with the next rebuild.
+ */
+@Service
+public class SearchSuggestions {
+
+    private static final int LOAD_CHUNK = 500;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Logger logger = LoggerFactory.getLogger(SearchSuggestions.class);
+
+    private final SearchSuggestConfig config;
+    private final RecipeRepository recipeRepository;
+    private final Timer rebuildTimer;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock
+    private Index index;
+
+    public SearchSuggestions(SearchSuggestConfig config, RecipeRepository recipeRepository, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.recipeRepository = recipeRepository;
+        this.rebuildTimer = meterRegistry.timer("search.suggest.rebuild");
+        this.index = new Index(config.getMaxResults(), config.getFavoriteWeight());
+        meterRegistry.gauge("search.suggest.pending", pending, Set::size);
+    }
+
+    // =====================================================
+    // EVENTS
+    // =====================================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        pending.add(event.recipeId());
+    }
+
+    // =====================================================
+    // QUERIES
+    // =====================================================
+
+    /**
+     * Up to {@code limit} recipes, labels and chefs whose normalized text has a word
+     * starting with {@code query} (for labels and chefs: starts with it), most popular first.
+     */
+    public SuggestResponse suggest(String query, int limit) {
+        if (limit < 1 || limit > config.getMaxResults()) {
+            throw new BadRequestException("limit must be between 1 and " + config.getMaxResults());
+        }
+
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return new SuggestResponse(List.of(), List.of(), List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            return new SuggestResponse(
+                    toResponses(index.recipes.top(prefix, limit)),
+                    toResponses(index.labels.top(prefix, limit)),
+                    toResponses(index.chefs.top(prefix, limit))
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<SuggestionResponse> toResponses(List<RadixTrie.Entry<Suggestion>> entries) {
+        return entries.stream()
+                .map(entry -> new SuggestionResponse(entry.value().text(), entry.value().id()))
+                .toList();
+    }
+
+    /**
+     * Lower case without accents, every run of non-alphanumerics collapsed to one space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // the normalized title and its suffix from each later word
+    static List<String> titleKeys(String title) {
+        String normalized = normalize(title);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+
+        keys.add(normalized);
+        for (int space = normalized.indexOf(' '); space >= 0; space = normalized.indexOf(' ', space + 1)) {
+            keys.add(normalized.substring(space + 1));
+        }
+        return keys;
+    }
+
+    // =====================================================
+    // NEAR-REAL-TIME UPDATES
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${search.suggest.refresh-interval:1s}")
+    public void applyPendingScheduled() {
+        try {
+            applyPending();
+        } catch (RuntimeException e) {
+            logger.warn("Could not update search suggestions, retrying with the next pass", e);
+        }
+    }
+
+    /**
+     * Re-reads every queued recipe and replaces its suggestions, or drops them when the
+     * recipe is gone.
+     */
+    public synchronized void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                apply(ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())));
+            }
+        } catch (RuntimeException e) {
+            pending.addAll(ids);
+            throw e;
+        }
+    }
+
+    private void apply(List<Long> ids) {
+        Map<Long, SuggestionRow> rows = recipeRepository.findSuggestionRows(ids);
+        lock.writeLock().lock();
+        try {
+            ids.forEach(id -> index.apply(id, rows.get(id)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =====================================================
+    // STARTUP & REBUILD
+    // =====================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${search.suggest.rebuild-interval:1h}",
+            initialDelayString = "${search.suggest.rebuild-interval:1h}"
+    )
+    public void rebuildScheduled() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Could not rebuild search suggestions, keeping the current ones", e);
+        }
+    }
+
+    /**
+     * Builds fresh tries from every recipe, read in id-ordered batches of
+     * {@code rebuild-batch-size}, and swaps them in. Changes queued meanwhile stay queued
+     * and are applied on top by the next pass.
+     *
+     * @return number of recipes indexed
+     */
+    public synchronized int rebuild() {
+        return rebuildTimer.record(() -> {
+            Index rebuilt = new Index(config.getMaxResults(), config.getFavoriteWeight());
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ids = recipeRepository.findIdsAfter(afterId, config.getRebuildBatchSize());
+                if (!ids.isEmpty()) {
+                    rebuilt.load(recipeRepository.findSuggestionRows(ids).values());
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == config.getRebuildBatchSize());
+            rebuilt.rankAll();
+
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Rebuilt search suggestions from {} recipes", rebuilt.rows.size());
+            return rebuilt.rows.size();
+        });
+    }
+
+    // =====================================================
+    // INDEX
+    // =====================================================
+
+    /**
+     * What a suggestion shows; labels have no id.
+     */
+    record Suggestion(String text, Long id) implements Comparable<Suggestion> {
+
+        private static final Comparator<Suggestion> ORDER = Comparator
+                .comparing(Suggestion::text)
+                .thenComparing(Suggestion::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        @Override
+        public int compareTo(Suggestion other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    // recipes and popularity summed per label or chef
+    private static final class Totals {
+
+        private final String name;
+        private long recipes;
+        private long popularity;
+
+        private Totals(String name) {
+            this.name = name;
+        }
+    }
+
+    // not thread-safe; SearchSuggestions guards it with its lock
+    private static final class Index {
+
+        private final long favoriteWeight;
+        private final RadixTrie<Suggestion> recipes;
+        private final RadixTrie<Suggestion> labels;
+        private final RadixTrie<Suggestion> chefs;
+
+        // the rows the tries were built from, to take a recipe's contribution back out
+        private final Map<Long, SuggestionRow> rows = new HashMap<>();
+        private final Map<String, Totals> labelTotals = new HashMap<>();
+        private final Map<Long, Totals> chefTotals = new HashMap<>();
+
+        private Index(int capacity, long favoriteWeight) {
+            this.favoriteWeight = favoriteWeight;
+            this.recipes = new RadixTrie<>(capacity);
+            this.labels = new RadixTrie<>(capacity);
+            this.chefs = new RadixTrie<>(capacity);
+        }
+
+        private long popularity(SuggestionRow row) {
+            return 1 + row.views() + favoriteWeight * row.favorites();
+        }
+
+        private static Suggestion recipe(SuggestionRow row) {
+            return new Suggestion(row.title(), row.recipeId());
+        }
+
+        // bulk fill of a new index, ranked once by rankAll
+        private void load(Collection<SuggestionRow> batch) {
+            for (SuggestionRow row : batch) {
+                rows.put(row.recipeId(), row);
+                long popularity = popularity(row);
+                titleKeys(row.title()).forEach(key -> recipes.add(key, recipe(row), popularity));
+                count(row, 1);
+            }
+        }
+
+        private void rankAll() {
+            labelTotals.forEach((label, totals) ->
+                    labels.add(normalize(label), new Suggestion(label, null), totals.popularity));
+            chefTotals.forEach((chefId, totals) ->
+                    chefs.add(normalize(totals.name), new Suggestion(totals.name, chefId), totals.popularity));
+
+            recipes.rankAll();
+            labels.rankAll();
+            chefs.rankAll();
+        }
+
+        /**
+         * Replaces the recipe's suggestions with {@code row}'s; a null row removes them.
+         */
+        private void apply(long recipeId, SuggestionRow row) {
+            SuggestionRow old = row == null ? rows.remove(recipeId) : rows.put(recipeId, row);
+
+            if (old != null) {
+                titleKeys(old.title()).forEach(key -> recipes.remove(key, recipe(old)));
+                count(old, -1);
+            }
+            if (row != null) {
+                long popularity = popularity(row);
+                titleKeys(row.title()).forEach(key -> recipes.put(key, recipe(row), popularity));
+                count(row, 1);
+            }
+
+            Set<String> touchedLabels = new HashSet<>();
+            Map<Long, String> touchedChefs = new HashMap<>();
+            for (SuggestionRow changed : new SuggestionRow[]{old, row}) {
+                if (changed != null) {
+                    touchedLabels.addAll(changed.labels());
+                    touchedChefs.put(changed.chefId(), changed.chefUsername());
+                }
+            }
+            touchedLabels.forEach(label -> reweigh(labels, label, null, labelTotals.get(label)));
+            touchedChefs.forEach((chefId, username) -> reweigh(chefs, username, chefId, chefTotals.get(chefId)));
+        }
+
+        private static void reweigh(RadixTrie<Suggestion> trie, String text, Long id, Totals totals) {
+            if (totals == null) {
+                trie.remove(normalize(text), new Suggestion(text, id));
+            } else {
+                trie.put(normalize(totals.name), new Suggestion(totals.name, id), totals.popularity);
+            }
+        }
+
+        private void count(SuggestionRow row, int sign) {
+            long popularity = popularity(row);
+            for (String label : row.labels()) {
+                Totals totals = labelTotals.computeIfAbsent(label, Totals::new);
+                add(totals, sign, popularity);
+                if (totals.recipes == 0) {
+                    labelTotals.remove(label);
+                }
+            }
+
+            Totals chef = chefTotals.computeIfAbsent(row.chefId(), id -> new Totals(row.chefUsername()));
+            add(chef, sign, popularity);
+            if (chef.recipes == 0) {
+                chefTotals.remove(row.chefId());
+            }
+        }
+
+        private static void add(Totals totals, int sign, long popularity) {
+            totals.recipes += sign;
+            totals.popularity += sign * popularity;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.recipesharing.service;
 
 import com.recipesharing.dto.image.ProcessedImage;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateUserProfileRequest;
 import com.recipesharing.dto.response.UserProfileResponse;
 import com.recipesharing.dto.mapper.UserMapper;
@@ -11,8 +12,9 @@ import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.UserRepository;
 import com.recipesharing.util.ImageUtil;
-import org.springframework.data.domain.Page;
+import com.recipesharing.web.ResourceVersion;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -25,16 +27,19 @@ public class UserService {
     private final ImageProcessingService imageProcessingService;
     private final LocalFileStorageService fileStorageService;
     private final ImageUtil imageUtil;
+    private final PagingService pagingService;
 
     public UserService(
             UserRepository userRepository,
-            UserMapper userMapper, ImageProcessingService imageProcessingService, LocalFileStorageService fileStorageService, ImageUtil imageUtil
+            UserMapper userMapper, ImageProcessingService imageProcessingService, LocalFileStorageService fileStorageService, ImageUtil imageUtil,
+            PagingService pagingService
     ) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.imageProcessingService = imageProcessingService;
         this.fileStorageService = fileStorageService;
         this.imageUtil = imageUtil;
+        this.pagingService = pagingService;
     }
 
     // Public profile by username
@@ -45,6 +50,18 @@ public class UserService {
         return userMapper.toUserProfileResponse(user);
     }
 
+    // Profile version by username; the lookup is served by the second-level cache
+    @Transactional(readOnly = true)
+    public ResourceVersion getProfileVersion(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        return getProfileVersion(user);
+    }
+
+    public ResourceVersion getProfileVersion(User user) {
+        return ResourceVersion.of(user.getUpdatedAt(), "user", user.getId(), user.getUpdatedAt());
+    }
+
     // My profile (current user)
     @Transactional(readOnly = true)
     public UserProfileResponse getMyProfile(User currentUser) {
@@ -98,8 +115,14 @@ public class UserService {
 
     // List users (admin)
     @Transactional(readOnly = true)
-    public Page<UserProfileResponse> listUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(userMapper::toUserProfileResponse);
+    public Slice<UserProfileResponse> listUsers(Pageable pageable, TotalMode totalMode) {
+        return pagingService.page(
+                totalMode,
+                "users",
+                () -> userRepository.findAll(pageable),
+                () -> userRepository.findAllBy(pageable),
+                userRepository::count
+        ).map(userMapper::toUserProfileResponse);
     }
 
     // Admin: promote user to CHEF
@@ -0,0 +1,177 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ViewCompactionConfig;
+import com.recipesharing.entity.JobCheckpoint;
+import com.recipesharing.repository.JobCheckpointRepository;
+import com.recipesharing.repository.RecipeViewRepository;
+import com.recipesharing.repository.RecipeViewRepositoryCustom.ViewRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retention for {@code recipe_views}. Walks the table in id order (oldest first), one
+ * keyset chunk at a time, and for rows past the horizon folds them into per-recipe
+ * counts in {@code recipe_view_archive} and deletes them. Each chunk is one transaction
+ * together with its checkpoint, so a run interrupted at any point resumes after the last
+ * committed chunk. A run stops at the first row still inside the horizon, after
+ * {@code max-run-time}, or on shutdown, and pauses between chunks to leave the
+ * database to foreground traffic.
+ * <p>
+ * A compacted (user, recipe) pair no longer deduplicates: the user's next view of the
+ * recipe counts again.
+ */
+@Service
+public class ViewCompactionJob {
+
+    static final String CHECKPOINT = "recipe-views-compaction";
+
+    private final Logger logger = LoggerFactory.getLogger(ViewCompactionJob.class);
+
+    private final ViewCompactionConfig config;
+    private final RecipeViewRepository recipeViewRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter rowsCompacted;
+    private final Counter chunks;
+    private final Timer chunkTimer;
+    private final AtomicLong position = new AtomicLong();
+
+    private volatile boolean stopping;
+
+    public ViewCompactionJob(
+            ViewCompactionConfig config,
+            RecipeViewRepository recipeViewRepository,
+            JobCheckpointRepository checkpointRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.recipeViewRepository = recipeViewRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.rowsCompacted = meterRegistry.counter("views.compaction.rows");
+        this.chunks = meterRegistry.counter("views.compaction.chunks");
+        this.chunkTimer = meterRegistry.timer("views.compaction.chunk");
+        meterRegistry.gauge("views.compaction.position", position);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${views.compaction.interval:1h}",
+            initialDelayString = "${views.compaction.interval:1h}"
+    )
+    public void compactScheduled() {
+        if (config.isEnabled()) {
+            compact();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    /**
+     * Deletes the recipe's archived view count in the caller's transaction, the one
+     * deleting the recipe (see {@link RecipeStatisticsService#recipeDeleted}).
+     */
+    public void recipeDeleted(Long recipeId) {
+        recipeViewRepository.deleteArchiveByRecipeId(recipeId);
+    }
+
+    /**
+     * @return number of rows compacted in this run
+     */
+    public synchronized long compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getHorizon());
+        long deadline = System.nanoTime() + config.getMaxRunTime().toNanos();
+        position.set(checkpointRepository.findById(CHECKPOINT).map(JobCheckpoint::getPosition).orElse(0L));
+
+        long compacted = 0;
+        while (!stopping && System.nanoTime() < deadline) {
+            List<ViewRow> rows = recipeViewRepository.findChunkAfter(position.get(), config.getChunkSize());
+
+            int expired = 0;
+            while (expired < rows.size() && isExpired(rows.get(expired), cutoff)) {
+                expired++;
+            }
+            if (expired == 0) {
+                break;
+            }
+
+            List<ViewRow> chunk = rows.subList(0, expired);
+            long started = System.nanoTime();
+            chunkTimer.record(() -> compactChunk(chunk));
+            long elapsed = System.nanoTime() - started;
+
+            compacted += chunk.size();
+            rowsCompacted.increment(chunk.size());
+            chunks.increment();
+            position.set(chunk.get(chunk.size() - 1).id());
+
+            if (expired < rows.size()) {
+                // the rest of the table is inside the horizon
+                break;
+            }
+            if (!pause(elapsed)) {
+                break;
+            }
+        }
+
+        if (compacted > 0) {
+            logger.info("Compacted {} recipe views older than {}, now at id {}", compacted, cutoff, position.get());
+        }
+        return compacted;
+    }
+
+    private void compactChunk(List<ViewRow> chunk) {
+        Map<Long, Long> viewsByRecipe = new HashMap<>();
+        Map<Long, LocalDateTime> lastViewedByRecipe = new HashMap<>();
+        for (ViewRow row : chunk) {
+            viewsByRecipe.merge(row.recipeId(), 1L, Long::sum);
+            if (row.viewedAt() != null) {
+                lastViewedByRecipe.merge(row.recipeId(), row.viewedAt(), (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        List<Long> ids = chunk.stream().map(ViewRow::id).toList();
+        long lastId = ids.get(ids.size() - 1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recipeViewRepository.foldIntoArchive(viewsByRecipe, lastViewedByRecipe, LocalDateTime.now());
+            recipeViewRepository.deleteByIds(ids);
+            checkpointRepository.save(JobCheckpoint.builder().name(CHECKPOINT).position(lastId).build());
+        });
+    }
+
+    // rows from before viewed_at was recorded count as expired
+    private static boolean isExpired(ViewRow row, LocalDateTime cutoff) {
+        return row.viewedAt() == null || row.viewedAt().isBefore(cutoff);
+    }
+
+    // false when interrupted: only this run ends, the next scheduled one starts as usual
+    private boolean pause(long chunkNanos) {
+        long throttled = (long) (chunkNanos * config.getThrottleRatio());
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.max(config.getMinPause().toNanos(), throttled));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ViewRecordingConfig;
+import com.recipesharing.config.ViewRecordingConfig.OverflowPolicy;
+import com.recipesharing.repository.RecipeViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes view recording off the recipe read path. Views go into a bounded queue that a
+ * scheduled writer drains in batches: pairs are deduplicated per batch, inserted with one
+ * {@code INSERT IGNORE} per recipe and hour (each view keeps its own time), and what was
+ * actually inserted is reported to {@link RecipeStatisticsService} once the inserts
+ * commit. With {@code views.unique.mode=APPROXIMATE} no rows are written: viewers go into
+ * {@link RecipeViewerSketches} and the growth of the unique-viewer estimate is what gets
+ * counted. What is still queued at shutdown is flushed before the datasource goes away.
+ * <p>
+ * Views are best effort: when the queue is full the configured overflow policy decides
+ * which view is lost, and the loss is counted in {@code views.recording.dropped}.
+ */
+@Service
+public class ViewRecorder {
+
+    private final Logger logger = LoggerFactory.getLogger(ViewRecorder.class);
+
+    private final BlockingQueue<View> queue;
+    private final ViewRecordingConfig config;
+    private final RecipeViewRepository recipeViewRepository;
+    private final RecipeViewerSketches viewerSketches;
+    private final RecipeStatisticsService recipeStatisticsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter duplicates;
+    private final Timer flushTimer;
+
+    public ViewRecorder(
+            ViewRecordingConfig config,
+            RecipeViewRepository recipeViewRepository,
+            RecipeViewerSketches viewerSketches,
+            RecipeStatisticsService recipeStatisticsService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.recipeViewRepository = recipeViewRepository;
+        this.viewerSketches = viewerSketches;
+        this.recipeStatisticsService = recipeStatisticsService;
+        this.transactionTemplate = transactionTemplate;
+
+        this.enqueued = meterRegistry.counter("views.recording.enqueued");
+        this.dropped = meterRegistry.counter("views.recording.dropped", "policy", config.getOverflowPolicy().name());
+        this.written = meterRegistry.counter("views.recording.written");
+        this.duplicates = meterRegistry.counter("views.recording.duplicates");
+        this.flushTimer = meterRegistry.timer("views.recording.flush");
+        meterRegistry.gauge("views.recording.queue.size", queue, BlockingQueue::size);
+    }
+
+    // =====================================================
+    // PRODUCER (request threads)
+    // =====================================================
+
+    public void record(Long userId, Long recipeId) {
+        record(userId, recipeId, LocalDateTime.now());
+    }
+
+    void record(Long userId, Long recipeId, LocalDateTime viewedAt) {
+        // approximate mode: repeat viewers are filtered here instead of by the writer
+        if (viewerSketches.isEnabled() && viewerSketches.hasProbablyViewed(userId, recipeId)) {
+            duplicates.increment();
+            return;
+        }
+
+        View view = new View(userId, recipeId, viewedAt);
+
+        if (offer(view)) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean offer(View view) {
+        if (queue.offer(view)) {
+            return true;
+        }
+
+        OverflowPolicy policy = config.getOverflowPolicy();
+        if (policy == OverflowPolicy.DROP_OLDEST) {
+            // the discarded head is the view that is lost; retry once, a racing producer may win the slot
+            if (queue.poll() != null) {
+                dropped.increment();
+            }
+            return queue.offer(view);
+        }
+        if (policy == OverflowPolicy.BLOCK) {
+            try {
+                return queue.offer(view, config.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // =====================================================
+    // WRITER
+    // =====================================================
+
+    @Scheduled(fixedDelayString = "${views.recording.flush-interval:200ms}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int pending = queue.size();
+        flush();
+        logger.info("Flushed {} pending recipe views on shutdown", pending);
+    }
+
+    /**
+     * Drains the queue batch by batch until it is empty.
+     */
+    public synchronized void flush() {
+        List<View> batch = new ArrayList<>(config.getBatchSize());
+        while (queue.drainTo(batch, config.getBatchSize()) > 0) {
+            try {
+                flushTimer.record(() -> write(batch));
+            } catch (RuntimeException e) {
+                // views are best effort, a failed batch must not stop the writer
+                dropped.increment(batch.size());
+                logger.warn("Could not write {} recipe views", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<View> batch) {
+        // time of each user's view per recipe, first view of each pair wins
+        Map<Long, Map<Long, LocalDateTime>> viewsByRecipe = new LinkedHashMap<>();
+        for (View view : batch) {
+            Map<Long, LocalDateTime> views = viewsByRecipe.computeIfAbsent(view.recipeId(), id -> new LinkedHashMap<>());
+            if (views.putIfAbsent(view.userId(), view.viewedAt()) != null) {
+                duplicates.increment();
+            }
+        }
+
+        // a backed-up queue can span an hour boundary: split per hour, so every group is
+        // counted in the rollup bucket its views belong to
+        List<ViewGroup> groups = new ArrayList<>();
+        viewsByRecipe.forEach((recipeId, views) -> {
+            Map<LocalDateTime, Map<Long, LocalDateTime>> byHour = new LinkedHashMap<>();
+            views.forEach((userId, viewedAt) -> byHour
+                    .computeIfAbsent(viewedAt.truncatedTo(ChronoUnit.HOURS), hour -> new LinkedHashMap<>())
+                    .put(userId, viewedAt));
+            byHour.values().forEach(viewedAtByUser -> groups.add(new ViewGroup(recipeId, viewedAtByUser)));
+        });
+
+        long[] added = new long[groups.size()];
+        if (viewerSketches.isEnabled()) {
+            for (int i = 0; i < groups.size(); i++) {
+                ViewGroup group = groups.get(i);
+                added[i] = viewerSketches.addViewers(group.recipeId(), group.viewedAtByUser().keySet());
+            }
+        } else {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < groups.size(); i++) {
+                    ViewGroup group = groups.get(i);
+                    added[i] = recipeViewRepository.insertIgnore(group.recipeId(), group.viewedAtByUser());
+                }
+            });
+        }
+
+        long total = 0;
+        for (int i = 0; i < groups.size(); i++) {
+            if (added[i] > 0) {
+                ViewGroup group = groups.get(i);
+                recipeStatisticsService.viewsRecorded(group.recipeId(), added[i], group.firstViewedAt());
+                total += added[i];
+            }
+        }
+        written.increment(total);
+    }
+
+    // one recipe's views within one hour
+    private record ViewGroup(Long recipeId, Map<Long, LocalDateTime> viewedAtByUser) {
+
+        LocalDateTime firstViewedAt() {
+            return viewedAtByUser.values().iterator().next();
+        }
+    }
+
+    private record View(Long userId, Long recipeId, LocalDateTime viewedAt) {
+    }
+}
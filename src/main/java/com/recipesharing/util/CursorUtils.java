@@ -0,0 +1,82 @@
+package com.recipesharing.util;
+
+import com.recipesharing.dto.response.CursorPageResponse;
+import com.recipesharing.exception.BadRequestException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursors over (createdAt, id), the sort key of every cursor-paginated list.
+ */
+@Service
+public class CursorUtils {
+
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    public String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, or null for a blank cursor (first window)
+     */
+    public Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public int validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Builds a window from rows fetched with a limit of {@code size + 1}; the extra row
+     * only signals that another window exists.
+     */
+    public <E, T> CursorPageResponse<T> page(
+            List<E> rows,
+            int size,
+            Function<E, T> mapper,
+            Function<E, LocalDateTime> createdAt,
+            Function<E, Long> id
+    ) {
+        boolean hasNext = rows.size() > size;
+        List<E> window = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = window.get(window.size() - 1);
+            nextCursor = encode(createdAt.apply(last), id.apply(last));
+        }
+
+        return new CursorPageResponse<>(window.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+}
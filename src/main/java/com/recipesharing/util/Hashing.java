@@ -0,0 +1,22 @@
+package com.recipesharing.util;
+
+/**
+ * 64-bit mixing for the sketches: ids are sequential, so they need a full avalanche
+ * before their bits can be used as register indexes or filter positions.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    // MurmurHash3 fmix64 finalizer
+    static long mix64(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,121 @@
+package com.recipesharing.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bloom filter over {@code long} keys, split into {@code k} equal partitions with one
+ * hash position per partition. Partitioning keeps the positions of a key apart and
+ * makes the fill ratio of each partition a direct false-positive estimate:
+ * {@code fpp = product of partition fills}.
+ * <p>
+ * Serialized as one byte holding {@code k} followed by the bit words. Writes must be
+ * serialized by the caller; a concurrent {@link #mightContain} may miss a bit that is
+ * being set, which only turns a "maybe" into a "no".
+ */
+public final class PartitionedBloomFilter {
+
+    private final int partitions;
+    private final int partitionBits;
+    private final long[] words;
+
+    public PartitionedBloomFilter(int bits, int partitions) {
+        if (partitions < 1 || partitions > 16) {
+            throw new IllegalArgumentException("partitions must be between 1 and 16");
+        }
+        if (bits < partitions * 64 || bits % (partitions * 64) != 0) {
+            throw new IllegalArgumentException("bits must be a multiple of 64 * partitions");
+        }
+        this.partitions = partitions;
+        this.partitionBits = bits / partitions;
+        this.words = new long[bits / 64];
+    }
+
+    private PartitionedBloomFilter(int partitions, long[] words) {
+        this.partitions = partitions;
+        this.partitionBits = words.length * 64 / partitions;
+        this.words = words;
+    }
+
+    public static PartitionedBloomFilter fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 9 || (bytes.length - 1) % 8 != 0) {
+            throw new IllegalArgumentException("not a serialized bloom filter");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int partitions = buffer.get();
+        long[] words = new long[buffer.remaining() / 8];
+        buffer.asLongBuffer().get(words);
+        if (partitions < 1 || words.length % partitions != 0) {
+            throw new IllegalArgumentException("not a serialized bloom filter");
+        }
+        return new PartitionedBloomFilter(partitions, words);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + words.length * 8);
+        buffer.put((byte) partitions);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    public int bits() {
+        return words.length * 64;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = Hashing.mix64(key);
+        long h2 = Hashing.mix64(h1);
+        for (int i = 0; i < partitions; i++) {
+            int bit = position(h1, h2, i);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the key was definitely not in the filter before
+     */
+    public boolean put(long key) {
+        long h1 = Hashing.mix64(key);
+        long h2 = Hashing.mix64(h1);
+        boolean changed = false;
+        for (int i = 0; i < partitions; i++) {
+            int bit = position(h1, h2, i);
+            long mask = 1L << bit;
+            if ((words[bit >>> 6] & mask) == 0) {
+                words[bit >>> 6] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fill ratio of the fullest partition, the false-positive rate is at most this to
+     * the power of the partition count.
+     */
+    public double maxFill() {
+        int wordsPerPartition = words.length / partitions;
+        int fullest = 0;
+        for (int p = 0; p < partitions; p++) {
+            int set = 0;
+            for (int w = p * wordsPerPartition; w < (p + 1) * wordsPerPartition; w++) {
+                set += Long.bitCount(words[w]);
+            }
+            fullest = Math.max(fullest, set);
+        }
+        return (double) fullest / partitionBits;
+    }
+
+    // Kirsch-Mitzenmacher: g_i = h1 + i * h2, reduced into partition i
+    private int position(long h1, long h2, int partition) {
+        long combined = h1 + partition * h2;
+        int offset = (int) Long.remainderUnsigned(combined, partitionBits);
+        return partition * partitionBits + offset;
+    }
+}
@@ -0,0 +1,256 @@
+package com.recipesharing.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compressed prefix tree (radix trie) from string keys to weighted values, answering
+ * "the heaviest values under this prefix" without walking the subtree: every node keeps
+ * the best {@code capacity} distinct values below it, recomputed along the path of each
+ * change from the node's own values and its children's lists. A lookup costs one walk
+ * down the prefix plus a copy of at most {@code capacity} entries.
+ * <p>
+ * A value may sit under several keys (it is listed once); equal weights rank by value.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class RadixTrie<V extends Comparable<? super V>> {
+
+    private final int capacity;
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    private final Comparator<Entry<V>> rank = Comparator
+            .<Entry<V>>comparingLong(entry -> -entry.weight())
+            .thenComparing(entry -> entry.value());
+
+    public RadixTrie(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of (key, value) pairs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds {@code value} under {@code key}, or changes its weight there.
+     */
+    public void put(String key, V value, long weight) {
+        refresh(insert(key, value, weight));
+    }
+
+    /**
+     * Bulk variant of {@link #put} for filling a new trie: skips ranking, so {@link #top}
+     * answers from stale lists until {@link #rankAll} runs.
+     */
+    public void add(String key, V value, long weight) {
+        insert(key, value, weight);
+    }
+
+    /**
+     * Ranks every node bottom up, once, after a series of {@link #add}s.
+     */
+    public void rankAll() {
+        rankAll(root);
+    }
+
+    private void rankAll(Node<V> node) {
+        node.children.values().forEach(this::rankAll);
+        node.top = collectTop(node);
+    }
+
+    // returns the nodes from the root to the key's node
+    private List<Node<V>> insert(String key, V value, long weight) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            Node<V> child = node.children.get(key.charAt(position));
+            if (child == null) {
+                child = new Node<>(key.substring(position));
+                node.children.put(child.label.charAt(0), child);
+                node = child;
+                path.add(node);
+                break;
+            }
+
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+
+        if (node.values.put(value, weight) == null) {
+            size++;
+        }
+        return path;
+    }
+
+    /**
+     * Removes {@code value} from under {@code key}; nothing happens if it is not there.
+     */
+    public void remove(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        path.add(node);
+        int position = 0;
+
+        while (position < key.length()) {
+            Node<V> child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            position += child.label.length();
+        }
+
+        if (node.values.remove(value) == null) {
+            return;
+        }
+        size--;
+        prune(path);
+        refresh(path);
+    }
+
+    /**
+     * The heaviest values under keys starting with {@code prefix}, heaviest first, at most
+     * {@code limit} (and {@link #capacity}).
+     */
+    public List<Entry<V>> top(String prefix, int limit) {
+        Node<V> node = root;
+        int position = 0;
+
+        while (position < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+
+            int common = commonPrefix(child.label, prefix, position);
+            if (position + common == prefix.length()) {
+                // the prefix ends here, possibly inside this edge
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            position += common;
+        }
+
+        List<Entry<V>> top = node.top;
+        return List.copyOf(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    public record Entry<V>(V value, long weight) {
+    }
+
+    // --------------------
+    // Structure
+    // --------------------
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // turns parent -> child into parent -> head -> child, head taking the first `at` characters
+    private Node<V> split(Node<V> parent, Node<V> child, int at) {
+        Node<V> head = new Node<>(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        head.children.put(child.label.charAt(0), child);
+        head.top = child.top;
+        parent.children.put(head.label.charAt(0), head);
+        return head;
+    }
+
+    // drops nodes left without values or children and merges single-child chains, bottom up
+    private void prune(List<Node<V>> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<V> node = path.get(i);
+            Node<V> parent = path.get(i - 1);
+            if (!node.values.isEmpty()) {
+                return;
+            }
+
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+                path.remove(i);
+            } else if (node.children.size() == 1) {
+                Node<V> child = node.children.values().iterator().next();
+                child.label = node.label + child.label;
+                parent.children.put(child.label.charAt(0), child);
+                path.remove(i);
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void refresh(List<Node<V>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<V> node = path.get(i);
+            node.top = collectTop(node);
+        }
+    }
+
+    private List<Entry<V>> collectTop(Node<V> node) {
+        List<Entry<V>> candidates = new ArrayList<>();
+        node.values.forEach((value, weight) -> candidates.add(new Entry<>(value, weight)));
+        for (Node<V> child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(rank);
+
+        List<Entry<V>> top = new ArrayList<>(Math.min(capacity, candidates.size()));
+        Set<V> seen = new HashSet<>();
+        for (Entry<V> entry : candidates) {
+            if (top.size() == capacity) {
+                break;
+            }
+            if (seen.add(entry.value())) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    private static final class Node<V> {
+
+        private String label;
+        private final Map<Character, Node<V>> children = new HashMap<>(4);
+        private final Map<V, Long> values = new HashMap<>(2);
+        private List<Entry<V>> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
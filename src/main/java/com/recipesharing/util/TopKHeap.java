@@ -0,0 +1,169 @@
+package com.recipesharing.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code capacity} highest-scored {@code long} keys: a binary min-heap over the scores
+ * plus a key-to-slot map, so the weakest entry is at the root and a key already in the
+ * heap can be re-scored in place in {@code O(log capacity)}.
+ * <p>
+ * Exact while scores only grow. A key whose score drops stays in the heap with its lower
+ * score even if a key outside would now outrank it; callers that lower scores rebuild
+ * the heap from their full score table now and then.
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public final class TopKHeap {
+
+    private final int capacity;
+    private final long[] keys;
+    private final double[] scores;
+    private final Map<Long, Integer> slots;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.scores = new double[capacity];
+        this.slots = new HashMap<>(capacity * 2);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long key) {
+        return slots.containsKey(key);
+    }
+
+    /**
+     * Inserts or re-scores {@code key}. A new key only gets in while there is room or
+     * when it beats the current minimum, which it then evicts.
+     *
+     * @return {@code true} if the key is in the heap afterwards
+     */
+    public boolean offer(long key, double score) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            double previous = scores[slot];
+            scores[slot] = score;
+            // min-heap: a higher score moves away from the root
+            if (score > previous) {
+                siftDown(slot);
+            } else {
+                siftUp(slot);
+            }
+            return true;
+        }
+
+        if (size < capacity) {
+            place(size, key, score);
+            size++;
+            siftUp(size - 1);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        slots.remove(keys[0]);
+        place(0, key, score);
+        siftDown(0);
+        return true;
+    }
+
+    public boolean remove(long key) {
+        Integer slot = slots.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        size--;
+        if (slot != size) {
+            place(slot, keys[size], scores[size]);
+            siftDown(slot);
+            siftUp(slot);
+        }
+        return true;
+    }
+
+    /**
+     * Multiplies every score by {@code factor} ({@code > 0}); the order is unchanged.
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < size; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    public void clear() {
+        slots.clear();
+        size = 0;
+    }
+
+    /**
+     * Keys of the {@code limit} highest scores, highest first.
+     */
+    public long[] top(int limit) {
+        int n = Math.min(limit, size);
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        long[] top = new long[n];
+        for (int i = 0; i < n; i++) {
+            top[i] = keys[order[i]];
+        }
+        return top;
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (scores[parent] <= scores[slot]) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && scores[child + 1] < scores[child]) {
+                child++;
+            }
+            if (scores[slot] <= scores[child]) {
+                return;
+            }
+            swap(slot, child);
+            slot = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        double score = scores[a];
+        place(a, keys[b], scores[b]);
+        place(b, key, score);
+    }
+
+    private void place(int slot, long key, double score) {
+        keys[slot] = key;
+        scores[slot] = score;
+        slots.put(key, slot);
+    }
+}
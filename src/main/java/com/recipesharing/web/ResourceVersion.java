@@ -0,0 +1,63 @@
+package com.recipesharing.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validators for a conditional GET: a weak ETag over the fields that define the
+ * representation and an optional Last-Modified. Weak because counters that are
+ * not part of the version (view counts) may drift in the body.
+ */
+public record ResourceVersion(String etag, LocalDateTime lastModified) {
+
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        String joined = Arrays.stream(parts)
+                .map(part -> Objects.toString(part, ""))
+                .collect(Collectors.joining("|"));
+        String hash = DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion("W/\"" + hash + "\"", lastModified);
+    }
+
+    /**
+     * True when the client sent validators, i.e. when a version lookup can save the full read.
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates the request validators; when true the response is already a 304
+     * and the handler should return without a body.
+     */
+    public boolean notModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModifiedMillis());
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                // revalidate every time; private because some bodies carry per-user fields
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified != null) {
+            builder.lastModified(lastModifiedMillis());
+        }
+        return builder.body(body);
+    }
+
+    private long lastModifiedMillis() {
+        return lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,144 @@
+package com.recipesharing.web;
+
+import com.recipesharing.config.ResponseCacheConfig;
+import com.recipesharing.service.ResponseBodyCache;
+import com.recipesharing.service.ResponseBodyCache.CachedBody;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Serves anonymous recipe reads straight from {@link ResponseBodyCache}.
+ * Runs after the security chain (so CORS and auth have been applied) and only
+ * for requests without an Authorization header, whose bodies are identical for everyone.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("^/api/recipes(/search|/batch|/\\d+)?$");
+
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL
+    );
+
+    private final ResponseBodyCache responseBodyCache;
+    private final ResponseCacheConfig config;
+
+    public ResponseCacheFilter(ResponseBodyCache responseBodyCache, ResponseCacheConfig config) {
+        this.responseBodyCache = responseBodyCache;
+        this.config = config;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String requestKey = canonicalKey(request);
+
+        CachedBody cached = responseBodyCache.get(requestKey);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        long generation = responseBodyCache.currentGeneration();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            responseBodyCache.put(
+                    generation,
+                    requestKey,
+                    contentType,
+                    replayedHeaders(wrapper),
+                    wrapper.getContentAsByteArray()
+            );
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || !CACHEABLE_PATH.matcher(request.getServletPath()).matches();
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedBody cached)
+            throws IOException {
+
+        cached.headers().forEach(response::setHeader);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // the entry is current, so its ETag still is: answer a matching If-None-Match here
+        String etag = cached.headers().get(HttpHeaders.ETAG);
+        if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+            response.setHeader("X-Cache", "HIT");
+            return;
+        }
+
+        byte[] body = cached.body();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (cached.gzipBody() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.setHeader("X-Cache", "HIT");
+        response.getOutputStream().write(body);
+    }
+
+    private static Map<String, String> replayedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    // path plus parameters sorted by name, so ?size=5&page=1 and ?page=1&size=5 share an entry
+    private static String canonicalKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getServletPath());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,118 @@
+-- The schema the application had before it was managed by migrations, as ddl-auto=update
+-- created it. Existing databases already have these tables (and a flyway_schema_history
+-- from the earlier, migration-less Flyway setup), so every statement here is a no-op for
+-- them; empty databases start here. Later changes go into forward migrations.
+
+create table if not exists users
+(
+    id            bigint       not null auto_increment,
+    username      varchar(50)  not null,
+    email         varchar(100) not null,
+    password      varchar(255) not null,
+    full_name     varchar(100),
+    bio           text,
+    profile_image varchar(255),
+    role          enum ('CHEF','ADMIN','USER'),
+    is_active     bit,
+    created_at    datetime(6)  not null,
+    updated_at    datetime(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine = InnoDB;
+
+create table if not exists recipes
+(
+    id              bigint       not null auto_increment,
+    chef_id         bigint       not null,
+    title           varchar(200) not null,
+    description     text,
+    instructions    text         not null,
+    prep_time       integer,
+    cook_time       integer,
+    servings        integer,
+    difficulty      enum ('EASY','MEDIUM','HARD'),
+    image_url       varchar(255),
+    thumbnail_url   varchar(255),
+    is_published    bit,
+    view_count      integer,
+    created_at      datetime(6)  not null,
+    updated_at      datetime(6),
+    published_at    datetime(6),
+    favorites_count bigint       not null,
+    rating_count    bigint       not null,
+    average_rating  decimal(2, 1),
+    primary key (id),
+    constraint fk_recipes_chef foreign key (chef_id) references users (id)
+) engine = InnoDB;
+
+create table if not exists ingredients
+(
+    id            bigint         not null auto_increment,
+    recipe_id     bigint         not null,
+    name          varchar(100)   not null,
+    quantity      decimal(10, 3) not null,
+    unit          enum ('GRAM','KILOGRAM','MILLILITER','LITER','CUP','TABLESPOON','TEASPOON','PIECE','SLICE','PINCH','OUNCE','POUND') not null,
+    display_order integer        not null,
+    primary key (id),
+    constraint fk_ingredients_recipe foreign key (recipe_id) references recipes (id)
+) engine = InnoDB;
+
+create table if not exists labels
+(
+    id          bigint      not null auto_increment,
+    name        varchar(50) not null,
+    description varchar(255),
+    created_at  datetime(6) not null,
+    primary key (id),
+    constraint uk_labels_name unique (name)
+) engine = InnoDB;
+
+create table if not exists recipe_labels
+(
+    recipe_id bigint not null,
+    label_id  bigint not null,
+    primary key (recipe_id, label_id),
+    constraint fk_recipe_labels_recipe foreign key (recipe_id) references recipes (id),
+    constraint fk_recipe_labels_label foreign key (label_id) references labels (id)
+) engine = InnoDB;
+
+create table if not exists favorites
+(
+    id         bigint      not null auto_increment,
+    user_id    bigint      not null,
+    recipe_id  bigint      not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint unique_favorite unique (user_id, recipe_id),
+    constraint fk_favorites_user foreign key (user_id) references users (id),
+    constraint fk_favorites_recipe foreign key (recipe_id) references recipes (id)
+) engine = InnoDB;
+
+create table if not exists ratings
+(
+    id         bigint      not null auto_increment,
+    user_id    bigint      not null,
+    recipe_id  bigint      not null,
+    rating     integer     not null,
+    review     text,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint unique_rating unique (user_id, recipe_id),
+    constraint fk_ratings_user foreign key (user_id) references users (id),
+    constraint fk_ratings_recipe foreign key (recipe_id) references recipes (id)
+) engine = InnoDB;
+
+-- ids came from a recipe_views_seq table then; V4 makes the column AUTO_INCREMENT
+create table if not exists recipe_views
+(
+    id        bigint not null,
+    user_id   bigint,
+    recipe_id bigint,
+    viewed_at datetime(6),
+    primary key (id),
+    constraint uk_recipe_views_user_recipe unique (user_id, recipe_id),
+    constraint fk_recipe_views_user foreign key (user_id) references users (id),
+    constraint fk_recipe_views_recipe foreign key (recipe_id) references recipes (id) on delete cascade
+) engine = InnoDB;
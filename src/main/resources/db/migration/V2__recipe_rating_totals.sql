@@ -0,0 +1,31 @@
+-- Rating totals kept on the recipe so rating changes apply as deltas: rating_sum next to
+-- rating_count, and the 1-5 star histogram. Databases that ran under ddl-auto=update after
+-- these fields were mapped already have the columns, so each is added only when missing.
+-- Existing rows start at 0; RatingReconciliationJob fills them in shortly after startup.
+
+set @ddl = (
+    select if(count(*) = 0,
+              'alter table recipes add column rating_sum bigint not null default 0',
+              'select 1')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'recipes' and column_name = 'rating_sum'
+);
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+set @ddl = (
+    select if(count(*) = 0,
+              'alter table recipes
+                   add column one_star_count   bigint not null default 0,
+                   add column two_star_count   bigint not null default 0,
+                   add column three_star_count bigint not null default 0,
+                   add column four_star_count  bigint not null default 0,
+                   add column five_star_count  bigint not null default 0',
+              'select 1')
+    from information_schema.columns
+    where table_schema = database() and table_name = 'recipes' and column_name = 'one_star_count'
+);
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
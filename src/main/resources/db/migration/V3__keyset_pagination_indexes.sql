@@ -0,0 +1,36 @@
+-- Indexes behind the keyset (cursor) pagination of the recipe, favorite and rating lists.
+-- ddl-auto=update may have created them already under these names, so each is created
+-- only when missing.
+
+set @ddl = (
+    select if(count(*) = 0,
+              'create index idx_recipes_created_at_id on recipes (created_at, id)',
+              'select 1')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'recipes' and index_name = 'idx_recipes_created_at_id'
+);
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+set @ddl = (
+    select if(count(*) = 0,
+              'create index idx_favorites_user_created_at_id on favorites (user_id, created_at, id)',
+              'select 1')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'favorites' and index_name = 'idx_favorites_user_created_at_id'
+);
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
+
+set @ddl = (
+    select if(count(*) = 0,
+              'create index idx_ratings_recipe_created_at_id on ratings (recipe_id, created_at, id)',
+              'select 1')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'ratings' and index_name = 'idx_ratings_recipe_created_at_id'
+);
+prepare ddl from @ddl;
+execute ddl;
+deallocate prepare ddl;
@@ -0,0 +1,8 @@
+-- ViewRecorder writes views with multi-row INSERT IGNORE, which needs the database to
+-- assign ids. Before, Hibernate handed them out from recipe_views_seq (ddl-auto=update
+-- never changes an existing id column). Re-running the MODIFY is harmless; existing ids
+-- are kept and new ones continue after the highest.
+
+alter table recipe_views modify id bigint not null auto_increment;
+
+drop table if exists recipe_views_seq;
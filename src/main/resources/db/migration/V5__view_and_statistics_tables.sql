@@ -0,0 +1,76 @@
+-- Tables of the view pipeline and the statistics read models. Databases that ran under
+-- ddl-auto=update after these entities were mapped may have them already.
+
+-- --------------------
+-- Views
+-- --------------------
+
+create table if not exists recipe_view_sketches
+(
+    recipe_id     bigint not null,
+    viewers_hll   blob   not null,
+    viewers_bloom blob   not null,
+    updated_at    datetime(6),
+    primary key (recipe_id)
+) engine = InnoDB;
+
+create table if not exists recipe_view_archive
+(
+    recipe_id       bigint not null,
+    compacted_views bigint not null,
+    last_viewed_at  datetime(6),
+    compacted_at    datetime(6),
+    primary key (recipe_id)
+) engine = InnoDB;
+
+-- --------------------
+-- Statistics and read models
+-- --------------------
+
+create table if not exists recipe_stats_hourly
+(
+    recipe_id         bigint      not null,
+    stat_hour         datetime(6) not null,
+    views             bigint      not null,
+    favorites_added   bigint      not null,
+    favorites_removed bigint      not null,
+    primary key (recipe_id, stat_hour),
+    index idx_recipe_stats_hourly_stat_hour (stat_hour)
+) engine = InnoDB;
+
+create table if not exists recipe_stats_daily
+(
+    recipe_id         bigint not null,
+    stat_date         date   not null,
+    views             bigint not null,
+    favorites_added   bigint not null,
+    favorites_removed bigint not null,
+    primary key (recipe_id, stat_date)
+) engine = InnoDB;
+
+create table if not exists recipe_trending_scores
+(
+    recipe_id bigint      not null,
+    score     double      not null,
+    scored_at datetime(6) not null,
+    primary key (recipe_id)
+) engine = InnoDB;
+
+create table if not exists chef_stats
+(
+    chef_id         bigint not null,
+    recipe_count    bigint not null,
+    total_views     bigint not null,
+    total_favorites bigint not null,
+    rating_sum      bigint not null,
+    rating_count    bigint not null,
+    primary key (chef_id)
+) engine = InnoDB;
+
+create table if not exists job_checkpoints
+(
+    name       varchar(100) not null,
+    position   bigint       not null,
+    updated_at datetime(6),
+    primary key (name)
+) engine = InnoDB;
@@ -0,0 +1,6 @@
+-- Keyword search with MATCH (title, description, instructions) AGAINST (... IN BOOLEAN MODE),
+-- see RecipeSpecification.matchesKeyword. The column list must stay identical to the
+-- MATCH column list. The first FULLTEXT index on an InnoDB table adds the hidden
+-- FTS_DOC_ID column, which rebuilds the table once.
+
+create fulltext index ft_recipes_title_description_instructions on recipes (title, description, instructions);
@@ -0,0 +1,131 @@
+package com.recipesharing.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades a scratch database laid out like one the pre-migration application left behind:
+ * tables from ddl-auto=update and a flyway_schema_history holding only the version 0
+ * baseline, because that application ran Flyway without any migrations.
+ */
+@SpringBootTest
+class FlywayUpgradeIT {
+
+    private static final String SCHEMA = "recipe_platform_upgrade_it";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate.execute("drop database if exists " + SCHEMA);
+        jdbcTemplate.execute("create database " + SCHEMA);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setCatalog(SCHEMA);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/baseline-app/schema.sql"));
+        }
+
+        // the earlier setup: baseline-on-migrate at version 0 and no migrations to run
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/baseline-app/no-migrations")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        jdbcTemplate.update("insert into " + SCHEMA + ".users (username, email, password, created_at) values ('chef', 'chef@test.com', 'secret', now())");
+        jdbcTemplate.update("insert into " + SCHEMA + ".recipes (chef_id, title, instructions, created_at, favorites_count, rating_count) "
+                + "select id, 'Soup', 'Boil', now(), 0, 0 from " + SCHEMA + ".users");
+        jdbcTemplate.update("insert into " + SCHEMA + ".recipe_views (id, user_id, recipe_id, viewed_at) "
+                + "select 7, chef_id, id, now() from " + SCHEMA + ".recipes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop database if exists " + SCHEMA);
+    }
+
+    @Test
+    void migrate_upgradesTheSchemaThePreMigrationAppCreated() {
+
+        MigrateResult result = flyway().migrate();
+
+        assertTrue(result.success);
+        assertEquals(columns("database()"), columns("'" + SCHEMA + "'"));
+        assertTrue(hasIndex("recipes", "ft_recipes_title_description_instructions"));
+        assertTrue(hasIndex("favorites", "idx_favorites_user_created_at_id"));
+        assertEquals(0, count("select count(*) from information_schema.tables where table_schema = ? and table_name = 'recipe_views_seq'"));
+
+        // rows survive, and recipe_views ids now come from AUTO_INCREMENT after the existing ones
+        jdbcTemplate.update("delete from " + SCHEMA + ".recipe_views");
+        jdbcTemplate.update("insert into " + SCHEMA + ".recipe_views (user_id, recipe_id, viewed_at) "
+                + "select chef_id, id, now() from " + SCHEMA + ".recipes");
+        assertEquals(8L, jdbcTemplate.queryForObject("select id from " + SCHEMA + ".recipe_views", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("select rating_sum from " + SCHEMA + ".recipes", Long.class));
+    }
+
+    @Test
+    void migrate_runsOnceAndValidatesAfterwards() {
+
+        flyway().migrate();
+        MigrateResult again = flyway().migrate();
+
+        assertEquals(0, again.migrationsExecuted);
+        flyway().validate();
+    }
+
+    // the application's own settings, see application.properties
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    // table.column type nullability, as Hibernate validated them for the test database at startup
+    private Set<String> columns(String schemaExpression) {
+        List<String> columns = jdbcTemplate.queryForList(
+                "select concat(table_name, '.', column_name, ' ', data_type, ' ', is_nullable) "
+                        + "from information_schema.columns "
+                        + "where table_schema = " + schemaExpression + " and table_name <> 'flyway_schema_history'",
+                String.class
+        );
+        return new HashSet<>(columns);
+    }
+
+    private boolean hasIndex(String table, String index) {
+        return count("select count(*) from information_schema.statistics where table_schema = ? "
+                + "and table_name = '" + table + "' and index_name = '" + index + "'") > 0;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, SCHEMA);
+    }
+}
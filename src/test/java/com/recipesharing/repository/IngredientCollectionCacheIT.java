@@ -0,0 +1,99 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.request.CreateIngredientRequest;
+import com.recipesharing.dto.response.IngredientResponse;
+import com.recipesharing.entity.*;
+import com.recipesharing.service.IngredientService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class IngredientCollectionCacheIT {
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User chef;
+    private Recipe recipe;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        chef = userRepository.save(User.builder()
+                .username("chef-" + suffix)
+                .email("chef-" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CHEF)
+                .build());
+
+        Recipe draft = Recipe.builder()
+                .chef(chef)
+                .title("Soup")
+                .instructions("Boil")
+                .difficulty(RecipeDifficulty.EASY)
+                .build();
+        draft.addIngredient(ingredient("water", 0));
+        recipe = recipeRepository.save(draft);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // cascades to the ingredients, which must include the one added by the test
+        recipeRepository.deleteById(recipe.getId());
+        userRepository.deleteById(chef.getId());
+    }
+
+    @Test
+    void addIngredient_thenReadTheList() {
+
+        assertEquals(List.of("water"), ingredientNames()); // caches the collection
+
+        CreateIngredientRequest request = new CreateIngredientRequest();
+        request.setName("salt");
+        request.setQuantity(BigDecimal.ONE);
+        request.setUnit(IngredientUnit.GRAM);
+        request.setDisplayOrder(1);
+        ingredientService.addIngredientToRecipe(recipe.getId(), request, chef);
+
+        assertEquals(List.of("water", "salt"), ingredientNames());
+        int loaded = transactionTemplate.execute(status ->
+                recipeRepository.findById(recipe.getId()).orElseThrow().getIngredients().size());
+        assertEquals(2, loaded);
+    }
+
+    private List<String> ingredientNames() {
+        return ingredientService.getIngredientsByRecipeId(recipe.getId()).body()
+                .stream()
+                .map(IngredientResponse::getName)
+                .toList();
+    }
+
+    private static Ingredient ingredient(String name, int displayOrder) {
+        return Ingredient.builder()
+                .name(name)
+                .quantity(BigDecimal.ONE)
+                .unit(IngredientUnit.GRAM)
+                .displayOrder(displayOrder)
+                .build();
+    }
+}
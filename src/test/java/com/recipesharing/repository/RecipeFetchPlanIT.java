@@ -0,0 +1,150 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.dto.request.UpdateRecipeRequest;
+import com.recipesharing.entity.*;
+import com.recipesharing.service.RecipeDetailCache;
+import com.recipesharing.service.RecipeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cache.response-body.enabled=false"
+})
+@AutoConfigureMockMvc
+@Transactional
+class RecipeFetchPlanIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeDetailCache recipeDetailCache;
+
+    private Statistics statistics;
+    private User chef;
+    private Recipe recipe;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        chef = User.builder()
+                .username("chef-" + suffix)
+                .email("chef-" + suffix + "@test.com")
+                .password("secret")
+                .role(UserRole.CHEF)
+                .build();
+        entityManager.persist(chef);
+
+        Label dinner = Label.builder().name("dinner-" + suffix).build();
+        Label quick = Label.builder().name("quick-" + suffix).build();
+        entityManager.persist(dinner);
+        entityManager.persist(quick);
+
+        recipe = Recipe.builder()
+                .chef(chef)
+                .title("Soup")
+                .instructions("Boil")
+                .difficulty(RecipeDifficulty.EASY)
+                .labels(new HashSet<>(Set.of(dinner, quick)))
+                .build();
+        for (int i = 0; i < 3; i++) {
+            recipe.addIngredient(Ingredient.builder()
+                    .name("ingredient-" + i)
+                    .quantity(BigDecimal.ONE)
+                    .unit(IngredientUnit.GRAM)
+                    .displayOrder(i)
+                    .build());
+        }
+        entityManager.persist(recipe);
+
+        entityManager.flush();
+        entityManager.clear();
+        recipeDetailCache.evict(recipe.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void recipeDetail_loadsInTwoStatements() throws Exception {
+
+        mockMvc.perform(get("/api/recipes/" + recipe.getId()))
+                .andExpect(status().isOk());
+
+        assertStatementsAtMost(2);
+    }
+
+    @Test
+    void recipeDetail_revalidatesFromVersionLookup() throws Exception {
+
+        String etag = mockMvc.perform(get("/api/recipes/" + recipe.getId()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/recipes/" + recipe.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void recipeIngredients_loadInOneStatement() throws Exception {
+
+        mockMvc.perform(get("/api/recipes/" + recipe.getId() + "/ingredients"))
+                .andExpect(status().isOk());
+
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void recipeUpdate_loadsInTwoStatements() {
+
+        UpdateRecipeRequest request = new UpdateRecipeRequest();
+        request.setId(recipe.getId());
+        request.setTitle("Tomato soup");
+
+        recipeService.updateRecipe(request, chef);
+
+        assertStatementsAtMost(2);
+    }
+
+    private void assertStatementsAtMost(long expected) {
+        long actual = statistics.getPrepareStatementCount();
+        assertTrue(actual <= expected, "expected at most " + expected + " statements but was " + actual);
+    }
+}
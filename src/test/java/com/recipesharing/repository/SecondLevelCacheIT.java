@@ -0,0 +1,68 @@
+package com.recipesharing.repository;
+
+import com.recipesharing.entity.Label;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SecondLevelCacheIT {
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Label label;
+
+    @BeforeEach
+    void setUp() {
+        label = labelRepository.save(
+                Label.builder().name("cached-" + UUID.randomUUID().toString().substring(0, 8)).build()
+        );
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        labelRepository.deleteById(label.getId());
+    }
+
+    @Test
+    void labelLookup_isServedFromQueryAndEntityCache() {
+
+        findByName(); // populates both regions
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        List<Label> labels = findByName();
+
+        assertEquals(1, labels.size());
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics("labels").getHitCount() > 0);
+    }
+
+    private List<Label> findByName() {
+        return transactionTemplate.execute(status -> labelRepository.findAllByNameIn(Set.of(label.getName())));
+    }
+}
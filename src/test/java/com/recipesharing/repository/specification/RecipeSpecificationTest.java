@@ -0,0 +1,31 @@
+package com.recipesharing.repository.specification;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RecipeSpecificationTest {
+
+    @Test
+    void booleanModeQuery_requiresEveryWordAsPrefix() {
+
+        assertEquals("+tomato* +soup*", RecipeSpecification.booleanModeQuery("Tomato  soup"));
+    }
+
+    @Test
+    void booleanModeQuery_dropsOperatorsShortWordsAndDuplicates() {
+
+        assertEquals(
+                "+crème* +brûlée* +pie*",
+                RecipeSpecification.booleanModeQuery("-crème +brûlée* \"pie\" of a pie")
+        );
+    }
+
+    @Test
+    void booleanModeQuery_nothingIndexable() {
+
+        assertNull(RecipeSpecification.booleanModeQuery("a to"));
+        assertNull(RecipeSpecification.booleanModeQuery(null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ChefStatsConfig;
+import com.recipesharing.dto.response.ChefStatsResponse;
+import com.recipesharing.entity.ChefStats;
+import com.recipesharing.entity.User;
+import com.recipesharing.exception.ResourceNotFoundException;
+import com.recipesharing.repository.ChefStatsRepository;
+import com.recipesharing.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChefStatsServiceTest {
+
+    @Mock
+    private ChefStatsRepository chefStatsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChefStatsService chefStatsService;
+
+    @BeforeEach
+    void setUp() {
+        ChefStatsConfig config = new ChefStatsConfig();
+        config.setRebuildChunkSize(500);
+        config.setRebuildParallelism(2);
+        chefStatsService = new ChefStatsService(
+                config, chefStatsRepository, userRepository, new TransactionTemplate(transactionManager), new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void getStats_readsTheChefRow() {
+
+        when(userRepository.findByUsername("chef")).thenReturn(Optional.of(User.builder().id(7L).username("chef").build()));
+        when(chefStatsRepository.findById(7L)).thenReturn(Optional.of(ChefStats.builder()
+                .chefId(7L).recipeCount(3).totalViews(120).totalFavorites(9).ratingSum(26).ratingCount(6)
+                .build()));
+
+        ChefStatsResponse stats = chefStatsService.getStats("chef");
+
+        assertEquals(3, stats.getRecipeCount());
+        assertEquals(120, stats.getTotalViews());
+        assertEquals(9, stats.getTotalFavorites());
+        assertEquals(new BigDecimal("4.3"), stats.getAverageRating());
+    }
+
+    @Test
+    void getStats_isZeroForUsersWithoutRecipes() {
+
+        when(userRepository.findByUsername("cook")).thenReturn(Optional.of(User.builder().id(8L).username("cook").build()));
+        when(chefStatsRepository.findById(8L)).thenReturn(Optional.empty());
+
+        ChefStatsResponse stats = chefStatsService.getStats("cook");
+
+        assertEquals(0, stats.getRecipeCount());
+        assertNull(stats.getAverageRating());
+    }
+
+    @Test
+    void getStats_unknownUser() {
+
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> chefStatsService.getStats("nobody"));
+        verify(chefStatsRepository, never()).findById(any());
+    }
+
+    @Test
+    void rebuild_coversEveryChefIdInChunks() {
+
+        when(chefStatsRepository.findMaxChefId()).thenReturn(1_200L);
+        when(chefStatsRepository.rebuildRange(anyLong(), anyLong())).thenReturn(2);
+
+        assertEquals(3, chefStatsService.rebuild());
+
+        verify(chefStatsRepository).rebuildRange(1, 501);
+        verify(chefStatsRepository).rebuildRange(501, 1_001);
+        verify(chefStatsRepository).rebuildRange(1_001, 1_501);
+    }
+}
@@ -0,0 +1,74 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.RatingReconciliationConfig;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.RatingTotals;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RatingReconciliationJobTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void reconcile_repairsOnlyDriftedRecipesBatchByBatch() {
+
+        RatingReconciliationConfig config = new RatingReconciliationConfig();
+        config.setBatchSize(2);
+        RatingReconciliationJob job = new RatingReconciliationJob(
+                config, recipeRepository, eventPublisher, new SimpleMeterRegistry()
+        );
+
+        RatingTotals consistent = new RatingTotals(1L, 9, 2, stars(0, 0, 0, 1, 1), 9, 2, stars(0, 0, 0, 1, 1));
+        RatingTotals drifted = new RatingTotals(2L, 0, 3, stars(0, 0, 0, 0, 0), 12, 3, stars(0, 0, 0, 3, 0));
+        RatingTotals raced = new RatingTotals(5L, 4, 1, stars(0, 0, 0, 1, 0), 0, 0, stars(0, 0, 0, 0, 0));
+
+        when(recipeRepository.findRatingTotals(0L, 2)).thenReturn(List.of(consistent, drifted));
+        when(recipeRepository.findRatingTotals(2L, 2)).thenReturn(List.of(raced));
+        when(recipeRepository.findRatingTotals(5L, 2)).thenReturn(List.of());
+        when(recipeRepository.repairRatingTotals(drifted)).thenReturn(true);
+        when(recipeRepository.repairRatingTotals(raced)).thenReturn(false);
+
+        int repaired = job.reconcile();
+
+        assertEquals(1, repaired);
+        verify(recipeRepository, never()).repairRatingTotals(consistent);
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.updated(2L));
+    }
+
+    @Test
+    void reconcileScheduled_doesNothingWhenDisabled() {
+
+        RatingReconciliationConfig config = new RatingReconciliationConfig();
+        config.setEnabled(false);
+        RatingReconciliationJob job = new RatingReconciliationJob(
+                config, recipeRepository, eventPublisher, new SimpleMeterRegistry()
+        );
+
+        job.reconcileScheduled();
+
+        verifyNoInteractions(recipeRepository);
+    }
+
+    private static long[] stars(long... counts) {
+        return counts;
+    }
+}
@@ -2,6 +2,9 @@ package com.recipesharing.service;
 
 import com.recipesharing.dto.mapper.RatingMapper;
 import com.recipesharing.dto.request.CreateRatingRequest;
+import com.recipesharing.dto.request.UpdateRatingRequest;
+import com.recipesharing.dto.response.RatingSummaryResponse;
+import com.recipesharing.dto.version.Versioned;
 import com.recipesharing.entity.Rating;
 import com.recipesharing.entity.Recipe;
 import com.recipesharing.entity.User;
@@ -13,12 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +46,9 @@ class RatingServiceTest {
     @Mock
     private RecipeStatisticsService recipeStatisticsService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RatingService ratingService;
 
@@ -83,6 +96,7 @@ class RatingServiceTest {
                 .build();
 
         Rating rating = new Rating();
+        rating.setRating(4);
 
         when(recipeRepository.findById(1L))
                 .thenReturn(Optional.of(recipe));
@@ -92,6 +106,56 @@ class RatingServiceTest {
         ratingService.addRating(1L, new CreateRatingRequest(), user);
 
         verify(ratingRepository).save(any(Rating.class));
-        verify(recipeStatisticsService).updateRatingStats(1L);
+        verify(recipeStatisticsService).ratingAdded(1L, 4);
+    }
+
+    @Test
+    void updateRating_appliesTheDifference() {
+
+        User user = User.builder().id(2L).build();
+        Recipe recipe = Recipe.builder().build();
+        Rating rating = Rating.builder().rating(2).build();
+        UpdateRatingRequest request = new UpdateRatingRequest();
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(ratingRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(rating));
+        doAnswer(invocation -> {
+            rating.setRating(5);
+            return null;
+        }).when(ratingMapper).updateRatingFromRequest(request, rating);
+
+        ratingService.updateRating(1L, request, user);
+
+        verify(recipeStatisticsService).ratingChanged(1L, 2, 5);
+    }
+
+    @Test
+    void deleteRating_removesItsValue() {
+
+        User user = User.builder().id(2L).build();
+        Recipe recipe = Recipe.builder().build();
+        Rating rating = Rating.builder().rating(3).build();
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(recipe));
+        when(ratingRepository.findByUserAndRecipe(user, recipe)).thenReturn(Optional.of(rating));
+
+        ratingService.deleteRating(1L, user);
+
+        verify(ratingRepository).delete(rating);
+        verify(recipeStatisticsService).ratingRemoved(1L, 3);
+    }
+
+    @Test
+    void ratingSummary_isReadFromTheRecipeRow() {
+
+        RatingSummaryResponse summary = new RatingSummaryResponse(1L, 3L, new BigDecimal("4.3"), 0L, 0L, 0L, 2L, 1L);
+        when(recipeRepository.findRatingSummaryById(1L)).thenReturn(Optional.of(summary));
+
+        Versioned<RatingSummaryResponse> result = ratingService.getRatingSummary(1L);
+
+        assertSame(summary, result.body());
+        assertEquals(List.of(1, 2, 3, 4, 5), List.copyOf(result.body().getDistribution().keySet()));
+        assertEquals(2L, result.body().getDistribution().get(4));
+        verifyNoInteractions(ratingRepository);
     }
 }
@@ -0,0 +1,95 @@
+package com.recipesharing.service;
+
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeCountersFlushedEvent;
+import com.recipesharing.repository.ChefStatsRepository;
+import com.recipesharing.repository.RecipeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeCounterAggregatorTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private ChefStatsRepository chefStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RecipeCounterAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new RecipeCounterAggregator(
+                recipeRepository, chefStatsRepository, new TransactionTemplate(transactionManager), eventPublisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_writesAllPendingDeltasInOneUpdate() {
+
+        aggregator.addViews(1L, 1);
+        aggregator.addViews(1L, 2);
+        aggregator.addFavorites(2L, 1);
+        aggregator.addFavorites(2L, -1);
+        aggregator.addFavorites(3L, -1);
+
+        aggregator.flush();
+
+        verify(recipeRepository).applyCounterDeltas(Map.of(1L, 3L), Map.of(3L, -1L));
+        verify(chefStatsRepository).applyCounterDeltas(Map.of(1L, 3L), Map.of(3L, -1L));
+        verify(eventPublisher).publishEvent(new RecipeCountersFlushedEvent(Set.of(1L, 3L)));
+        verify(eventPublisher, never()).publishEvent(any(RecipeChangedEvent.class));
+        assertEquals(0, aggregator.pendingViews(1L));
+        assertEquals(0, aggregator.pendingFavorites(3L));
+    }
+
+    @Test
+    void flush_keepsDeltasWhenTheUpdateFails() {
+
+        aggregator.addViews(1L, 5);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(recipeRepository).applyCounterDeltas(any(), any());
+
+        aggregator.flush();
+
+        assertEquals(5, aggregator.pendingViews(1L));
+        verifyNoInteractions(chefStatsRepository, eventPublisher);
+    }
+
+    @Test
+    void flush_skipsTheUpdateWhenNothingIsPending() {
+
+        aggregator.addViews(1L, 1);
+        aggregator.addViews(1L, -1);
+
+        aggregator.flush();
+        aggregator.addViews(1L, 4);
+
+        verifyNoInteractions(transactionManager, recipeRepository);
+        assertEquals(4, aggregator.pendingViews(1L));
+    }
+}
@@ -0,0 +1,38 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.RecipeCacheConfig;
+import com.recipesharing.dto.response.RecipeResponse;
+import com.recipesharing.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+class RecipeDetailCacheTest {
+
+    private final RecipeDetailCache cache = new RecipeDetailCache(new RecipeCacheConfig(), new SimpleMeterRegistry());
+
+    @Test
+    void put_storesWhenNothingChangedSinceTheRead() {
+
+        RecipeResponse response = mock(RecipeResponse.class);
+        long generation = cache.generation(1L);
+
+        cache.put(1L, generation, response);
+
+        assertSame(response, cache.get(1L));
+    }
+
+    @Test
+    void put_dropsAReadThatAnEvictionOvertook() {
+
+        long generation = cache.generation(1L);
+        cache.onRecipeChanged(RecipeChangedEvent.updated(1L));
+
+        cache.put(1L, generation, mock(RecipeResponse.class));
+
+        assertNull(cache.get(1L));
+    }
+}
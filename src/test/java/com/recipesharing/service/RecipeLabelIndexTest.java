@@ -0,0 +1,95 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.LabelIndexConfig;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.event.RecipeLabelsChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeLabelIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private final LabelIndexConfig config = new LabelIndexConfig();
+
+    private RecipeLabelIndex index;
+
+    @BeforeEach
+    void setUp() {
+        config.setRebuildBatchSize(2);
+        config.setMaxQueryIds(100);
+        index = new RecipeLabelIndex(config, recipeRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void select_beforeTheFirstBuild() {
+
+        assertNull(index.select(List.of("dinner"), LabelFilterMode.ANY));
+    }
+
+    @Test
+    void select_combinesLabelBitmaps() {
+
+        build();
+
+        assertArrayEquals(new long[]{1, 2, 3}, index.select(List.of("dinner", "soup"), LabelFilterMode.ANY).ids());
+        assertArrayEquals(new long[]{1}, index.select(List.of("dinner", "soup"), LabelFilterMode.ALL).ids());
+        assertArrayEquals(new long[0], index.select(List.of("dinner", "unknown"), LabelFilterMode.ALL).ids());
+
+        RecipeLabelIndex.Selection none = index.select(List.of("soup"), LabelFilterMode.NONE);
+        assertTrue(none.excluded());
+        assertArrayEquals(new long[]{1, 3}, none.ids());
+    }
+
+    @Test
+    void select_tooManyIdsForTheQuery() {
+
+        build();
+        config.setMaxQueryIds(1);
+
+        assertNull(index.select(List.of("dinner"), LabelFilterMode.ANY));
+        assertFalse(index.select(List.of("side"), LabelFilterMode.ANY).excluded());
+    }
+
+    @Test
+    void events_followLabelChangesAndDeletions() {
+
+        build();
+
+        index.onLabelsChanged(RecipeLabelsChangedEvent.added(4L, Set.of("soup")));
+        index.onLabelsChanged(RecipeLabelsChangedEvent.removed(1L, "soup"));
+        index.onRecipeChanged(RecipeChangedEvent.deleted(2L));
+
+        assertArrayEquals(new long[]{3, 4}, index.select(List.of("soup"), LabelFilterMode.ANY).ids());
+        assertArrayEquals(new long[]{1}, index.select(List.of("dinner"), LabelFilterMode.ANY).ids());
+    }
+
+    private void build() {
+        when(recipeRepository.findIdsAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(recipeRepository.findIdsAfter(2L, 2)).thenReturn(List.of(3L));
+        when(recipeRepository.findLabelNames(List.of(1L, 2L))).thenReturn(Map.of(
+                1L, Set.of("dinner", "soup"),
+                2L, Set.of("dinner")
+        ));
+        when(recipeRepository.findLabelNames(List.of(3L))).thenReturn(Map.of(3L, Set.of("soup", "side")));
+        index.rebuild();
+    }
+}
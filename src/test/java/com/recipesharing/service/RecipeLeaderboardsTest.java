@@ -0,0 +1,95 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.LeaderboardConfig;
+import com.recipesharing.dto.request.LeaderboardType;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.LeaderboardRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeLeaderboardsTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private final LeaderboardConfig config = new LeaderboardConfig();
+
+    private RecipeLeaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        config.setSnapshotMaxAge(Duration.ZERO);
+        config.setRebuildBatchSize(2);
+        config.setRatingPriorWeight(10);
+        leaderboards = new RecipeLeaderboards(config, recipeRepository, new SimpleMeterRegistry());
+
+        // 1: one 5-star rating; 2: forty ratings averaging 4.5; 3: nothing yet
+        when(recipeRepository.findLeaderboardRows(0L, 2)).thenReturn(List.of(
+                new LeaderboardRow(1, 50, 3, 5, 1),
+                new LeaderboardRow(2, 10, 8, 180, 40)
+        ));
+        when(recipeRepository.findLeaderboardRows(2L, 2)).thenReturn(List.of(
+                new LeaderboardRow(3, 30, 0, 0, 0)
+        ));
+        leaderboards.rebuild();
+    }
+
+    @Test
+    void rebuild_ranksEachBoardFromRecipes() {
+
+        assertArrayEquals(new long[]{1, 3, 2}, leaderboards.page(LeaderboardType.VIEWS, 0, 10).ids());
+        assertArrayEquals(new long[]{2, 1, 3}, leaderboards.page(LeaderboardType.FAVORITES, 0, 10).ids());
+    }
+
+    @Test
+    void ratingBoard_pullsFewRatingsTowardsTheMean() {
+
+        // mean = 185 / 41; recipe 1 scores (10m + 5) / 11 ~ 4.56, recipe 2 (10m + 180) / 50 ~ 4.50
+        RecipeLeaderboards.Ranking ranking = leaderboards.page(LeaderboardType.RATING, 0, 10);
+        assertArrayEquals(new long[]{1, 2}, ranking.ids());
+        assertEquals((10 * 185.0 / 41 + 5) / 11, ranking.scores()[0], 1e-9);
+
+        // a one-star rating drops recipe 1 well below
+        leaderboards.ratingChanged(1L, null, 1);
+        assertArrayEquals(new long[]{2, 1}, leaderboards.page(LeaderboardType.RATING, 0, 10).ids());
+    }
+
+    @Test
+    void counterChanges_moveRecipes() {
+
+        leaderboards.favoritesAdded(3L, 9);
+        leaderboards.favoritesAdded(2L, -1);
+        leaderboards.onRecipeChanged(RecipeChangedEvent.deleted(1L));
+
+        RecipeLeaderboards.Ranking ranking = leaderboards.page(LeaderboardType.FAVORITES, 0, 10);
+        assertArrayEquals(new long[]{3, 2}, ranking.ids());
+        assertArrayEquals(new double[]{9, 7}, ranking.scores());
+    }
+
+    @Test
+    void page_slicesTheSnapshot() {
+
+        RecipeLeaderboards.Ranking first = leaderboards.page(LeaderboardType.VIEWS, 0, 2);
+        RecipeLeaderboards.Ranking second = leaderboards.page(LeaderboardType.VIEWS, 2, 2);
+
+        assertTrue(first.hasNext());
+        assertArrayEquals(new long[]{2}, second.ids());
+        assertFalse(second.hasNext());
+        assertEquals(0, leaderboards.page(LeaderboardType.VIEWS, 10, 2).ids().length);
+    }
+}
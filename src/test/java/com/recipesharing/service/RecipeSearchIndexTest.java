@@ -0,0 +1,134 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.SearchIndexConfig;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.entity.RecipeDifficulty;
+import com.recipesharing.repository.RecipeRepositoryCustom.SearchDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipeSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = open();
+        index.index(List.of(
+                document(1, 10, "Tomato soup", "Simmer the tomatoes", List.of("tomato", "basil"), Set.of("soup")),
+                document(2, 10, "Garlic bread", "Bake with a little tomato paste", List.of("bread", "garlic"), Set.of("side")),
+                document(3, 20, "Pasta al pomodoro", "Boil the pasta", List.of("pasta", "tomato"), Set.of("dinner"))
+        ));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void search_ranksTitleMatchesFirst() {
+
+        RecipeSearchIndex.Hits hits = index.search("tomatoes", null, LabelFilterMode.ANY, null, null, 0, 10, true);
+
+        assertEquals(1L, hits.ids().get(0));
+        assertEquals(3, hits.total());
+        assertFalse(hits.hasNext());
+    }
+
+    @Test
+    void search_appliesFiltersAndPages() {
+
+        RecipeSearchIndex.Hits byChef = index.search("tomato", null, LabelFilterMode.ANY, 10L, null, 0, 1, true);
+        RecipeSearchIndex.Hits byLabel = index.search(
+                "tomato", List.of("dinner", "side"), LabelFilterMode.ANY, null, null, 0, 10, true
+        );
+
+        assertEquals(1, byChef.ids().size());
+        assertEquals(2, byChef.total());
+        assertTrue(byChef.hasNext());
+        assertEquals(Set.of(2L, 3L), Set.copyOf(byLabel.ids()));
+    }
+
+    @Test
+    void search_combinesLabelsAsAllOrNone() {
+
+        RecipeSearchIndex.Hits all = index.search(
+                "tomato", List.of("soup", "dinner"), LabelFilterMode.ALL, null, null, 0, 10, true
+        );
+        RecipeSearchIndex.Hits none = index.search(
+                "tomato", List.of("soup"), LabelFilterMode.NONE, null, null, 0, 10, true
+        );
+
+        assertTrue(all.ids().isEmpty());
+        assertEquals(Set.of(2L, 3L), Set.copyOf(none.ids()));
+    }
+
+    @Test
+    void delete_removesTheRecipeAfterRefresh() {
+
+        index.delete(List.of(1L));
+        index.refresh();
+
+        assertFalse(index.search("soup", null, LabelFilterMode.ANY, null, null, 0, 10, true).ids().contains(1L));
+    }
+
+    @Test
+    void rebuild_dropsRecipesThatWereNotRewritten() {
+
+        index.beginRebuild();
+        index.index(List.of(
+                document(1, 10, "Tomato soup", "Simmer the tomatoes", List.of("tomato"), Set.of("soup"))
+        ));
+        index.finishRebuild();
+        index.refresh();
+
+        assertEquals(List.of(1L), index.search("tomato", null, LabelFilterMode.ANY, null, null, 0, 10, true).ids());
+    }
+
+    @Test
+    void commit_survivesReopening() {
+
+        LocalDateTime indexedThrough = LocalDateTime.of(2026, 1, 1, 12, 0);
+        index.commit(indexedThrough);
+        index.close();
+
+        index = open();
+
+        assertEquals(indexedThrough, index.indexedThrough());
+        assertEquals(3, index.size());
+    }
+
+    private RecipeSearchIndex open() {
+        SearchIndexConfig config = new SearchIndexConfig();
+        config.setDirectory(directory.toString());
+        return new RecipeSearchIndex(config, new SimpleMeterRegistry());
+    }
+
+    private static SearchDocument document(
+            long id,
+            long chefId,
+            String title,
+            String instructions,
+            List<String> ingredients,
+            Set<String> labels
+    ) {
+        return new SearchDocument(id, chefId, title, null, instructions, RecipeDifficulty.EASY.name(), ingredients, labels);
+    }
+}
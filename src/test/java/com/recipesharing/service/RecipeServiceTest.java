@@ -1,25 +1,57 @@
 package com.recipesharing.service;
 
+import com.recipesharing.config.SearchFacetConfig;
+import com.recipesharing.config.SearchIndexConfig;
 import com.recipesharing.dto.mapper.RecipeMapper;
 import com.recipesharing.dto.request.CreateRecipeRequest;
+import com.recipesharing.dto.request.LabelFilterMode;
+import com.recipesharing.dto.request.SearchFacet;
+import com.recipesharing.dto.request.SearchMode;
+import com.recipesharing.dto.request.TotalMode;
 import com.recipesharing.dto.request.UpdateRecipeRequest;
+import com.recipesharing.dto.response.FacetBucketResponse;
+import com.recipesharing.dto.response.RecipeBatchResponse;
+import com.recipesharing.dto.response.RecipeListResponse;
 import com.recipesharing.dto.response.RecipeResponse;
 import com.recipesharing.entity.Recipe;
+import com.recipesharing.entity.RecipeDifficulty;
 import com.recipesharing.entity.User;
+import com.recipesharing.exception.BadRequestException;
 import com.recipesharing.exception.ResourceNotFoundException;
 import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.FacetCount;
+import com.recipesharing.util.LabelUtils;
 import com.recipesharing.util.ValidationUti;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +66,42 @@ class RecipeServiceTest {
     @Mock
     private ValidationUti validationUti;
 
+    @Mock
+    private FavoriteIndex favoriteIndex;
+
+    @Mock
+    private ViewRecorder viewRecorder;
+
+    @Mock
+    private RecipeCounterAggregator counterAggregator;
+
+    @Mock
+    private RecipeStatisticsService recipeStatisticsService;
+
+    @Mock
+    private RecipeTrendingScores trendingScores;
+
+    @Mock
+    private LabelUtils labelUtils;
+
+    @Mock
+    private RecipeSearchIndex searchIndex;
+
+    @Spy
+    private SearchIndexConfig searchIndexConfig = new SearchIndexConfig();
+
+    @Spy
+    private SearchFacetConfig searchFacetConfig = new SearchFacetConfig();
+
+    @Mock
+    private RecipeLabelIndex labelIndex;
+
+    @Mock
+    private RecipeDetailCache recipeDetailCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -45,6 +113,7 @@ class RecipeServiceTest {
 
         Recipe recipe = new Recipe();
         Recipe saved = new Recipe();
+        saved.setId(5L);
         RecipeResponse response = new RecipeResponse();
 
         when(recipeMapper.toRecipe(request)).thenReturn(recipe);
@@ -55,12 +124,13 @@ class RecipeServiceTest {
 
         assertNotNull(result);
         verify(recipeRepository).save(recipe);
+        verify(recipeStatisticsService).recipeCreated(5L);
     }
 
     @Test
     void getRecipeById_notFound() {
 
-        when(recipeRepository.findById(1L))
+        when(recipeRepository.findDetailById(1L))
                 .thenReturn(Optional.empty());
 
         assertThrows(
@@ -69,6 +139,184 @@ class RecipeServiceTest {
         );
     }
 
+    @Test
+    void getRecipeById_servedFromCache() {
+
+        User user = User.builder().id(2L).build();
+        RecipeResponse cached = new RecipeResponse();
+        RecipeResponse copy = new RecipeResponse();
+
+        when(recipeDetailCache.get(1L)).thenReturn(cached);
+        when(recipeMapper.copyRecipeResponse(cached)).thenReturn(copy);
+        when(favoriteIndex.isFavorite(2L, 1L)).thenReturn(true);
+
+        RecipeResponse result = recipeService.getRecipeById(1L, user);
+
+        assertSame(copy, result);
+        assertTrue(result.getIsFavorite());
+        verify(recipeRepository, never()).findDetailById(anyLong());
+        verify(viewRecorder).record(2L, 1L);
+    }
+
+    @Test
+    void recordView_onlyForSignedInUsers() {
+
+        recipeService.recordView(1L, null);
+        recipeService.recordView(1L, User.builder().id(2L).build());
+
+        verify(viewRecorder).record(2L, 1L);
+        verifyNoMoreInteractions(viewRecorder);
+    }
+
+    @Test
+    void getRecipeById_addsPendingCounterDeltas() {
+
+        RecipeResponse cached = new RecipeResponse();
+        RecipeResponse copy = new RecipeResponse();
+        copy.setId(1L);
+        copy.setViewCount(10);
+        copy.setFavoritesCount(1L);
+
+        when(recipeDetailCache.get(1L)).thenReturn(cached);
+        when(recipeMapper.copyRecipeResponse(cached)).thenReturn(copy);
+        when(counterAggregator.pendingViews(1L)).thenReturn(3L);
+        when(counterAggregator.pendingFavorites(1L)).thenReturn(-2L);
+
+        RecipeResponse result = recipeService.getRecipeById(1L, null);
+
+        assertEquals(13, result.getViewCount());
+        assertEquals(0L, result.getFavoritesCount());
+    }
+
+    @Test
+    void getRecipesByIds_keepsRequestedOrderAndReportsMissing() {
+
+        when(recipeRepository.findListByIds(any()))
+                .thenReturn(List.of(card(1L), card(3L)));
+
+        RecipeBatchResponse result = recipeService.getRecipesByIds(List.of(3L, 2L, 1L, 3L), null);
+
+        assertEquals(List.of(3L, 1L), result.getContent().stream().map(RecipeListResponse::getId).toList());
+        assertEquals(List.of(2L), result.getMissingIds());
+    }
+
+    @Test
+    void getRecipesByIds_tooMany() {
+
+        List<Long> ids = LongStream.rangeClosed(1, RecipeService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(
+                BadRequestException.class,
+                () -> recipeService.getRecipesByIds(ids, null)
+        );
+        verify(recipeRepository, never()).findListByIds(any());
+    }
+
+    @Test
+    void getTrendingRecipes_keepsRankingOrder() {
+
+        when(labelUtils.normalizeLabelName("Vegan")).thenReturn("vegan");
+        when(trendingScores.capacity("vegan")).thenReturn(50);
+        when(trendingScores.top("vegan", 3)).thenReturn(List.of(5L, 9L, 2L));
+        when(recipeRepository.findListByIds(List.of(5L, 9L, 2L)))
+                .thenReturn(List.of(card(2L), card(5L)));
+
+        List<RecipeListResponse> result = recipeService.getTrendingRecipes("Vegan", 3, null);
+
+        assertEquals(List.of(5L, 2L), result.stream().map(RecipeListResponse::getId).toList());
+    }
+
+    @Test
+    void getTrendingRecipes_limitAboveCapacity() {
+
+        when(trendingScores.capacity(null)).thenReturn(100);
+
+        assertThrows(
+                BadRequestException.class,
+                () -> recipeService.getTrendingRecipes(null, 101, null)
+        );
+        verify(trendingScores, never()).top(any(), anyInt());
+    }
+
+    @Test
+    void searchRecipesFullText_hydratesInRankOrder() {
+
+        when(searchIndex.search("pasta", null, LabelFilterMode.ANY, null, null, 0, 2, true))
+                .thenReturn(new RecipeSearchIndex.Hits(List.of(7L, 3L), 5, true, true));
+        when(recipeRepository.findListByIds(List.of(7L, 3L)))
+                .thenReturn(List.of(card(3L), card(7L)));
+
+        Slice<RecipeListResponse> result = recipeService.searchRecipesFullText(
+                "pasta", null, LabelFilterMode.ANY, null, null, PageRequest.of(0, 2), TotalMode.EXACT, null
+        );
+
+        assertEquals(List.of(7L, 3L), result.getContent().stream().map(RecipeListResponse::getId).toList());
+        assertEquals(5, ((Page<RecipeListResponse>) result).getTotalElements());
+    }
+
+    @Test
+    void searchRecipesFullText_beyondMaxResults() {
+
+        assertThrows(
+                BadRequestException.class,
+                () -> recipeService.searchRecipesFullText(
+                        "pasta", null, LabelFilterMode.ANY, null, null, PageRequest.of(100, 15), TotalMode.EXACT, null
+                )
+        );
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void searchFacets_oneGroupedQueryPerFacet() {
+
+        when(labelUtils.normalizeLabelName("dinner")).thenReturn("dinner");
+        when(recipeRepository.findFacetCounts(any(), eq(SearchFacet.LABELS), eq(10)))
+                .thenReturn(List.of(new FacetCount("dinner", "dinner", 12), new FacetCount("soup", "soup", 4)));
+        when(recipeRepository.findFacetCounts(any(), eq(SearchFacet.CHEF), eq(10)))
+                .thenReturn(List.of(new FacetCount("7", "chef", 3)));
+
+        Map<String, List<FacetBucketResponse>> facets = recipeService.searchFacets(
+                SearchMode.DATABASE, "soup", List.of("dinner"), LabelFilterMode.ANY, null, RecipeDifficulty.EASY,
+                EnumSet.of(SearchFacet.LABELS, SearchFacet.CHEF)
+        );
+
+        assertEquals(List.of("labels", "chef"), List.copyOf(facets.keySet()));
+        assertEquals(12, facets.get("labels").get(0).getCount());
+        assertEquals("7", facets.get("chef").get(0).getValue());
+        assertEquals("chef", facets.get("chef").get(0).getName());
+    }
+
+    @Test
+    void searchFacets_fullTextCountsIndexMatchesWithoutTheFacetsOwnFilter() {
+
+        when(searchIndex.search("pasta", null, LabelFilterMode.ALL, 7L, null, 0, 1_000, false))
+                .thenReturn(new RecipeSearchIndex.Hits(List.of(3L, 5L), 2, false, false));
+        when(recipeRepository.findFacetCounts(any(), eq(SearchFacet.LABELS), eq(10)))
+                .thenReturn(List.of(new FacetCount("dinner", "dinner", 2)));
+
+        Map<String, List<FacetBucketResponse>> facets = recipeService.searchFacets(
+                SearchMode.FULLTEXT, "pasta", List.of("soup"), LabelFilterMode.ALL, 7L, null,
+                EnumSet.of(SearchFacet.LABELS)
+        );
+
+        assertEquals(2, facets.get("labels").get(0).getCount());
+    }
+
+    @Test
+    void searchFacets_normalizesLabelsForTheBitmapIndex() {
+
+        when(labelUtils.normalizeLabelName("Dinner")).thenReturn("dinner");
+        when(labelIndex.select(List.of("dinner"), LabelFilterMode.NONE))
+                .thenReturn(new RecipeLabelIndex.Selection(new long[]{4, 9}, true));
+
+        recipeService.searchFacets(
+                SearchMode.DATABASE, null, List.of("Dinner", " "), LabelFilterMode.NONE, null, null,
+                EnumSet.of(SearchFacet.DIFFICULTY)
+        );
+
+        verify(recipeRepository).findFacetCounts(any(), eq(SearchFacet.DIFFICULTY), eq(10));
+    }
+
     @Test
     void updateRecipe_ownershipValidated() {
 
@@ -78,11 +326,15 @@ class RecipeServiceTest {
 
         Recipe recipe = Recipe.builder().chef(chef).build();
 
-        when(recipeRepository.findById(10L))
+        when(recipeRepository.findDetailById(10L))
                 .thenReturn(Optional.of(recipe));
 
         recipeService.updateRecipe(request, chef);
 
         verify(validationUti).validateRecipeOwnership(recipe, chef);
     }
+
+    private static RecipeListResponse card(Long id) {
+        return new RecipeListResponse(id, null, null, null, null, null, null, null, null, null);
+    }
 }
@@ -0,0 +1,92 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.StatsRollupConfig;
+import com.recipesharing.repository.RecipeStatsRepository;
+import com.recipesharing.repository.RecipeStatsRepositoryCustom.StatsDelta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeStatsRollupTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 5, 1, 9, 15);
+
+    @Mock
+    private RecipeStatsRepository statsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeStatsRollup rollup;
+
+    @BeforeEach
+    void setUp() {
+        rollup = new RecipeStatsRollup(new StatsRollupConfig(), statsRepository, new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_upsertsHourlyBucketsAndTheirDailyTotals() {
+
+        rollup.recordViews(1L, 3, MORNING);
+        rollup.recordViews(1L, 2, MORNING.plusMinutes(30));
+        rollup.recordViews(1L, 1, MORNING.plusHours(2));
+        rollup.recordFavorite(1L, true, MORNING);
+
+        rollup.flush();
+
+        verify(statsRepository).upsertHourly(argThatContains(
+                new StatsDelta(1L, MORNING.withMinute(0), 5, 1, 0),
+                new StatsDelta(1L, MORNING.withMinute(0).plusHours(2), 1, 0, 0)
+        ));
+        verify(statsRepository).upsertDaily(List.of(
+                new StatsDelta(1L, MORNING.toLocalDate().atStartOfDay(), 6, 1, 0)
+        ));
+    }
+
+    @Test
+    void flush_keepsBucketsWhenTheUpsertFails() {
+
+        rollup.recordFavorite(1L, false, MORNING);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doNothing()
+                .when(statsRepository).upsertHourly(anyCollection());
+
+        rollup.flush();
+        rollup.flush();
+
+        verify(statsRepository, times(2)).upsertHourly(List.of(new StatsDelta(1L, MORNING.withMinute(0), 0, 0, 1)));
+    }
+
+    @Test
+    void flush_withNothingPendingDoesNotWrite() {
+
+        rollup.flush();
+
+        verifyNoInteractions(transactionManager, statsRepository);
+    }
+
+    private static Collection<StatsDelta> argThatContains(StatsDelta... deltas) {
+        return argThat(actual ->
+                actual.size() == deltas.length && Set.copyOf(actual).equals(Set.of(deltas)));
+    }
+}
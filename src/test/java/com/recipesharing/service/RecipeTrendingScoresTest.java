@@ -0,0 +1,137 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.TrendingConfig;
+import com.recipesharing.entity.RecipeTrendingScore;
+import com.recipesharing.event.FavoriteChangedEvent;
+import com.recipesharing.event.RatingChangedEvent;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeTrendingScoreRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeTrendingScoresTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeTrendingScoreRepository scoreRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TrendingConfig config = new TrendingConfig();
+
+    private RecipeTrendingScores trendingScores;
+
+    @BeforeEach
+    void setUp() {
+        config.setCapacity(2);
+        config.setSegmentByLabel(false);
+        trendingScores = scores();
+    }
+
+    @Test
+    void top_ranksByWeightedEngagement() {
+
+        trendingScores.recordViews(1L, 3);
+        trendingScores.onFavoriteChanged(FavoriteChangedEvent.added(7L, 2L));
+        trendingScores.onRatingChanged(RatingChangedEvent.added(3L, 5));
+        trendingScores.recordViews(4L, 1);
+
+        // favorite 5, views 3, rating (5 - 3) * 2 = 4; the single view does not make the top 2
+        assertEquals(List.of(2L, 3L), trendingScores.top(null, 10));
+        assertEquals(5.0, trendingScores.score(2L), 0.01);
+    }
+
+    @Test
+    void unfavoriteAndRatingChange_lowerScores() {
+
+        trendingScores.onFavoriteChanged(FavoriteChangedEvent.added(7L, 1L));
+        trendingScores.onFavoriteChanged(FavoriteChangedEvent.removed(7L, 1L));
+        trendingScores.onRatingChanged(RatingChangedEvent.added(2L, 5));
+        trendingScores.onRatingChanged(RatingChangedEvent.changed(2L, 5, 4));
+
+        assertEquals(0.0, trendingScores.score(1L), 0.01);
+        assertEquals(2.0, trendingScores.score(2L), 0.01);
+    }
+
+    @Test
+    void top_segmentsByLabel() {
+
+        config.setSegmentByLabel(true);
+        trendingScores = scores();
+        when(recipeRepository.findLabelNames(List.of(1L))).thenReturn(Map.of(1L, Set.of("vegan")));
+        when(recipeRepository.findLabelNames(List.of(2L))).thenReturn(Map.of());
+
+        trendingScores.recordViews(1L, 1);
+        trendingScores.recordViews(2L, 5);
+
+        assertEquals(List.of(1L), trendingScores.top("vegan", 10));
+        assertEquals(List.of(), trendingScores.top("dessert", 10));
+        assertEquals(List.of(2L, 1L), trendingScores.top(null, 10));
+    }
+
+    @Test
+    void recipeDeleted_dropsIt() {
+
+        trendingScores.recordViews(1L, 1);
+        trendingScores.onRecipeChanged(RecipeChangedEvent.deleted(1L));
+
+        assertEquals(List.of(), trendingScores.top(null, 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot_forgetsLowScoresAndPersistsTheRest() {
+
+        config.setMinScore(2);
+        trendingScores.recordViews(1L, 1);
+        trendingScores.recordViews(2L, 3);
+
+        trendingScores.snapshot();
+
+        ArgumentCaptor<Map<Long, Double>> persisted = ArgumentCaptor.forClass(Map.class);
+        verify(scoreRepository).replaceAll(persisted.capture(), any());
+        assertEquals(Set.of(2L), persisted.getValue().keySet());
+        assertEquals(List.of(2L), trendingScores.top(null, 10));
+    }
+
+    @Test
+    void restore_decaysSnapshotByItsAge() {
+
+        when(scoreRepository.findAll()).thenReturn(List.of(
+                RecipeTrendingScore.builder().recipeId(1L).score(8).scoredAt(LocalDateTime.now().minusHours(12)).build(),
+                RecipeTrendingScore.builder().recipeId(2L).score(3).scoredAt(LocalDateTime.now()).build()
+        ));
+
+        trendingScores.restore();
+
+        // two half-lives: 8 -> 2
+        assertEquals(2.0, trendingScores.score(1L), 0.01);
+        assertEquals(List.of(2L, 1L), trendingScores.top(null, 10));
+    }
+
+    private RecipeTrendingScores scores() {
+        return new RecipeTrendingScores(config, recipeRepository, scoreRepository, new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,116 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.SearchSuggestConfig;
+import com.recipesharing.dto.response.SuggestResponse;
+import com.recipesharing.dto.response.SuggestionResponse;
+import com.recipesharing.event.RecipeChangedEvent;
+import com.recipesharing.exception.BadRequestException;
+import com.recipesharing.repository.RecipeRepository;
+import com.recipesharing.repository.RecipeRepositoryCustom.SuggestionRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSuggestionsTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private final SearchSuggestConfig config = new SearchSuggestConfig();
+
+    private SearchSuggestions suggestions;
+
+    @BeforeEach
+    void setUp() {
+        config.setRebuildBatchSize(2);
+        suggestions = new SearchSuggestions(config, recipeRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void suggest_matchesWordPrefixesByPopularity() {
+
+        build();
+
+        SuggestResponse response = suggestions.suggest("  SOU", 5);
+
+        assertEquals(List.of("Tomato Soup", "Soupe à l'oignon"), texts(response.getRecipes()));
+        assertEquals(List.of("soup"), texts(response.getLabels()));
+        assertTrue(response.getChefs().isEmpty());
+        assertEquals(List.of("Soupe à l'oignon"), texts(suggestions.suggest("soupe a l", 5).getRecipes()));
+    }
+
+    @Test
+    void suggest_weighsLabelsAndChefsByTheirRecipes() {
+
+        build();
+
+        SuggestResponse response = suggestions.suggest("ma", 5);
+
+        assertEquals(List.of("main-course"), texts(response.getLabels()));
+        assertEquals(List.of("marco", "maria"), texts(response.getChefs()));
+        assertEquals(List.of(20L, 10L), response.getChefs().stream().map(SuggestionResponse::getId).toList());
+    }
+
+    @Test
+    void suggest_blankQueryOrBadLimit() {
+
+        assertTrue(suggestions.suggest(" - ", 5).getRecipes().isEmpty());
+        assertThrows(BadRequestException.class, () -> suggestions.suggest("soup", 0));
+        assertThrows(BadRequestException.class, () -> suggestions.suggest("soup", config.getMaxResults() + 1));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void applyPending_replacesAndRemovesChangedRecipes() {
+
+        build();
+        suggestions.onRecipeChanged(new RecipeChangedEvent(1L, RecipeChangedEvent.ChangeType.UPDATED));
+        suggestions.onRecipeChanged(new RecipeChangedEvent(3L, RecipeChangedEvent.ChangeType.DELETED));
+        when(recipeRepository.findSuggestionRows(List.of(1L, 3L))).thenReturn(Map.of(
+                1L, row(1, "Tomato bisque", 10, "maria", 0, Set.of("starter"))
+        ));
+
+        suggestions.applyPending();
+
+        assertEquals(List.of("Tomato bisque"), texts(suggestions.suggest("tomato", 5).getRecipes()));
+        assertTrue(suggestions.suggest("soup", 5).getLabels().isEmpty());
+        assertEquals(List.of("starter"), texts(suggestions.suggest("st", 5).getLabels()));
+        assertEquals(List.of("marco", "maria"), texts(suggestions.suggest("ma", 5).getChefs()));
+    }
+
+    private void build() {
+        when(recipeRepository.findIdsAfter(0, 2)).thenReturn(List.of(1L, 2L));
+        when(recipeRepository.findIdsAfter(2, 2)).thenReturn(List.of(3L));
+        when(recipeRepository.findSuggestionRows(List.of(1L, 2L))).thenReturn(Map.of(
+                1L, row(1, "Tomato Soup", 10, "maria", 4, Set.of("soup", "main-course")),
+                2L, row(2, "Mushroom risotto", 20, "marco", 9, Set.of("main-course"))
+        ));
+        when(recipeRepository.findSuggestionRows(List.of(3L))).thenReturn(Map.of(
+                3L, row(3, "Soupe à l'oignon", 20, "marco", 1, Set.of("soup"))
+        ));
+
+        assertEquals(3, suggestions.rebuild());
+    }
+
+    private static SuggestionRow row(long id, String title, long chefId, String chef, long favorites, Set<String> labels) {
+        return new SuggestionRow(id, title, chefId, chef, 0, favorites, labels);
+    }
+
+    private static List<String> texts(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getText).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ViewCompactionConfig;
+import com.recipesharing.entity.JobCheckpoint;
+import com.recipesharing.repository.JobCheckpointRepository;
+import com.recipesharing.repository.RecipeViewRepository;
+import com.recipesharing.repository.RecipeViewRepositoryCustom.ViewRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCompactionJobTest {
+
+    @Mock
+    private RecipeViewRepository recipeViewRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ViewCompactionConfig config = new ViewCompactionConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ViewCompactionJob job;
+
+    @BeforeEach
+    void setUp() {
+        config.setChunkSize(3);
+        config.setMinPause(Duration.ZERO);
+        config.setThrottleRatio(0);
+        job = new ViewCompactionJob(config, recipeViewRepository, checkpointRepository, new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @Test
+    void compact_foldsExpiredPrefixAndStopsAtHorizon() {
+
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1);
+        when(checkpointRepository.findById(ViewCompactionJob.CHECKPOINT)).thenReturn(Optional.empty());
+        when(recipeViewRepository.findChunkAfter(0L, 3)).thenReturn(List.of(
+                new ViewRow(1, 10, old),
+                new ViewRow(2, 10, old.plusHours(1)),
+                new ViewRow(3, 20, recent)
+        ));
+
+        long compacted = job.compact();
+
+        assertEquals(2, compacted);
+        verify(recipeViewRepository).foldIntoArchive(eq(Map.of(10L, 2L)), eq(Map.of(10L, old.plusHours(1))), any());
+        verify(recipeViewRepository).deleteByIds(List.of(1L, 2L));
+
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(2L, checkpoint.getValue().getPosition());
+        assertEquals(2.0, meterRegistry.counter("views.compaction.rows").count());
+    }
+
+    @Test
+    void compact_resumesFromCheckpointAndContinuesWhileChunksAreFull() {
+
+        LocalDateTime old = LocalDateTime.now().minusDays(200);
+        when(checkpointRepository.findById(ViewCompactionJob.CHECKPOINT))
+                .thenReturn(Optional.of(JobCheckpoint.builder().name(ViewCompactionJob.CHECKPOINT).position(40L).build()));
+        when(recipeViewRepository.findChunkAfter(40L, 3)).thenReturn(List.of(
+                new ViewRow(41, 10, old), new ViewRow(42, 11, old), new ViewRow(43, 12, null)
+        ));
+        when(recipeViewRepository.findChunkAfter(43L, 3)).thenReturn(List.of());
+
+        long compacted = job.compact();
+
+        assertEquals(3, compacted);
+        verify(recipeViewRepository).deleteByIds(List.of(41L, 42L, 43L));
+        assertEquals(1.0, meterRegistry.counter("views.compaction.chunks").count());
+    }
+
+    @Test
+    void compact_doesNothingWhenOldestRowIsInsideHorizon() {
+
+        when(checkpointRepository.findById(ViewCompactionJob.CHECKPOINT)).thenReturn(Optional.empty());
+        when(recipeViewRepository.findChunkAfter(anyLong(), anyInt()))
+                .thenReturn(List.of(new ViewRow(1, 10, LocalDateTime.now())));
+
+        assertEquals(0, job.compact());
+        verify(recipeViewRepository, never()).foldIntoArchive(anyMap(), anyMap(), any());
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,118 @@
+package com.recipesharing.service;
+
+import com.recipesharing.config.ViewRecordingConfig;
+import com.recipesharing.repository.RecipeViewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ViewRecorderTest {
+
+    @Mock
+    private RecipeViewRepository recipeViewRepository;
+
+    @Mock
+    private RecipeViewerSketches viewerSketches;
+
+    @Mock
+    private RecipeStatisticsService recipeStatisticsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ViewRecordingConfig config = new ViewRecordingConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        config.setQueueCapacity(3);
+    }
+
+    @Test
+    void flush_dedupesPairsAndGroupsCounterUpdates() {
+
+        ViewRecorder viewRecorder = viewRecorder();
+        when(recipeViewRepository.insertIgnore(eq(10L), argThat(views -> views.keySet().equals(Set.of(1L, 2L)))))
+                .thenReturn(1);
+
+        viewRecorder.record(1L, 10L);
+        viewRecorder.record(1L, 10L);
+        viewRecorder.record(2L, 10L);
+        viewRecorder.flush();
+
+        verify(recipeStatisticsService).viewsRecorded(eq(10L), eq(1L), any());
+        assertEquals(1.0, meterRegistry.counter("views.recording.duplicates").count());
+    }
+
+    @Test
+    void flush_countsViewsInTheHourTheyHappened() {
+
+        ViewRecorder viewRecorder = viewRecorder();
+        LocalDateTime beforeTheHour = LocalDateTime.of(2026, 3, 1, 9, 59, 58);
+        LocalDateTime afterTheHour = LocalDateTime.of(2026, 3, 1, 10, 0, 1);
+        when(recipeViewRepository.insertIgnore(10L, Map.of(1L, beforeTheHour))).thenReturn(1);
+        when(recipeViewRepository.insertIgnore(10L, Map.of(2L, afterTheHour, 3L, afterTheHour))).thenReturn(2);
+
+        viewRecorder.record(1L, 10L, beforeTheHour);
+        viewRecorder.record(2L, 10L, afterTheHour);
+        viewRecorder.record(3L, 10L, afterTheHour);
+        viewRecorder.flush();
+
+        verify(recipeStatisticsService).viewsRecorded(10L, 1L, beforeTheHour);
+        verify(recipeStatisticsService).viewsRecorded(10L, 2L, afterTheHour);
+        assertEquals(3.0, meterRegistry.counter("views.recording.written").count());
+    }
+
+    @Test
+    void record_dropsNewestWhenQueueIsFull() {
+
+        ViewRecorder viewRecorder = viewRecorder();
+
+        for (long userId = 1; userId <= 4; userId++) {
+            viewRecorder.record(userId, 10L);
+        }
+
+        assertEquals(3.0, meterRegistry.counter("views.recording.enqueued").count());
+        assertEquals(1.0, meterRegistry.counter("views.recording.dropped", "policy", "DROP_NEWEST").count());
+        verifyNoInteractions(recipeViewRepository);
+    }
+
+    @Test
+    void approximateMode_countsSketchGrowthWithoutWritingRows() {
+
+        ViewRecorder viewRecorder = viewRecorder();
+        when(viewerSketches.isEnabled()).thenReturn(true);
+        when(viewerSketches.hasProbablyViewed(1L, 10L)).thenReturn(true);
+        when(viewerSketches.addViewers(10L, Set.of(2L))).thenReturn(1L);
+
+        viewRecorder.record(1L, 10L);
+        viewRecorder.record(2L, 10L);
+        viewRecorder.flush();
+
+        verify(recipeStatisticsService).viewsRecorded(eq(10L), eq(1L), any());
+        verifyNoInteractions(recipeViewRepository, transactionManager);
+        assertEquals(1.0, meterRegistry.counter("views.recording.duplicates").count());
+    }
+
+    private ViewRecorder viewRecorder() {
+        return new ViewRecorder(config, recipeViewRepository, viewerSketches, recipeStatisticsService, new TransactionTemplate(transactionManager), meterRegistry);
+    }
+}
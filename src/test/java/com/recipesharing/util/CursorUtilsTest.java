@@ -0,0 +1,52 @@
+package com.recipesharing.util;
+
+import com.recipesharing.dto.response.CursorPageResponse;
+import com.recipesharing.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    private final CursorUtils cursorUtils = new CursorUtils();
+
+    @Test
+    void encodeDecode_roundTrip() {
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000);
+
+        CursorUtils.Cursor cursor = cursorUtils.decode(cursorUtils.encode(createdAt, 42L));
+
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void blankCursor_meansFirstWindow() {
+
+        assertNull(cursorUtils.decode(""));
+        assertNull(cursorUtils.decode(null));
+    }
+
+    @Test
+    void invalidCursor_rejected() {
+
+        assertThrows(BadRequestException.class, () -> cursorUtils.decode("not-a-cursor"));
+    }
+
+    @Test
+    void page_usesExtraRowOnlyAsHasNextSignal() {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> rows = List.of(5L, 4L, 3L);
+
+        CursorPageResponse<Long> page = cursorUtils.page(rows, 2, id -> id, id -> now, id -> id);
+
+        assertEquals(List.of(5L, 4L), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals(4L, cursorUtils.decode(page.getNextCursor()).id());
+    }
+}
@@ -0,0 +1,65 @@
+package com.recipesharing.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_isWithinErrorBoundsForSequentialIds() {
+
+        HyperLogLog hll = new HyperLogLog(11);
+        for (long id = 1; id <= 100_000; id++) {
+            hll.add(id);
+        }
+
+        // 1.04 / sqrt(2048) ~ 2.3%, allow three standard errors
+        assertEquals(100_000, hll.estimate(), 100_000 * 0.07);
+    }
+
+    @Test
+    void estimate_isExactEnoughForSmallCounts() {
+
+        HyperLogLog hll = new HyperLogLog(11);
+        for (long id = 1; id <= 50; id++) {
+            hll.add(id);
+            hll.add(id);
+        }
+
+        assertEquals(50, hll.estimate(), 2);
+    }
+
+    @Test
+    void add_reportsWhetherARegisterChanged() {
+
+        HyperLogLog hll = new HyperLogLog(11);
+
+        assertTrue(hll.add(42L));
+        assertFalse(hll.add(42L));
+    }
+
+    @Test
+    void bytes_roundTripAndImplyPrecision() {
+
+        HyperLogLog hll = new HyperLogLog(10);
+        for (long id = 1; id <= 1_000; id++) {
+            hll.add(id);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(hll.toBytes());
+
+        assertEquals(10, restored.precision());
+        assertEquals(hll.estimate(), restored.estimate());
+        assertArrayEquals(hll.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void fromBytes_rejectsOddLengths() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+    }
+}
@@ -0,0 +1,64 @@
+package com.recipesharing.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartitionedBloomFilterTest {
+
+    @Test
+    void mightContain_hasNoFalseNegativesAndFewFalsePositives() {
+
+        PartitionedBloomFilter filter = new PartitionedBloomFilter(16_384, 4);
+        for (long id = 1; id <= 1_000; id++) {
+            filter.put(id);
+        }
+
+        for (long id = 1; id <= 1_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+        int falsePositives = 0;
+        for (long id = 1_001; id <= 11_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        // ~0.2% expected at this load
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void put_reportsNewKeys() {
+
+        PartitionedBloomFilter filter = new PartitionedBloomFilter(1_024, 4);
+
+        assertTrue(filter.put(7L));
+        assertFalse(filter.put(7L));
+    }
+
+    @Test
+    void bytes_roundTrip() {
+
+        PartitionedBloomFilter filter = new PartitionedBloomFilter(2_048, 4);
+        for (long id = 1; id <= 200; id++) {
+            filter.put(id);
+        }
+
+        PartitionedBloomFilter restored = PartitionedBloomFilter.fromBytes(filter.toBytes());
+
+        assertEquals(2_048, restored.bits());
+        assertEquals(4, restored.partitions());
+        assertEquals(filter.maxFill(), restored.maxFill());
+        for (long id = 1; id <= 200; id++) {
+            assertTrue(restored.mightContain(id));
+        }
+    }
+
+    @Test
+    void constructor_rejectsUnalignedSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new PartitionedBloomFilter(1_000, 4));
+    }
+}
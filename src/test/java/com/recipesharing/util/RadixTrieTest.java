@@ -0,0 +1,121 @@
+package com.recipesharing.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RadixTrieTest {
+
+    @Test
+    void top_ranksValuesUnderPrefixByWeight() {
+
+        RadixTrie<String> trie = new RadixTrie<>(3);
+        trie.put("tomato soup", "a", 5);
+        trie.put("tomato salad", "b", 9);
+        trie.put("toast", "c", 7);
+        trie.put("tofu", "d", 1);
+        trie.put("pasta", "e", 100);
+
+        assertEquals(List.of("b", "c", "a"), values(trie.top("to", 10)));
+        assertEquals(List.of("b", "a"), values(trie.top("tomato s", 10)));
+        assertEquals(List.of("b"), values(trie.top("tomato", 1)));
+        assertEquals(List.of("a"), values(trie.top("tomato soup", 10)));
+        assertTrue(trie.top("tomatoes", 10).isEmpty());
+        assertTrue(trie.top("x", 10).isEmpty());
+    }
+
+    @Test
+    void put_changesWeightAndListsValueOnce() {
+
+        RadixTrie<String> trie = new RadixTrie<>(3);
+        trie.put("tomato soup", "a", 5);
+        trie.put("soup", "a", 5);
+        trie.put("soup of the day", "b", 3);
+
+        trie.put("soup", "a", 8);
+
+        assertEquals(List.of(new RadixTrie.Entry<>("a", 8), new RadixTrie.Entry<>("b", 3)), trie.top("", 10));
+        assertEquals(List.of(new RadixTrie.Entry<>("a", 5)), trie.top("tomato", 10));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void remove_prunesAndKeepsOtherKeys() {
+
+        RadixTrie<String> trie = new RadixTrie<>(3);
+        trie.put("tomato soup", "a", 5);
+        trie.put("tomato salad", "b", 9);
+
+        trie.remove("tomato salad", "b");
+        trie.remove("tomato", "a");
+
+        assertEquals(List.of("a"), values(trie.top("tomato s", 10)));
+        assertEquals(1, trie.size());
+        assertTrue(trie.top("tomato sa", 10).isEmpty());
+    }
+
+    @Test
+    void rankAll_matchesIncrementalPuts() {
+
+        Random random = new Random(7);
+        RadixTrie<Integer> bulk = new RadixTrie<>(4);
+        RadixTrie<Integer> incremental = new RadixTrie<>(4);
+        for (int i = 0; i < 500; i++) {
+            String key = Integer.toString(random.nextInt(5_000), 4);
+            long weight = random.nextInt(50);
+            bulk.add(key, i, weight);
+            incremental.put(key, i, weight);
+        }
+        bulk.rankAll();
+
+        for (String prefix : List.of("", "1", "12", "3", "301", "2222")) {
+            assertEquals(incremental.top(prefix, 4), bulk.top(prefix, 4));
+        }
+        assertEquals(incremental.size(), bulk.size());
+    }
+
+    @Test
+    void top_agreesWithScanAfterRemovals() {
+
+        Random random = new Random(11);
+        RadixTrie<Integer> trie = new RadixTrie<>(5);
+        Map<String, Long> weights = new TreeMap<>();
+        for (int i = 0; i < 300; i++) {
+            String key = Integer.toString(random.nextInt(2_000), 3);
+            long weight = random.nextInt(100);
+            trie.put(key, i, weight);
+            weights.put(key + "#" + i, weight);
+        }
+        for (String entry : List.copyOf(weights.keySet())) {
+            if (random.nextBoolean()) {
+                String[] parts = entry.split("#");
+                trie.remove(parts[0], Integer.parseInt(parts[1]));
+                weights.remove(entry);
+            }
+        }
+
+        for (String prefix : List.of("1", "20", "112")) {
+            List<RadixTrie.Entry<Integer>> expected = weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .map(entry -> new RadixTrie.Entry<>(Integer.parseInt(entry.getKey().split("#")[1]), entry.getValue()))
+                    .sorted(Comparator.<RadixTrie.Entry<Integer>>comparingLong(entry -> -entry.weight())
+                            .thenComparing(entry -> entry.value()))
+                    .limit(5)
+                    .collect(Collectors.toList());
+            assertEquals(expected, trie.top(prefix, 5));
+        }
+        assertEquals(weights.size(), trie.size());
+    }
+
+    private static <V> List<V> values(List<RadixTrie.Entry<V>> entries) {
+        return entries.stream().map(RadixTrie.Entry::value).toList();
+    }
+}
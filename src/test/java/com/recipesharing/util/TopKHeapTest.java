@@ -0,0 +1,81 @@
+package com.recipesharing.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKHeapTest {
+
+    @Test
+    void top_keepsHighestScoresInOrder() {
+
+        TopKHeap heap = new TopKHeap(3);
+        heap.offer(1, 5);
+        heap.offer(2, 1);
+        heap.offer(3, 9);
+        heap.offer(4, 7);
+        assertFalse(heap.offer(5, 0.5));
+
+        assertArrayEquals(new long[]{3, 4, 1}, heap.top(10));
+        assertArrayEquals(new long[]{3, 4}, heap.top(2));
+        assertFalse(heap.contains(2));
+    }
+
+    @Test
+    void offer_rescoresKeysAlreadyInHeap() {
+
+        TopKHeap heap = new TopKHeap(3);
+        heap.offer(1, 5);
+        heap.offer(2, 6);
+        heap.offer(3, 7);
+
+        heap.offer(1, 10);
+        heap.offer(3, 1);
+
+        assertArrayEquals(new long[]{1, 2, 3}, heap.top(3));
+        // 3 is the minimum now and is the one evicted
+        assertTrue(heap.offer(4, 2));
+        assertArrayEquals(new long[]{1, 2, 4}, heap.top(3));
+    }
+
+    @Test
+    void remove_keepsHeapConsistent() {
+
+        TopKHeap heap = new TopKHeap(100);
+        double[] scores = new Random(7).doubles(100).toArray();
+        IntStream.range(0, 100).forEach(key -> heap.offer(key, scores[key]));
+
+        for (int key = 0; key < 100; key += 2) {
+            assertTrue(heap.remove(key));
+        }
+        assertFalse(heap.remove(0));
+
+        long[] expected = IntStream.range(0, 100)
+                .filter(key -> key % 2 == 1)
+                .boxed()
+                .sorted((a, b) -> Double.compare(scores[b], scores[a]))
+                .mapToLong(Integer::longValue)
+                .toArray();
+        assertEquals(50, heap.size());
+        assertArrayEquals(expected, heap.top(100));
+    }
+
+    @Test
+    void scale_preservesOrder() {
+
+        TopKHeap heap = new TopKHeap(2);
+        heap.offer(1, 4);
+        heap.offer(2, 8);
+        heap.scale(0.25);
+
+        assertFalse(heap.offer(3, 0.5));
+        assertTrue(heap.offer(3, 1.5));
+        assertArrayEquals(new long[]{2, 3}, heap.top(2));
+    }
+}
@@ -0,0 +1,30 @@
+-- What ddl-auto=update created for the application before its schema moved to migrations
+-- (Hibernate 6, MySQL dialect), used by FlywayUpgradeIT as the database to upgrade.
+
+create table users (id bigint not null auto_increment, bio TEXT, created_at datetime(6) not null, email varchar(100) not null, full_name varchar(100), is_active bit, password varchar(255) not null, profile_image varchar(255), role enum ('CHEF','ADMIN','USER'), updated_at datetime(6), username varchar(50) not null, primary key (id)) engine=InnoDB;
+create table recipes (id bigint not null auto_increment, average_rating decimal(2,1), cook_time integer, created_at datetime(6) not null, description TEXT, difficulty enum ('EASY','MEDIUM','HARD'), favorites_count bigint not null, image_url varchar(255), instructions TEXT not null, is_published bit, prep_time integer, published_at datetime(6), rating_count bigint not null, servings integer, thumbnail_url varchar(255), title varchar(200) not null, updated_at datetime(6), view_count integer, chef_id bigint not null, primary key (id)) engine=InnoDB;
+create table ingredients (id bigint not null auto_increment, display_order integer not null, name varchar(100) not null, quantity decimal(10,3) not null, unit enum ('GRAM','KILOGRAM','MILLILITER','LITER','CUP','TABLESPOON','TEASPOON','PIECE','SLICE','PINCH','OUNCE','POUND') not null, recipe_id bigint not null, primary key (id)) engine=InnoDB;
+create table labels (id bigint not null auto_increment, created_at datetime(6) not null, description varchar(255), name varchar(50) not null, primary key (id)) engine=InnoDB;
+create table recipe_labels (recipe_id bigint not null, label_id bigint not null, primary key (recipe_id, label_id)) engine=InnoDB;
+create table favorites (id bigint not null auto_increment, created_at datetime(6) not null, recipe_id bigint not null, user_id bigint not null, primary key (id)) engine=InnoDB;
+create table ratings (id bigint not null auto_increment, created_at datetime(6) not null, rating integer not null, review TEXT, updated_at datetime(6), recipe_id bigint not null, user_id bigint not null, primary key (id)) engine=InnoDB;
+create table recipe_views (id bigint not null, viewed_at datetime(6), recipe_id bigint, user_id bigint, primary key (id)) engine=InnoDB;
+create table recipe_views_seq (next_val bigint) engine=InnoDB;
+insert into recipe_views_seq values ( 1 );
+
+alter table users add constraint UK_users_email unique (email);
+alter table users add constraint UK_users_username unique (username);
+alter table labels add constraint UK_labels_name unique (name);
+alter table favorites add constraint unique_favorite unique (user_id, recipe_id);
+alter table ratings add constraint unique_rating unique (user_id, recipe_id);
+alter table recipe_views add constraint UK_recipe_views_user_recipe unique (user_id, recipe_id);
+alter table recipes add constraint FK_recipes_chef foreign key (chef_id) references users (id);
+alter table ingredients add constraint FK_ingredients_recipe foreign key (recipe_id) references recipes (id);
+alter table recipe_labels add constraint FK_recipe_labels_label foreign key (label_id) references labels (id);
+alter table recipe_labels add constraint FK_recipe_labels_recipe foreign key (recipe_id) references recipes (id);
+alter table favorites add constraint FK_favorites_recipe foreign key (recipe_id) references recipes (id);
+alter table favorites add constraint FK_favorites_user foreign key (user_id) references users (id);
+alter table ratings add constraint FK_ratings_recipe foreign key (recipe_id) references recipes (id);
+alter table ratings add constraint FK_ratings_user foreign key (user_id) references users (id);
+alter table recipe_views add constraint FK_recipe_views_recipe foreign key (recipe_id) references recipes (id) on delete cascade;
+alter table recipe_views add constraint FK_recipe_views_user foreign key (user_id) references users (id);